@@ -0,0 +1,71 @@
+package graphs;
+
+import graphs.shortestpaths.AStarSolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks comparing {@link ContractionHierarchy} queries against {@link AStarSolver} for routes between random
+ * street vertices of the Seattle road network. The hierarchy is read from the map graph snapshot, which is built with
+ * {@code MapGraph.main} during setup if it is missing or stale.
+ *
+ * @see ContractionHierarchy
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ContractionHierarchyBenchmark {
+    /**
+     * Number of random routes to cycle through.
+     */
+    private static final int NUM_ROUTES = 256;
+    /**
+     * The shortest path implementation.
+     */
+    @Param({"ContractionHierarchy", "AStarSolver"})
+    public String implementation;
+    /**
+     * Classpath path to the gzipped OSM file.
+     */
+    @Param({"seattle.osm.gz"})
+    public String osmPath;
+
+    private CsrGraph graph;
+    private ContractionHierarchy.Query query;
+    private int[] routes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() throws ReflectiveOperationException {
+        SeattleFixture map = SeattleFixture.loadWithHierarchy(osmPath);
+        graph = map.graph();
+        query = map.hierarchy().query();
+        routes = SeattleFixture.randomStreets(graph, 2 * NUM_ROUTES);
+        next = 0;
+    }
+
+    /**
+     * Finds the shortest path for the next random route.
+     *
+     * @return the shortest path between the start and goal of the route.
+     */
+    @Benchmark
+    public List<Integer> route() {
+        int start = routes[next];
+        int goal = routes[next + 1];
+        next = (next + 2) % routes.length;
+        switch (implementation) {
+            case "ContractionHierarchy":
+                return query.shortestPath(start, goal);
+            case "AStarSolver":
+                return new AStarSolver<>(graph, start, goal).solution();
+            default:
+                throw new IllegalArgumentException("Unknown implementation " + implementation);
+        }
+    }
+}
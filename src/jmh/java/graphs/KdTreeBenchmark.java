@@ -0,0 +1,129 @@
+package graphs;
+
+import graphs.shortestpaths.AStarSolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks comparing {@link KdTree} against a linear scan over every vertex for finding the vertex closest to a
+ * location in the Seattle road network, both alone and as part of a route request that finds the vertices closest to
+ * the start and goal before running {@link AStarSolver} between them, as {@code MapGraph.shortestPath} does.
+ *
+ * @see KdTree
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class KdTreeBenchmark {
+    /**
+     * Number of random locations to cycle through.
+     */
+    private static final int NUM_QUERIES = 1024;
+    /**
+     * The method for finding the closest vertex.
+     */
+    @Param({"KdTree", "LinearScan"})
+    public String implementation;
+    /**
+     * Classpath path to the gzipped OSM file.
+     */
+    @Param({"seattle.osm.gz"})
+    public String osmPath;
+
+    private CsrGraph graph;
+    private KdTree tree;
+    private int[] streets;
+    private double[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() throws ReflectiveOperationException {
+        graph = SeattleFixture.load(osmPath).graph();
+        tree = new KdTree(graph, v -> graph.edgeStart(v) < graph.edgeEnd(v));
+        streets = SeattleFixture.streets(graph);
+        double minLat = Double.POSITIVE_INFINITY;
+        double maxLat = Double.NEGATIVE_INFINITY;
+        double minLon = Double.POSITIVE_INFINITY;
+        double maxLon = Double.NEGATIVE_INFINITY;
+        for (int v : streets) {
+            minLat = Math.min(minLat, graph.lat(v));
+            maxLat = Math.max(maxLat, graph.lat(v));
+            minLon = Math.min(minLon, graph.lon(v));
+            maxLon = Math.max(maxLon, graph.lon(v));
+        }
+        SplittableRandom random = new SplittableRandom(373);
+        queries = new double[2 * NUM_QUERIES];
+        for (int i = 0; i < NUM_QUERIES; i += 1) {
+            queries[2 * i] = random.nextDouble(minLat, maxLat);
+            queries[2 * i + 1] = random.nextDouble(minLon, maxLon);
+        }
+        next = 0;
+    }
+
+    /**
+     * Finds the vertex closest to the next random location.
+     *
+     * @return the vertex closest to the location.
+     */
+    @Benchmark
+    public int closest() {
+        return closest(nextQuery());
+    }
+
+    /**
+     * Finds the vertices closest to the next two random locations and the shortest path between them.
+     *
+     * @return the shortest path between the vertices closest to the locations.
+     */
+    @Benchmark
+    public List<Integer> route() {
+        int start = closest(nextQuery());
+        int goal = closest(nextQuery());
+        return new AStarSolver<>(graph, start, goal).solution();
+    }
+
+    /**
+     * Returns the index of the next random location in the queries array, cycling through them.
+     *
+     * @return the index of the latitude of the next random location.
+     */
+    private int nextQuery() {
+        int result = next;
+        next = (next + 2) % queries.length;
+        return result;
+    }
+
+    /**
+     * Returns the vertex closest to the random location at the given index using the implementation.
+     *
+     * @param query the index of the latitude of the location in the queries array.
+     * @return the vertex closest to the location.
+     */
+    private int closest(int query) {
+        double lat = queries[query];
+        double lon = queries[query + 1];
+        switch (implementation) {
+            case "KdTree":
+                return tree.nearest(lat, lon);
+            case "LinearScan":
+                int result = -1;
+                double best = Double.POSITIVE_INFINITY;
+                for (int v : streets) {
+                    double distance = CsrGraph.distance(lat, lon, graph.lat(v), graph.lon(v));
+                    if (distance < best) {
+                        result = v;
+                        best = distance;
+                    }
+                }
+                return result;
+            default:
+                throw new IllegalArgumentException("Unknown implementation " + implementation);
+        }
+    }
+}
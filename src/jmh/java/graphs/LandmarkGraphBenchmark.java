@@ -0,0 +1,70 @@
+package graphs;
+
+import graphs.shortestpaths.AStarSolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks comparing {@link AStarSolver} with the great-circle heuristic of {@link CsrGraph} against the
+ * landmark heuristic of {@link LandmarkGraph} for routes between random street vertices of the Seattle road network.
+ *
+ * @see LandmarkGraph
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class LandmarkGraphBenchmark {
+    /**
+     * Number of random routes to cycle through.
+     */
+    private static final int NUM_ROUTES = 256;
+    /**
+     * The heuristic: the great-circle distance, or landmarks chosen by the farthest or avoid strategy.
+     */
+    @Param({"CsrGraph", "FARTHEST", "AVOID"})
+    public String implementation;
+    /**
+     * Number of landmarks.
+     */
+    @Param({"16"})
+    public int numLandmarks;
+    /**
+     * Classpath path to the gzipped OSM file.
+     */
+    @Param({"seattle.osm.gz"})
+    public String osmPath;
+
+    private AStarGraph<Integer> graph;
+    private int[] routes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() throws ReflectiveOperationException {
+        CsrGraph csr = SeattleFixture.load(osmPath).graph();
+        if (implementation.equals("CsrGraph")) {
+            graph = csr;
+        } else {
+            graph = new LandmarkGraph(csr, numLandmarks, LandmarkGraph.Strategy.valueOf(implementation));
+        }
+        routes = SeattleFixture.randomStreets(csr, 2 * NUM_ROUTES);
+        next = 0;
+    }
+
+    /**
+     * Finds the shortest path for the next random route with A* search.
+     *
+     * @return the shortest path between the start and goal of the route.
+     */
+    @Benchmark
+    public List<Integer> route() {
+        int start = routes[next];
+        int goal = routes[next + 1];
+        next = (next + 2) % routes.length;
+        return new AStarSolver<>(graph, start, goal).solution();
+    }
+}
@@ -0,0 +1,176 @@
+package graphs;
+
+import org.locationtech.spatial4j.context.SpatialContext;
+
+import java.lang.reflect.Constructor;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Shared setup for the JMH benchmarks: the Seattle road network loaded through {@code MapGraph}, random street
+ * vertices to route between, and a randomly-weighted grid graph over Seattle as a stand-in for a road network.
+ */
+public final class SeattleFixture {
+    /**
+     * Path to the map graph snapshot, as written by {@code ./gradlew snapshot}.
+     */
+    public static final String SNAPSHOT_PATH = "build/huskymaps.snapshot";
+    /**
+     * Classpath path to the places file.
+     */
+    private static final String PLACES_PATH = "places.tsv";
+
+    private final CsrGraph graph;
+    private final ContractionHierarchy hierarchy;
+
+    /**
+     * Constructs a new fixture for the given map graph.
+     *
+     * @param graph     the road network.
+     * @param hierarchy the contraction hierarchy of the road network, or null if it was not loaded.
+     */
+    private SeattleFixture(CsrGraph graph, ContractionHierarchy hierarchy) {
+        this.graph = graph;
+        this.hierarchy = hierarchy;
+    }
+
+    /**
+     * Returns the map graph of the given OSM file, loaded from the snapshot if it is current.
+     *
+     * @param osmPath the classpath path to the gzipped OSM file.
+     * @return the map graph, whose hierarchy is null unless the snapshot is current.
+     * @throws ReflectiveOperationException if the map graph cannot be constructed.
+     */
+    public static SeattleFixture load(String osmPath) throws ReflectiveOperationException {
+        return load(osmPath, false);
+    }
+
+    /**
+     * Returns the map graph of the given OSM file with its contraction hierarchy, first building the snapshot as
+     * {@code ./gradlew snapshot} does if it is missing or stale, since the map graph only loads the hierarchy from it.
+     *
+     * @param osmPath the classpath path to the gzipped OSM file.
+     * @return the map graph with its contraction hierarchy.
+     * @throws ReflectiveOperationException if the map graph cannot be constructed.
+     */
+    public static SeattleFixture loadWithHierarchy(String osmPath) throws ReflectiveOperationException {
+        return load(osmPath, true);
+    }
+
+    /**
+     * Returns the map graph of the given OSM file.
+     *
+     * @param osmPath          the classpath path to the gzipped OSM file.
+     * @param requireHierarchy whether to build the snapshot if the map graph could not load the hierarchy from it.
+     * @return the map graph.
+     * @throws ReflectiveOperationException if the map graph cannot be constructed.
+     */
+    private static SeattleFixture load(String osmPath, boolean requireHierarchy) throws ReflectiveOperationException {
+        // MapGraph is in the unnamed package, which cannot be imported from a named package.
+        Class<?> mapGraph = Class.forName("MapGraph");
+        Constructor<?> constructor = mapGraph.getConstructor(String.class, String.class, SpatialContext.class,
+                Path.class);
+        Object map = constructor.newInstance(osmPath, PLACES_PATH, SpatialContext.GEO, Path.of(SNAPSHOT_PATH));
+        if (requireHierarchy && mapGraph.getMethod("hierarchy").invoke(map) == null) {
+            mapGraph.getMethod("main", String[].class)
+                    .invoke(null, (Object) new String[]{osmPath, PLACES_PATH, SNAPSHOT_PATH});
+            map = constructor.newInstance(osmPath, PLACES_PATH, SpatialContext.GEO, Path.of(SNAPSHOT_PATH));
+        }
+        return new SeattleFixture((CsrGraph) mapGraph.getMethod("graph").invoke(map),
+                (ContractionHierarchy) mapGraph.getMethod("hierarchy").invoke(map));
+    }
+
+    /**
+     * Returns the road network.
+     *
+     * @return the road network.
+     */
+    public CsrGraph graph() {
+        return graph;
+    }
+
+    /**
+     * Returns the contraction hierarchy of the road network.
+     *
+     * @return the contraction hierarchy, or null if it was not loaded.
+     */
+    public ContractionHierarchy hierarchy() {
+        return hierarchy;
+    }
+
+    /**
+     * Returns the vertices with at least one outgoing edge, leaving out the nodes that are only places.
+     *
+     * @param graph the road network.
+     * @return the street vertices in increasing order.
+     */
+    public static int[] streets(CsrGraph graph) {
+        int[] result = new int[graph.numVertices()];
+        int size = 0;
+        for (int v = 0; v < graph.numVertices(); v += 1) {
+            if (graph.edgeStart(v) < graph.edgeEnd(v)) {
+                result[size] = v;
+                size += 1;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Returns the given number of street vertices chosen uniformly at random with a fixed seed, so that every run
+     * routes between the same vertices. Consecutive pairs serve as the start and goal of random routes.
+     *
+     * @param graph the road network.
+     * @param n     the number of vertices.
+     * @return the random street vertices.
+     */
+    public static int[] randomStreets(CsrGraph graph, int n) {
+        int[] streets = streets(graph);
+        SplittableRandom random = new SplittableRandom(373);
+        int[] result = new int[n];
+        for (int i = 0; i < n; i += 1) {
+            result[i] = streets[random.nextInt(streets.length)];
+        }
+        return result;
+    }
+
+    /**
+     * Returns a square grid graph over Seattle where each vertex has edges to its 4 neighbors weighted by at least the
+     * distance between them, so the great-circle heuristic of {@link CsrGraph} never overestimates. Vertex
+     * (<i>x</i>, <i>y</i>) is numbered <i>y</i> * side + <i>x</i>.
+     *
+     * @param side   the number of vertices along each side of the grid.
+     * @param random the random source for edge weights.
+     * @return a square grid graph with randomly-weighted edges.
+     */
+    public static CsrGraph grid(int side, SplittableRandom random) {
+        int numVertices = side * side;
+        double[] lat = new double[numVertices];
+        double[] lon = new double[numVertices];
+        int[] offsets = new int[numVertices + 1];
+        int[] targets = new int[4 * numVertices];
+        float[] weights = new float[4 * numVertices];
+        int numEdges = 0;
+        for (int v = 0; v < numVertices; v += 1) {
+            lat[v] = 47.5 + 0.2 * (v / side) / side;
+            lon[v] = -122.4 + 0.2 * (v % side) / side;
+        }
+        for (int v = 0; v < numVertices; v += 1) {
+            int x = v % side;
+            int y = v / side;
+            int[] neighbors = {x > 0 ? v - 1 : -1, x < side - 1 ? v + 1 : -1, y > 0 ? v - side : -1,
+                    y < side - 1 ? v + side : -1};
+            for (int to : neighbors) {
+                if (to >= 0) {
+                    double distance = CsrGraph.distance(lat[v], lon[v], lat[to], lon[to]);
+                    targets[numEdges] = to;
+                    weights[numEdges] = (float) (distance * (1 + random.nextDouble()));
+                    numEdges += 1;
+                }
+            }
+            offsets[v + 1] = numEdges;
+        }
+        return new CsrGraph(lat, lon, offsets, Arrays.copyOf(targets, numEdges), Arrays.copyOf(weights, numEdges));
+    }
+}
@@ -0,0 +1,74 @@
+package graphs.shortestpaths;
+
+import graphs.CsrGraph;
+import graphs.SeattleFixture;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks comparing {@link AStarSolver} against {@link BidirectionalDijkstraSolver} and
+ * {@link BidirectionalAStarSolver} for routes between random street vertices of the Seattle road network, most of
+ * which cross a large part of the city.
+ *
+ * @see BidirectionalDijkstraSolver
+ * @see BidirectionalAStarSolver
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class BidirectionalSolverBenchmark {
+    /**
+     * Number of random routes to cycle through.
+     */
+    private static final int NUM_ROUTES = 256;
+    /**
+     * The solver implementation.
+     */
+    @Param({"AStarSolver", "BidirectionalDijkstraSolver", "BidirectionalAStarSolver"})
+    public String implementation;
+    /**
+     * Classpath path to the gzipped OSM file.
+     */
+    @Param({"seattle.osm.gz"})
+    public String osmPath;
+
+    private CsrGraph graph;
+    private CsrGraph reverse;
+    private int[] routes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() throws ReflectiveOperationException {
+        graph = SeattleFixture.load(osmPath).graph();
+        reverse = graph.reverse();
+        routes = SeattleFixture.randomStreets(graph, 2 * NUM_ROUTES);
+        next = 0;
+    }
+
+    /**
+     * Finds the shortest path for the next random route.
+     *
+     * @return the shortest path between the start and goal of the route.
+     */
+    @Benchmark
+    public List<Integer> route() {
+        int start = routes[next];
+        int goal = routes[next + 1];
+        next = (next + 2) % routes.length;
+        switch (implementation) {
+            case "AStarSolver":
+                return new AStarSolver<>(graph, start, goal).solution();
+            case "BidirectionalDijkstraSolver":
+                return new BidirectionalDijkstraSolver<>(graph, reverse, start, goal).solution();
+            case "BidirectionalAStarSolver":
+                return new BidirectionalAStarSolver<>(graph, reverse, start, goal).solution();
+            default:
+                throw new IllegalArgumentException("Unknown implementation " + implementation);
+        }
+    }
+}
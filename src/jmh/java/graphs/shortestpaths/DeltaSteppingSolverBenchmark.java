@@ -0,0 +1,79 @@
+package graphs.shortestpaths;
+
+import graphs.CsrGraph;
+import graphs.SeattleFixture;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for the scaling of {@link DeltaSteppingSolver} with the number of threads and the bucket width,
+ * computing full shortest paths trees on a randomly-weighted grid graph as a stand-in for a road network. The
+ * {@link #dijkstra()} benchmark is the single-threaded baseline and does not depend on the parallelism or delta.
+ *
+ * @see DeltaSteppingSolver
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class DeltaSteppingSolverBenchmark {
+    /**
+     * Number of threads in the pool.
+     */
+    @Param({"1", "2", "4", "8", "16", "32"})
+    public int parallelism;
+    /**
+     * Bucket width as a multiple of the mean edge weight.
+     */
+    @Param({"1", "4"})
+    public double deltaScale;
+    /**
+     * Number of vertices along each side of the grid.
+     */
+    @Param({"1000"})
+    public int side;
+
+    private CsrGraph graph;
+    private SearchWorkspace<Integer> workspace;
+    private ForkJoinPool pool;
+    private double delta;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        graph = SeattleFixture.grid(side, new SplittableRandom(373));
+        workspace = SearchWorkspace.ofIntegers(graph.numVertices());
+        pool = new ForkJoinPool(parallelism);
+        delta = deltaScale * new DeltaSteppingSolver(graph, 0).delta();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Computes the shortest paths tree from the corner of the grid with delta-stepping.
+     *
+     * @return the shortest path to the opposite corner of the grid.
+     */
+    @Benchmark
+    public List<Integer> deltaStepping() {
+        return new DeltaSteppingSolver(graph, 0, delta, pool).solution(side * side - 1);
+    }
+
+    /**
+     * Computes the shortest paths tree from the corner of the grid with Dijkstra's algorithm.
+     *
+     * @return the shortest path to the opposite corner of the grid.
+     */
+    @Benchmark
+    public List<Integer> dijkstra() {
+        return new DijkstraSolver<>(graph, 0, workspace).solution(side * side - 1);
+    }
+}
@@ -0,0 +1,75 @@
+package graphs.shortestpaths;
+
+import graphs.Graph;
+import graphs.SeattleFixture;
+import minpq.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * JMH benchmarks for {@link DijkstraSolver} with each {@link MinPQ} implementation as the perimeter, run on a
+ * randomly-weighted grid graph as a stand-in for a road network.
+ *
+ * @see DijkstraSolver
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class DijkstraSolverBenchmark {
+    /**
+     * The {@link MinPQ} implementation for the perimeter.
+     */
+    @Param({"DoubleMapMinPQ", "OptimizedHeapMinPQ", "DaryHeapMinPQ", "PairingHeapMinPQ", "RadixHeapMinPQ"})
+    public String implementation;
+    /**
+     * Number of vertices along each side of the grid.
+     */
+    @Param({"100", "300", "1000"})
+    public int side;
+
+    private Graph<Integer> graph;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        graph = SeattleFixture.grid(side, new SplittableRandom(373));
+    }
+
+    /**
+     * Computes the shortest paths tree from the corner of the grid.
+     *
+     * @return the shortest path to the opposite corner of the grid.
+     */
+    @Benchmark
+    public List<Integer> shortestPathsTree() {
+        return new DijkstraSolver<>(graph, 0, perimeter().get()).solution(side * side - 1);
+    }
+
+    /**
+     * Returns the no-argument constructor for the perimeter implementation.
+     *
+     * @return the no-argument constructor for the perimeter implementation.
+     */
+    private Supplier<MinPQ<Integer>> perimeter() {
+        switch (implementation) {
+            case "DoubleMapMinPQ":
+                return DoubleMapMinPQ::new;
+            case "OptimizedHeapMinPQ":
+                return OptimizedHeapMinPQ::new;
+            case "DaryHeapMinPQ":
+                return DaryHeapMinPQ::new;
+            case "PairingHeapMinPQ":
+                return PairingHeapMinPQ::new;
+            case "RadixHeapMinPQ":
+                return RadixHeapMinPQ::new;
+            default:
+                throw new IllegalArgumentException("Unknown implementation " + implementation);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package graphs.shortestpaths;
+
+import graphs.ContractionHierarchy;
+import graphs.CsrGraph;
+import graphs.SeattleFixture;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks comparing ways to compute a matrix of shortest path lengths between random street vertices of the
+ * Seattle road network: a new {@link DijkstraSolver} for every origin, {@link DistanceMatrix} with parallel Dijkstra's
+ * algorithm, and {@link DistanceMatrix} with buckets on the {@link ContractionHierarchy}.
+ *
+ * @see DistanceMatrix
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class DistanceMatrixBenchmark {
+    /**
+     * The distance matrix implementation.
+     */
+    @Param({"DijkstraSolver", "DistanceMatrix", "ContractionHierarchy"})
+    public String implementation;
+    /**
+     * Number of origins and of destinations.
+     */
+    @Param({"500"})
+    public int size;
+    /**
+     * Classpath path to the gzipped OSM file.
+     */
+    @Param({"seattle.osm.gz"})
+    public String osmPath;
+
+    private CsrGraph graph;
+    private DistanceMatrix matrix;
+    private int[] origins;
+    private int[] destinations;
+
+    @Setup(Level.Trial)
+    public void setup() throws ReflectiveOperationException {
+        if (implementation.equals("ContractionHierarchy")) {
+            SeattleFixture map = SeattleFixture.loadWithHierarchy(osmPath);
+            graph = map.graph();
+            matrix = new DistanceMatrix(graph, map.hierarchy());
+        } else {
+            graph = SeattleFixture.load(osmPath).graph();
+            matrix = new DistanceMatrix(graph);
+        }
+        int[] streets = SeattleFixture.randomStreets(graph, 2 * size);
+        origins = Arrays.copyOfRange(streets, 0, size);
+        destinations = Arrays.copyOfRange(streets, size, 2 * size);
+    }
+
+    /**
+     * Computes the matrix of shortest path lengths from every origin to every destination.
+     *
+     * @return the matrix of shortest path lengths.
+     */
+    @Benchmark
+    public double[][] distances() {
+        if (!implementation.equals("DijkstraSolver")) {
+            return matrix.distances(origins, destinations);
+        }
+        double[][] result = new double[origins.length][destinations.length];
+        for (int i = 0; i < origins.length; i += 1) {
+            DijkstraSolver<Integer> solver = new DijkstraSolver<>(graph, origins[i]);
+            for (int j = 0; j < destinations.length; j += 1) {
+                result[i][j] = cost(origins[i], solver.solution(destinations[j]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the total weight of the given path from the origin, or infinity if it does not start at the origin.
+     *
+     * @param origin the origin vertex.
+     * @param path   the list of vertices in the path.
+     * @return the total weight of the path.
+     */
+    private double cost(int origin, List<Integer> path) {
+        if (path.get(0) != origin) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double result = 0.0;
+        for (int i = 0; i + 1 < path.size(); i += 1) {
+            int from = path.get(i);
+            int to = path.get(i + 1);
+            double min = Double.POSITIVE_INFINITY;
+            for (int e = graph.edgeStart(from); e < graph.edgeEnd(from); e += 1) {
+                if (graph.target(e) == to) {
+                    min = Math.min(min, graph.weight(e));
+                }
+            }
+            result += min;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,88 @@
+package graphs.shortestpaths;
+
+import graphs.AStarGraph;
+import graphs.SeattleFixture;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks comparing solvers that allocate hash maps and a priority queue for every query against solvers that
+ * reuse a {@link SearchWorkspace}, run on a randomly-weighted grid graph as a stand-in for a road network. Run with
+ * the GC profiler (the default for {@code gradle jmh}) to compare the bytes allocated per query.
+ *
+ * @see SearchWorkspace
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SearchWorkspaceBenchmark {
+    /**
+     * Number of random queries to cycle through.
+     */
+    private static final int NUM_QUERIES = 256;
+    /**
+     * Where each query stores its distances and edges: new hash maps or a reused workspace.
+     */
+    @Param({"HashMap", "SearchWorkspace"})
+    public String implementation;
+    /**
+     * Number of vertices along each side of the grid.
+     */
+    @Param({"100", "300"})
+    public int side;
+
+    private AStarGraph<Integer> graph;
+    private SearchWorkspace<Integer> workspace;
+    private int[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        graph = SeattleFixture.grid(side, new SplittableRandom(373));
+        workspace = SearchWorkspace.ofIntegers(side * side);
+        SplittableRandom random = new SplittableRandom(373);
+        queries = new int[2 * NUM_QUERIES];
+        for (int i = 0; i < queries.length; i += 1) {
+            queries[i] = random.nextInt(side * side);
+        }
+        next = 0;
+    }
+
+    /**
+     * Computes the shortest paths tree from the next random start with Dijkstra's algorithm.
+     *
+     * @return the shortest path to the next random goal.
+     */
+    @Benchmark
+    public List<Integer> dijkstra() {
+        int start = queries[next];
+        int goal = queries[next + 1];
+        next = (next + 2) % queries.length;
+        if (implementation.equals("HashMap")) {
+            return new DijkstraSolver<>(graph, start).solution(goal);
+        }
+        return new DijkstraSolver<>(graph, start, workspace).solution(goal);
+    }
+
+    /**
+     * Finds the shortest path for the next random query with A* search.
+     *
+     * @return the shortest path between the start and goal of the query.
+     */
+    @Benchmark
+    public List<Integer> aStar() {
+        int start = queries[next];
+        int goal = queries[next + 1];
+        next = (next + 2) % queries.length;
+        if (implementation.equals("HashMap")) {
+            return new AStarSolver<>(graph, start, goal).solution();
+        }
+        return new AStarSolver<>(graph, start, goal, workspace).solution();
+    }
+}
@@ -0,0 +1,140 @@
+package minpq;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH contention benchmarks for {@link ConcurrentMinPQ} from 1 to 32 threads. Every thread repeatedly removes the
+ * minimum element and adds it back with a larger priority value, the access pattern of ingestion threads and reviewer
+ * threads sharing one moderation queue. For comparison, {@code synchronized} runs the same workload on an
+ * {@link OptimizedHeapMinPQ} guarded by a single lock.
+ *
+ * @see ConcurrentMinPQ
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ConcurrentMinPQBenchmark {
+    /**
+     * The thread-safe {@link MinPQ} implementation to benchmark.
+     */
+    @Param({"ConcurrentMinPQ", "synchronized"})
+    public String implementation;
+    /**
+     * Number of elements in the priority queue, which must be larger than the number of threads.
+     */
+    @Param({"100000"})
+    public int size;
+
+    private MinPQ<Integer> pq;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        Map<Integer, Double> elementsAndPriorities = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i += 1) {
+            elementsAndPriorities.put(i, ThreadLocalRandom.current().nextDouble());
+        }
+        if (implementation.equals("ConcurrentMinPQ")) {
+            pq = new ConcurrentMinPQ<>(elementsAndPriorities);
+        } else {
+            pq = new SynchronizedMinPQ<>(new OptimizedHeapMinPQ<>(elementsAndPriorities));
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int hold1() {
+        return hold();
+    }
+
+    @Benchmark
+    @Threads(2)
+    public int hold2() {
+        return hold();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int hold4() {
+        return hold();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public int hold8() {
+        return hold();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public int hold16() {
+        return hold();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public int hold32() {
+        return hold();
+    }
+
+    /**
+     * Removes the minimum element and adds it back with a larger priority value.
+     *
+     * @return the removed element.
+     */
+    private int hold() {
+        int element = pq.removeMin();
+        pq.add(element, ThreadLocalRandom.current().nextDouble() + 1);
+        return element;
+    }
+
+    /**
+     * {@link MinPQ} that guards every operation on another priority queue with a single lock.
+     *
+     * @param <E> the type of elements in this priority queue.
+     */
+    private static class SynchronizedMinPQ<E> implements MinPQ<E> {
+        private final MinPQ<E> pq;
+
+        SynchronizedMinPQ(MinPQ<E> pq) {
+            this.pq = pq;
+        }
+
+        @Override
+        public synchronized void add(E element, double priority) {
+            pq.add(element, priority);
+        }
+
+        @Override
+        public synchronized boolean contains(E element) {
+            return pq.contains(element);
+        }
+
+        @Override
+        public synchronized E peekMin() {
+            return pq.peekMin();
+        }
+
+        @Override
+        public synchronized E removeMin() {
+            return pq.removeMin();
+        }
+
+        @Override
+        public synchronized void changePriority(E element, double priority) {
+            pq.changePriority(element, priority);
+        }
+
+        @Override
+        public synchronized int size() {
+            return pq.size();
+        }
+    }
+}
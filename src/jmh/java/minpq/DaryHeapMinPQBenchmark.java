@@ -0,0 +1,88 @@
+package minpq;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks comparing {@link DaryHeapMinPQ} arities against the binary {@link OptimizedHeapMinPQ} on the
+ * decrease-key-heavy access pattern of Dijkstra's algorithm and A* search.
+ *
+ * @see DaryHeapMinPQ
+ * @see OptimizedHeapMinPQ
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class DaryHeapMinPQBenchmark {
+    /**
+     * Number of decrease-key operations for each removeMin in {@link #dijkstraMix()}.
+     */
+    private static final int DECREASES_PER_REMOVE = 4;
+
+    /**
+     * Number of children per node, where 0 benchmarks the binary {@link OptimizedHeapMinPQ} for comparison.
+     */
+    @Param({"0", "2", "4", "8", "16"})
+    public int arity;
+    /**
+     * Number of elements in the priority queue.
+     */
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private MinPQ<Integer> pq;
+    private double[] priorities;
+    private SplittableRandom random;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        random = new SplittableRandom(373);
+        pq = arity == 0 ? new OptimizedHeapMinPQ<>() : new DaryHeapMinPQ<>(arity);
+        priorities = new double[size];
+        for (int i = 0; i < size; i += 1) {
+            priorities[i] = random.nextDouble();
+            pq.add(i, priorities[i]);
+        }
+    }
+
+    /**
+     * Decreases the priority value of a random element.
+     */
+    @Benchmark
+    public void decreaseKey() {
+        int element = random.nextInt(size);
+        priorities[element] -= random.nextDouble();
+        pq.changePriority(element, priorities[element]);
+    }
+
+    /**
+     * Removes the minimum element and adds it back with a larger priority value.
+     *
+     * @return the removed element.
+     */
+    @Benchmark
+    public int hold() {
+        int element = pq.removeMin();
+        priorities[element] += random.nextDouble();
+        pq.add(element, priorities[element]);
+        return element;
+    }
+
+    /**
+     * Several decrease-key operations followed by one {@link #hold()}, approximating a shortest paths solver.
+     *
+     * @return the removed element.
+     */
+    @Benchmark
+    public int dijkstraMix() {
+        for (int i = 0; i < DECREASES_PER_REMOVE; i += 1) {
+            decreaseKey();
+        }
+        return hold();
+    }
+}
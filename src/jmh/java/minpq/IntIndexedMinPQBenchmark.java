@@ -0,0 +1,67 @@
+package minpq;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks comparing the primitive {@link IntIndexedMinPQ} against {@link OptimizedHeapMinPQ} on dense integer
+ * elements, the access pattern of a shortest paths solver over numbered vertices.
+ *
+ * @see IntIndexedMinPQ
+ * @see OptimizedHeapMinPQ
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class IntIndexedMinPQBenchmark {
+    /**
+     * Number of elements in the priority queue.
+     */
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    private IntIndexedMinPQ primitive;
+    private MinPQ<Integer> boxed;
+    private SplittableRandom random;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        random = new SplittableRandom(373);
+        primitive = new IntIndexedMinPQ(size);
+        boxed = new OptimizedHeapMinPQ<>();
+        for (int i = 0; i < size; i += 1) {
+            double priority = random.nextDouble();
+            primitive.add(i, priority);
+            boxed.add(i, priority);
+        }
+    }
+
+    @Benchmark
+    public int holdPrimitive() {
+        int element = primitive.removeMin();
+        primitive.add(element, random.nextDouble());
+        return element;
+    }
+
+    @Benchmark
+    public Integer holdBoxed() {
+        Integer element = boxed.removeMin();
+        boxed.add(element, random.nextDouble());
+        return element;
+    }
+
+    @Benchmark
+    public void changePriorityPrimitive() {
+        primitive.changePriority(random.nextInt(size), random.nextDouble());
+    }
+
+    @Benchmark
+    public void changePriorityBoxed() {
+        boxed.changePriority(random.nextInt(size), random.nextDouble());
+    }
+}
@@ -0,0 +1,301 @@
+package minpq;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * JMH benchmarks for every {@link MinPQ} implementation. Steady-state operations ({@link #hold()} and
+ * {@link #changePriority()}) are reported per operation so that the sample-time mode yields p99 latencies, while
+ * whole-queue operations ({@link #add()}, {@link #removeMin(Drain)} and {@link #bulkConstructor()}) are reported
+ * per queue of {@code size} elements. Run with {@code ./gradlew jmh -PjmhArgs="MinPQBenchmark"}, which also attaches
+ * the GC profiler for allocation rates.
+ * <p>
+ * {@link UnsortedArrayMinPQ} and {@link HeapMinPQ} have linear-time {@code contains}, so the largest sizes take a very
+ * long time for those implementations; narrow the run with (for example) {@code -p size=1000,10000}.
+ * {@link RadixHeapMinPQ} is excluded because these benchmarks do not produce monotone priority values; see
+ * {@code DijkstraSolverBenchmark} instead.
+ *
+ * @see MinPQ
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class MinPQBenchmark {
+    /**
+     * Path to the toxic content.
+     */
+    private static final String PATH = "data/toxic.tsv";
+
+    /**
+     * The {@link MinPQ} implementation to benchmark.
+     */
+    @Param({"DoubleMapMinPQ", "UnsortedArrayMinPQ", "HeapMinPQ", "OptimizedHeapMinPQ", "DaryHeapMinPQ",
+            "PairingHeapMinPQ"})
+    public String implementation;
+    /**
+     * Number of elements in the priority queue.
+     */
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+    /**
+     * The source of priority values.
+     */
+    @Param({"TOXIC", "UNIFORM", "SKEWED"})
+    public Workload workload;
+
+    /**
+     * Unique elements in the order they are added.
+     */
+    private String[] elements;
+    /**
+     * Priority value for each element in {@code elements}.
+     */
+    private double[] priorities;
+    /**
+     * Each element and its corresponding priority for the bulk constructor.
+     */
+    private Map<String, Double> elementsAndPriorities;
+    /**
+     * Priority queue of {@code size} elements for the steady-state benchmarks.
+     */
+    private MinPQ<String> pq;
+    /**
+     * Random source for choosing elements and priority values during the steady-state benchmarks.
+     */
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setupTrial() throws IOException {
+        random = new SplittableRandom(373);
+        elements = new String[size];
+        priorities = workload.priorities(size, random);
+        elementsAndPriorities = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i += 1) {
+            elements[i] = Integer.toString(i);
+            elementsAndPriorities.put(elements[i], priorities[i]);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        pq = empty();
+        for (int i = 0; i < size; i += 1) {
+            pq.add(elements[i], priorities[i]);
+        }
+    }
+
+    /**
+     * Adds all {@code size} elements one at a time to an empty priority queue.
+     *
+     * @return the populated priority queue.
+     */
+    @Benchmark
+    public MinPQ<String> add() {
+        MinPQ<String> result = empty();
+        for (int i = 0; i < size; i += 1) {
+            result.add(elements[i], priorities[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Constructs a priority queue of {@code size} elements with the {@code MinPQ(Map)} constructor.
+     *
+     * @return the populated priority queue.
+     */
+    @Benchmark
+    public MinPQ<String> bulkConstructor() {
+        return withMap().apply(elementsAndPriorities);
+    }
+
+    /**
+     * Removes all {@code size} elements from a freshly-populated priority queue.
+     *
+     * @param drain the freshly-populated priority queue.
+     * @param bh    the blackhole consuming each removed element.
+     */
+    @Benchmark
+    public void removeMin(Drain drain, Blackhole bh) {
+        while (!drain.pq.isEmpty()) {
+            bh.consume(drain.pq.removeMin());
+        }
+    }
+
+    /**
+     * A variant of the classic "hold" operation: removes the minimum element and adds it back with a new priority value
+     * drawn from the workload, which may be smaller than the removed one, keeping the priority queue at {@code size}
+     * elements.
+     *
+     * @return the removed element.
+     */
+    @Benchmark
+    public String hold() {
+        String element = pq.removeMin();
+        pq.add(element, workload.next(random));
+        return element;
+    }
+
+    /**
+     * Changes the priority value of a random element in the priority queue.
+     */
+    @Benchmark
+    public void changePriority() {
+        pq.changePriority(elements[random.nextInt(size)], workload.next(random));
+    }
+
+    /**
+     * Returns an empty instance of the benchmarked implementation.
+     *
+     * @return an empty instance of the benchmarked implementation.
+     */
+    private MinPQ<String> empty() {
+        return withoutMap().get();
+    }
+
+    /**
+     * Returns the no-argument constructor for the benchmarked implementation.
+     *
+     * @return the no-argument constructor for the benchmarked implementation.
+     */
+    private Supplier<MinPQ<String>> withoutMap() {
+        switch (implementation) {
+            case "DoubleMapMinPQ":
+                return DoubleMapMinPQ::new;
+            case "UnsortedArrayMinPQ":
+                return UnsortedArrayMinPQ::new;
+            case "HeapMinPQ":
+                return HeapMinPQ::new;
+            case "OptimizedHeapMinPQ":
+                return OptimizedHeapMinPQ::new;
+            case "DaryHeapMinPQ":
+                return DaryHeapMinPQ::new;
+            case "PairingHeapMinPQ":
+                return PairingHeapMinPQ::new;
+            default:
+                throw new IllegalArgumentException("Unknown implementation " + implementation);
+        }
+    }
+
+    /**
+     * Returns the {@code MinPQ(Map)} constructor for the benchmarked implementation.
+     *
+     * @return the {@code MinPQ(Map)} constructor for the benchmarked implementation.
+     */
+    private Function<Map<String, Double>, MinPQ<String>> withMap() {
+        switch (implementation) {
+            case "DoubleMapMinPQ":
+                return DoubleMapMinPQ::new;
+            case "UnsortedArrayMinPQ":
+                return UnsortedArrayMinPQ::new;
+            case "HeapMinPQ":
+                return HeapMinPQ::new;
+            case "OptimizedHeapMinPQ":
+                return OptimizedHeapMinPQ::new;
+            case "DaryHeapMinPQ":
+                return DaryHeapMinPQ::new;
+            case "PairingHeapMinPQ":
+                return PairingHeapMinPQ::new;
+            default:
+                throw new IllegalArgumentException("Unknown implementation " + implementation);
+        }
+    }
+
+    /**
+     * Priority queue that is re-populated before every invocation so that it can be completely drained.
+     */
+    @State(Scope.Thread)
+    public static class Drain {
+        private MinPQ<String> pq;
+
+        @Setup(Level.Invocation)
+        public void setup(MinPQBenchmark benchmark) {
+            pq = benchmark.withMap().apply(benchmark.elementsAndPriorities);
+        }
+    }
+
+    /**
+     * Sources of priority values.
+     */
+    public enum Workload {
+        /**
+         * Negated toxicity values from the toxic content dataset, repeated as needed, as used by {@code Moderator}.
+         */
+        TOXIC {
+            private double[] toxicity;
+
+            @Override
+            double[] priorities(int size, SplittableRandom random) throws IOException {
+                if (toxicity == null) {
+                    List<Double> values = new ArrayList<>();
+                    try (Scanner scanner = new Scanner(new FileInputStream(PATH))) {
+                        scanner.nextLine(); // Skip header
+                        while (scanner.hasNextLine()) {
+                            Scanner line = new Scanner(scanner.nextLine()).useDelimiter("\t");
+                            values.add(-line.nextDouble());
+                        }
+                    }
+                    toxicity = values.stream().mapToDouble(Double::doubleValue).toArray();
+                }
+                return super.priorities(size, random);
+            }
+
+            @Override
+            double next(SplittableRandom random) {
+                return toxicity[random.nextInt(toxicity.length)];
+            }
+        },
+        /**
+         * Uniformly-distributed priority values in [0, 1).
+         */
+        UNIFORM {
+            @Override
+            double next(SplittableRandom random) {
+                return random.nextDouble();
+            }
+        },
+        /**
+         * Exponentially-distributed priority values rounded to 3 decimal places so that many elements share the same
+         * small priority values.
+         */
+        SKEWED {
+            @Override
+            double next(SplittableRandom random) {
+                return Math.round(-Math.log1p(-random.nextDouble()) * 1000) / 1000.0;
+            }
+        };
+
+        /**
+         * Returns the given number of priority values drawn from this workload.
+         *
+         * @param size   the number of priority values.
+         * @param random the random source.
+         * @return the given number of priority values drawn from this workload.
+         * @throws IOException if the workload dataset cannot be read.
+         */
+        double[] priorities(int size, SplittableRandom random) throws IOException {
+            double[] result = new double[size];
+            for (int i = 0; i < size; i += 1) {
+                result[i] = next(random);
+            }
+            return result;
+        }
+
+        /**
+         * Returns the next priority value drawn from this workload.
+         *
+         * @param random the random source.
+         * @return the next priority value drawn from this workload.
+         */
+        abstract double next(SplittableRandom random);
+    }
+}
@@ -0,0 +1,69 @@
+package tsv;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks comparing {@link TsvReader} against the previous approach of creating a {@link Scanner} with a tab
+ * delimiter for every line. Each benchmark loads the whole file into a map from the name in the first column to the
+ * number in the second column, as {@code CitySearch} and {@code MapGraph} do.
+ *
+ * @see TsvReader
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1)
+public class TsvReaderBenchmark {
+    /**
+     * Path to the TSV file to load.
+     */
+    @Param({"data/cities.tsv", "src/main/resources/places.tsv"})
+    public String path;
+
+    /**
+     * Loads the file by creating a {@link Scanner} for every line.
+     *
+     * @return the number in the second column for each name in the first column.
+     * @throws IOException if the file cannot be read.
+     */
+    @Benchmark
+    public Map<String, Integer> scanner() throws IOException {
+        Map<String, Integer> result = new HashMap<>();
+        try (Scanner input = new Scanner(new FileInputStream(path))) {
+            while (input.hasNextLine()) {
+                Scanner line = new Scanner(input.nextLine()).useDelimiter("\t");
+                result.put(line.next(), line.nextInt());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Loads the file with {@link TsvReader}.
+     *
+     * @return the number in the second column for each name in the first column.
+     * @throws IOException if the file cannot be read.
+     */
+    @Benchmark
+    public Map<String, Integer> tsvReader() throws IOException {
+        List<Map.Entry<String, Integer>> rows = TsvReader.read(
+                Path.of(path), row -> Map.entry(row.getString(0), row.getInt(1))
+        );
+        Map<String, Integer> result = new HashMap<>(2 * rows.size());
+        for (Map.Entry<String, Integer> row : rows) {
+            result.put(row.getKey(), row.getValue());
+        }
+        return result;
+    }
+}
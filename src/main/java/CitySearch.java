@@ -1,8 +1,9 @@
 import autocomplete.Autocomplete;
-import autocomplete.TreeSetAutocomplete;
+import autocomplete.CompactTernarySearchTreeAutocomplete;
+import tsv.TsvReader;
 
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
 
 /**
@@ -23,14 +24,15 @@ public class CitySearch {
     private static final String PATH = "data/cities.tsv";
 
     public static void main(String[] args) throws IOException {
-        Map<String, Integer> cities = new LinkedHashMap<>();
-        Scanner input = new Scanner(new FileInputStream(PATH));
-        for (int i = 0; i < MAX_CITIES && input.hasNextLine(); i += 1) {
-            Scanner line = new Scanner(input.nextLine()).useDelimiter("\t");
-            cities.put(line.next(), line.nextInt());
+        List<Map.Entry<String, Double>> rows = TsvReader.read(
+                Path.of(PATH), row -> Map.entry(row.getString(0), row.getDouble(1)), MAX_CITIES
+        );
+        Map<String, Double> cities = new LinkedHashMap<>();
+        for (Map.Entry<String, Double> row : rows) {
+            cities.put(row.getKey(), row.getValue());
         }
-        Autocomplete autocomplete = new TreeSetAutocomplete();
-        autocomplete.addAll(cities.keySet());
+        Autocomplete autocomplete = new CompactTernarySearchTreeAutocomplete();
+        autocomplete.addAll(cities);
 
         Scanner stdin = new Scanner(System.in);
         System.out.print("Query: ");
@@ -39,11 +41,8 @@ public class CitySearch {
             if (prefix.isEmpty()) {
                 System.exit(0);
             }
-            List<CharSequence> matches = autocomplete.allMatches(prefix);
-            System.out.println(matches.size() + " matches");
-            matches.sort(Comparator.comparingInt(cities::get).reversed());
-            for (int i = 0; i < Math.min(matches.size(), MAX_MATCHES); i += 1) {
-                System.out.println(matches.get(i));
+            for (CharSequence match : autocomplete.topMatches(prefix, MAX_MATCHES)) {
+                System.out.println(match);
             }
             System.out.println();
             System.out.print("Query: ");
@@ -1,15 +1,20 @@
 import autocomplete.Autocomplete;
+import autocomplete.FMIndexAutocomplete;
+import autocomplete.SuffixArrayAutocomplete;
 import autocomplete.TreeSetAutocomplete;
 
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.AbstractCollection;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Scanner;
 
 /**
- * Search DNA by autocompleting across all suffixes.
+ * Search DNA by autocompleting across all suffixes. The optional first argument selects the index: {@code suffixarray}
+ * (the default), {@code fmindex} for genomes too large for a suffix array, or {@code treeset}.
  */
 public class DNASearch {
     /**
@@ -22,9 +27,23 @@ public class DNASearch {
     private static final String PATH = "data/ecoli.txt";
 
     public static void main(String[] args) throws IOException {
-        String dna = new Scanner(new FileInputStream(PATH)).next();
-        Autocomplete autocomplete = new TreeSetAutocomplete();
-        autocomplete.addAll(new SuffixCollection(dna));
+        CharSequence dna = PackedSequence.map(Path.of(PATH));
+        Autocomplete autocomplete;
+        String index = args.length > 0 ? args[0] : "suffixarray";
+        switch (index) {
+            case "suffixarray":
+                autocomplete = new SuffixArrayAutocomplete(dna);
+                break;
+            case "fmindex":
+                autocomplete = new FMIndexAutocomplete(dna);
+                break;
+            case "treeset":
+                autocomplete = new TreeSetAutocomplete();
+                autocomplete.addAll(new SuffixCollection(dna));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown index " + index);
+        }
 
         Scanner stdin = new Scanner(System.in);
         System.out.print("Query: ");
@@ -33,10 +52,8 @@ public class DNASearch {
             if (prefix.isEmpty()) {
                 System.exit(0);
             }
-            List<CharSequence> matches = autocomplete.allMatches(prefix);
-            System.out.println(matches.size() + " matches");
-            for (int i = 0; i < Math.min(matches.size(), MAX_MATCHES); i += 1) {
-                CharSequence match = matches.get(i);
+            System.out.println(autocomplete.countMatches(prefix) + " matches");
+            for (CharSequence match : autocomplete.allMatches(prefix, MAX_MATCHES)) {
                 if (match.length() >= 97) {
                     match = match.subSequence(0, 97) + "...";
                 }
@@ -173,4 +190,203 @@ public class DNASearch {
             }
         }
     }
+
+    /**
+     * A sequence of up to 4 distinct characters packed into 2 bits each in an off-heap buffer. The file is read through
+     * a memory mapping rather than the Java heap, so loading a genome only takes a quarter of a byte per base.
+     */
+    static class PackedSequence implements CharSequence {
+        /**
+         * Number of distinct characters that fit in 2 bits.
+         */
+        private static final int SIGMA = 4;
+        /**
+         * Maximum number of bytes of the file to map at once.
+         */
+        private static final int CHUNK = 1 << 30;
+        /**
+         * Distinct characters of the sequence in order of first appearance, indexed by code.
+         */
+        private final char[] alphabet;
+        /**
+         * Off-heap buffer of codes, 4 per byte starting from the low bits.
+         */
+        private final ByteBuffer codes;
+        /**
+         * Number of characters in the sequence.
+         */
+        private final int length;
+
+        /**
+         * Constructs a sequence of the given length from the given packed codes.
+         *
+         * @param alphabet the character for each code.
+         * @param codes    the packed codes.
+         * @param length   the number of characters.
+         */
+        private PackedSequence(char[] alphabet, ByteBuffer codes, int length) {
+            this.alphabet = alphabet;
+            this.codes = codes;
+            this.length = length;
+        }
+
+        /**
+         * Returns the first whitespace-delimited token of the given file as a packed sequence, like
+         * {@link Scanner#next()}.
+         *
+         * @param path the path to the file.
+         * @return the first token of the file as a packed sequence.
+         * @throws IOException              if the file cannot be read.
+         * @throws IllegalArgumentException if the token has more than 4 distinct characters or is too long.
+         */
+        static PackedSequence map(Path path) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size / SIGMA >= Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("File too large: " + size + " bytes");
+                }
+                Packer packer = new Packer(size);
+                boolean ended = false;
+                for (long offset = 0; offset < size && !ended; offset += CHUNK) {
+                    ended = packer.pack(channel.map(FileChannel.MapMode.READ_ONLY, offset,
+                            Math.min(CHUNK, size - offset)));
+                }
+                return packer.sequence();
+            }
+        }
+
+        /**
+         * Returns the first whitespace-delimited token of the remaining bytes of the given buffer as a packed
+         * sequence, like {@link Scanner#next()}.
+         *
+         * @param input the buffer of characters, one byte each.
+         * @return the first token of the buffer as a packed sequence.
+         * @throws IllegalArgumentException if the token has more than 4 distinct characters.
+         */
+        static PackedSequence of(ByteBuffer input) {
+            Packer packer = new Packer(input.remaining());
+            packer.pack(input);
+            return packer.sequence();
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+            }
+            return alphabet[(codes.get(index >>> 2) >>> ((index & 3) << 1)) & 3];
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public CharSequence subSequence(int begin, int end) {
+            if (begin < 0 || begin > end || end > length) {
+                throw new IndexOutOfBoundsException("begin " + begin + ", end " + end + ", length " + length);
+            }
+            StringBuilder result = new StringBuilder(end - begin);
+            for (int i = begin; i < end; i += 1) {
+                result.append(charAt(i));
+            }
+            return result.toString();
+        }
+
+        @Override
+        public String toString() {
+            return subSequence(0, length).toString();
+        }
+
+        /**
+         * Packs the characters of the first whitespace-delimited token into codes as they are read, one buffer at a
+         * time.
+         */
+        private static class Packer {
+            /**
+             * Distinct characters seen so far in order of first appearance, indexed by code.
+             */
+            private final char[] alphabet;
+            /**
+             * Off-heap buffer of codes, large enough for every byte of the input.
+             */
+            private final ByteBuffer codes;
+            /**
+             * Number of distinct characters seen so far.
+             */
+            private int distinct;
+            /**
+             * Number of characters packed so far.
+             */
+            private long length;
+            /**
+             * True once the first character of the token has been read.
+             */
+            private boolean started;
+
+            /**
+             * Constructs a packer for an input of the given number of bytes.
+             *
+             * @param size the number of bytes of the input.
+             */
+            Packer(long size) {
+                alphabet = new char[SIGMA];
+                codes = ByteBuffer.allocateDirect((int) ((size + SIGMA - 1) / SIGMA));
+                distinct = 0;
+                length = 0;
+                started = false;
+            }
+
+            /**
+             * Packs the remaining bytes of the given buffer until the end of the token.
+             *
+             * @param input the next bytes of the input.
+             * @return true if the token ended in this buffer.
+             * @throws IllegalArgumentException if the token has more than 4 distinct characters.
+             */
+            boolean pack(ByteBuffer input) {
+                while (input.hasRemaining()) {
+                    char c = (char) (input.get() & 0xFF);
+                    if (Character.isWhitespace(c)) {
+                        if (started) {
+                            return true;
+                        }
+                        continue;
+                    }
+                    started = true;
+                    int code = 0;
+                    while (code < distinct && alphabet[code] != c) {
+                        code += 1;
+                    }
+                    if (code == distinct) {
+                        if (distinct == SIGMA) {
+                            throw new IllegalArgumentException(
+                                    "More than " + SIGMA + " distinct characters: " + new String(alphabet) + c
+                            );
+                        }
+                        alphabet[code] = c;
+                        distinct += 1;
+                    }
+                    int index = (int) (length >>> 2);
+                    codes.put(index, (byte) (codes.get(index) | code << ((length & 3) << 1)));
+                    length += 1;
+                }
+                return false;
+            }
+
+            /**
+             * Returns the packed sequence of the characters packed so far.
+             *
+             * @return the packed sequence.
+             * @throws IllegalArgumentException if the sequence is too long.
+             */
+            PackedSequence sequence() {
+                if (length > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("Sequence too long: " + length + " characters");
+                }
+                return new PackedSequence(alphabet, codes, (int) length);
+            }
+        }
+    }
 }
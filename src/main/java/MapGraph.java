@@ -1,37 +1,81 @@
 import autocomplete.Autocomplete;
 import autocomplete.TreeSetAutocomplete;
 import graphs.AStarGraph;
+import graphs.ContractionHierarchy;
+import graphs.CsrGraph;
 import graphs.Edge;
+import graphs.KdTree;
 import graphs.shortestpaths.AStarSolver;
-import minpq.DoubleMapMinPQ;
+import graphs.shortestpaths.DistanceMatrix;
+import graphs.shortestpaths.SearchWorkspace;
+import minpq.BoundedTopKMinPQ;
+import minpq.MinPQ;
 import org.locationtech.spatial4j.context.SpatialContext;
 import org.locationtech.spatial4j.shape.Point;
 import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
 import org.xml.sax.helpers.DefaultHandler;
+import tsv.TsvReader;
 
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
-import java.io.IOException;
-import java.io.InputStream;
+import java.io.*;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
 import java.util.zip.GZIPInputStream;
 
 /**
- * {@link AStarGraph} of places as {@link Point} vertices and streets edges weighted by physical distance.
+ * {@link AStarGraph} of places as {@link Point} vertices and streets edges weighted by physical distance. The streets
+ * are stored as a {@link CsrGraph} over numbered points, so each edge takes 8 bytes instead of an {@link Edge} object
+ * and a list slot; {@link #neighbors(Point)} creates the edges of a point on demand.
+ * <p>
+ * Contracting the road graph into a {@link ContractionHierarchy} takes far longer than parsing it, so it is done
+ * offline by {@link #main(String[])}, which writes a binary snapshot that later constructions load instead of parsing
+ * the files.
  *
  * @see AStarGraph
  * @see MapServer
  */
 public class MapGraph implements AStarGraph<Point> {
+    /**
+     * Magic number at the start of every snapshot file ("HMAP").
+     */
+    private static final int SNAPSHOT_MAGIC = 0x484D4150;
+    /**
+     * Version of the snapshot format, incremented whenever the format changes.
+     */
+    private static final int SNAPSHOT_VERSION = 3;
     private final String osmPath;
     private final String placesPath;
     private final SpatialContext context;
-    private final Map<Point, List<Edge<Point>>> neighbors;
+    private final CsrGraph graph;
+    private final Map<Point, Integer> ids;
+    private final KdTree streets;
     private final Map<String, List<Point>> locations;
     private final Autocomplete autocomplete;
     private final Map<CharSequence, Integer> importance;
+    /**
+     * Contraction hierarchy of the road graph for answering shortest path queries, or null if the map graph was not
+     * loaded from a snapshot.
+     */
+    private final ContractionHierarchy hierarchy;
+    /**
+     * Query engine of each thread for the contraction hierarchy, since a query engine reuses its memory across queries.
+     */
+    private final ThreadLocal<ContractionHierarchy.Query> queries;
+    private final DistanceMatrix matrix;
 
     /**
      * Constructs a new map graph from the path to an OSM GZ file and a places TSV.
@@ -44,43 +88,123 @@ public class MapGraph implements AStarGraph<Point> {
      */
     public MapGraph(String osmPath, String placesPath, SpatialContext context)
             throws ParserConfigurationException, SAXException, IOException {
+        this(osmPath, placesPath, context, null);
+    }
+
+    /**
+     * Constructs a new map graph from a binary snapshot written by {@link #main(String[])}, or from the path to an OSM
+     * GZ file and a places TSV if the snapshot is missing or was written from different versions of those files. Only
+     * a map graph loaded from a snapshot routes with the {@link ContractionHierarchy}; otherwise
+     * {@link #shortestPath(Point, Point)} falls back to A* search.
+     *
+     * @param osmPath      The path to a gzipped OSM (XML) file.
+     * @param placesPath   The path to a TSV file representing places and importance.
+     * @param snapshotPath The path to the snapshot file, or null to always parse the OSM and TSV files.
+     * @throws ParserConfigurationException if a parser cannot be created.
+     * @throws SAXException                 for SAX errors.
+     * @throws IOException                  if a file is not found or if the file is not gzipped.
+     */
+    public MapGraph(String osmPath, String placesPath, SpatialContext context, Path snapshotPath)
+            throws ParserConfigurationException, SAXException, IOException {
         this.osmPath = osmPath;
         this.placesPath = placesPath;
         this.context = context;
+        ids = new HashMap<>();
+        locations = new HashMap<>();
+        importance = new HashMap<>();
 
-        // Parse the OpenStreetMap (OSM) data using the SAXParser XML tree walker.
-        neighbors = new HashMap<>();
-        Handler handler = new Handler(Set.of(
-                "motorway",
-                "trunk",
-                "primary",
-                "secondary",
-                "tertiary",
-                "unclassified",
-                "residential",
-                "living_street",
-                "motorway_link",
-                "trunk_link",
-                "primary_link",
-                "secondary_link",
-                "tertiary_link"
-        ));
-        SAXParser saxParser = SAXParserFactory.newInstance().newSAXParser();
-        saxParser.parse(new GZIPInputStream(fileStream(osmPath)), handler);
+        Snapshot snapshot = snapshotPath == null ? null : readSnapshot(snapshotPath, sources(osmPath, placesPath));
+        if (snapshot != null) {
+            graph = snapshot.graph;
+            hierarchy = snapshot.hierarchy;
+        } else {
+            // Parse the OpenStreetMap (OSM) data using the SAXParser XML tree walker.
+            Handler handler = new Handler(Set.of(
+                    "motorway",
+                    "trunk",
+                    "primary",
+                    "secondary",
+                    "tertiary",
+                    "unclassified",
+                    "residential",
+                    "living_street",
+                    "motorway_link",
+                    "trunk_link",
+                    "primary_link",
+                    "secondary_link",
+                    "tertiary_link"
+            ));
+            SAXParser saxParser = SAXParserFactory.newInstance().newSAXParser();
+            saxParser.parse(new GZIPInputStream(fileStream(osmPath)), handler);
+            graph = handler.graph();
+
+            // Parse the place-importance data.
+            try (InputStream input = fileStream(placesPath)) {
+                List<Map.Entry<String, Integer>> rows = TsvReader.read(
+                        input, row -> Map.entry(row.getString(0), row.getInt(1))
+                );
+                for (Map.Entry<String, Integer> row : rows) {
+                    importance.put(row.getKey(), row.getValue());
+                }
+            }
+
+            hierarchy = null;
+            if (snapshotPath != null) {
+                System.err.println("No current snapshot " + snapshotPath + ", routing with A* search instead. "
+                        + "Build the snapshot with ./gradlew snapshot or MapGraph.main.");
+            }
+        }
+
+        // Index the points with streets for finding the closest point to a location.
+        streets = new KdTree(graph, v -> graph.edgeStart(v) < graph.edgeEnd(v));
+        queries = ThreadLocal.withInitial(() -> hierarchy.query());
+        matrix = new DistanceMatrix(graph, hierarchy);
 
         // Add reachable locations to the Autocomplete engine.
-        locations = handler.byName;
         autocomplete = new TreeSetAutocomplete();
         autocomplete.addAll(locations.keySet());
+    }
 
-        // Parse the place-importance data.
-        importance = new HashMap<>();
-        try (Scanner input = new Scanner(fileStream(placesPath))) {
-            while (input.hasNextLine()) {
-                Scanner line = new Scanner(input.nextLine()).useDelimiter("\t");
-                importance.put(line.next(), line.nextInt());
-            }
+    /**
+     * Parses the OSM and places files, contracts the road graph, and writes the snapshot that
+     * {@link #MapGraph(String, String, SpatialContext, Path)} loads, so that the server never contracts the road graph
+     * on startup. Rerun whenever either file changes, since a snapshot of other versions of the files is ignored.
+     *
+     * @param args the classpath paths to the gzipped OSM file and the places TSV, and the path to the snapshot file.
+     * @throws Exception if the files cannot be parsed or the snapshot cannot be written.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length != 3) {
+            System.err.println("Usage: java MapGraph <osm path> <places path> <snapshot path>");
+            System.exit(1);
         }
+        long[] sources = sources(args[0], args[1]);
+        long start = System.nanoTime();
+        MapGraph map = new MapGraph(args[0], args[1], SpatialContext.GEO);
+        System.out.println("Parsed " + map.graph.numVertices() + " points and " + map.graph.numEdges() + " edges in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+        start = System.nanoTime();
+        ContractionHierarchy hierarchy = ContractionHierarchy.contract(map.graph);
+        System.out.println("Contracted into " + hierarchy.numEdges() + " edges and shortcuts in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+        Path snapshotPath = Path.of(args[2]);
+        map.writeSnapshot(snapshotPath, sources, hierarchy);
+        System.out.println("Wrote " + snapshotPath.toAbsolutePath());
+    }
+
+    /**
+     * Returns the lengths and last-modified times of the OSM and places files, which identify the versions of the
+     * files that a snapshot was written from.
+     *
+     * @param osmPath    the path to the OSM file.
+     * @param placesPath the path to the places file.
+     * @return the lengths and last-modified times of the files.
+     * @throws IOException if a file cannot be accessed.
+     */
+    private static long[] sources(String osmPath, String placesPath) throws IOException {
+        long[] osm = fileVersion(osmPath);
+        long[] places = fileVersion(placesPath);
+        return new long[]{osm[0], osm[1], places[0], places[1]};
     }
 
     /**
@@ -93,6 +217,212 @@ public class MapGraph implements AStarGraph<Point> {
         return Thread.currentThread().getContextClassLoader().getResourceAsStream(path);
     }
 
+    /**
+     * Returns the length and last-modified time of the file at the given path, or -1 and 0 if it is not found. A file
+     * in a directory is read with {@link Files}; a file in a JAR is read from a single connection whose stream is then
+     * closed, since asking a connection for either value opens the file.
+     *
+     * @param path a file path.
+     * @return the length and last-modified time of the specified file, or -1 and 0 if it is not found.
+     * @throws IOException if the file cannot be accessed.
+     */
+    private static long[] fileVersion(String path) throws IOException {
+        URL url = Thread.currentThread().getContextClassLoader().getResource(path);
+        if (url == null) {
+            return new long[]{-1, 0};
+        }
+        if (url.getProtocol().equals("file")) {
+            Path file;
+            try {
+                file = Path.of(url.toURI());
+            } catch (URISyntaxException e) {
+                throw new IOException("Invalid file URL " + url, e);
+            }
+            return new long[]{Files.size(file), Files.getLastModifiedTime(file).toMillis()};
+        }
+        URLConnection connection = url.openConnection();
+        try (InputStream input = connection.getInputStream()) {
+            return new long[]{connection.getContentLengthLong(), connection.getLastModified()};
+        }
+    }
+
+    /**
+     * Writes the road graph, location names, place importance and contraction hierarchy to a snapshot file. The road
+     * graph is written as its compressed sparse row (CSR) arrays: the coordinates of each point, the offset of each
+     * point's first edge, and the target and weight of every edge. The file is written to a temporary file and then
+     * moved into place so that a concurrent reader never sees a partial snapshot.
+     *
+     * @param path      the path to the snapshot file.
+     * @param sources   the lengths and last-modified times of the OSM and places files.
+     * @param hierarchy the contraction hierarchy of the road graph.
+     * @throws IOException if the snapshot cannot be written.
+     */
+    private void writeSnapshot(Path path, long[] sources, ContractionHierarchy hierarchy) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            output.writeInt(SNAPSHOT_MAGIC);
+            output.writeInt(SNAPSHOT_VERSION);
+            for (long source : sources) {
+                output.writeLong(source);
+            }
+            int numVertices = graph.numVertices();
+            output.writeInt(numVertices);
+            for (int v = 0; v < numVertices; v += 1) {
+                output.writeDouble(graph.lat(v));
+                output.writeDouble(graph.lon(v));
+            }
+            for (int v = 0; v < numVertices; v += 1) {
+                output.writeInt(graph.edgeStart(v));
+            }
+            output.writeInt(graph.numEdges());
+            for (int e = 0; e < graph.numEdges(); e += 1) {
+                output.writeInt(graph.target(e));
+                output.writeFloat((float) graph.weight(e));
+            }
+            output.writeInt(locations.size());
+            for (Map.Entry<String, List<Point>> entry : locations.entrySet()) {
+                writeString(output, entry.getKey());
+                output.writeInt(entry.getValue().size());
+                for (Point point : entry.getValue()) {
+                    output.writeInt(ids.get(point));
+                }
+            }
+            output.writeInt(importance.size());
+            for (Map.Entry<CharSequence, Integer> entry : importance.entrySet()) {
+                writeString(output, entry.getKey().toString());
+                output.writeInt(entry.getValue());
+            }
+            hierarchy.write(output);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads the road graph, location names, place importance and contraction hierarchy from a memory-mapped snapshot
+     * file.
+     *
+     * @param path    the path to the snapshot file.
+     * @param sources the lengths and last-modified times of the OSM and places files.
+     * @return the road graph and contraction hierarchy, or null if the snapshot is missing, stale, or from another
+     * format version.
+     */
+    private Snapshot readSnapshot(Path path, long[] sources) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer input = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (input.getInt() != SNAPSHOT_MAGIC || input.getInt() != SNAPSHOT_VERSION) {
+                return null;
+            }
+            for (long source : sources) {
+                if (input.getLong() != source) {
+                    return null;
+                }
+            }
+            // Check every count against the bytes left before allocating, so a corrupt snapshot cannot ask for a
+            // negative or huge array.
+            int numVertices = readCount(input, 2 * Double.BYTES);
+            double[] lat = new double[numVertices];
+            double[] lon = new double[numVertices];
+            Point[] points = new Point[numVertices];
+            for (int v = 0; v < numVertices; v += 1) {
+                lat[v] = input.getDouble();
+                lon[v] = input.getDouble();
+                points[v] = context.getShapeFactory().pointLatLon(lat[v], lon[v]);
+                ids.put(points[v], v);
+            }
+            int[] offsets = new int[numVertices + 1];
+            for (int v = 0; v < offsets.length; v += 1) {
+                offsets[v] = input.getInt();
+            }
+            if (offsets[numVertices] < 0 || offsets[numVertices] > input.remaining() / (Integer.BYTES + Float.BYTES)) {
+                throw new IllegalArgumentException("Invalid number of edges " + offsets[numVertices]);
+            }
+            int[] targets = new int[offsets[numVertices]];
+            float[] weights = new float[targets.length];
+            for (int e = 0; e < targets.length; e += 1) {
+                targets[e] = input.getInt();
+                weights[e] = input.getFloat();
+            }
+            CsrGraph result = new CsrGraph(lat, lon, offsets, targets, weights);
+            // Each location and place takes at least the length of its name and one more int.
+            int numLocations = readCount(input, 2 * Integer.BYTES);
+            for (int i = 0; i < numLocations; i += 1) {
+                String name = readString(input);
+                int size = readCount(input, Integer.BYTES);
+                List<Point> named = new ArrayList<>(size);
+                for (int j = 0; j < size; j += 1) {
+                    named.add(points[input.getInt()]);
+                }
+                locations.put(name, named);
+            }
+            int numPlaces = readCount(input, 2 * Integer.BYTES);
+            for (int i = 0; i < numPlaces; i += 1) {
+                String name = readString(input);
+                importance.put(name, input.getInt());
+            }
+            ContractionHierarchy hierarchy = ContractionHierarchy.read(input);
+            if (hierarchy.numVertices() != numVertices) {
+                throw new IllegalArgumentException("Hierarchy has " + hierarchy.numVertices() + " vertices");
+            }
+            return new Snapshot(result, hierarchy);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            System.err.println("Ignoring unreadable snapshot " + path + ": " + e);
+            ids.clear();
+            locations.clear();
+            importance.clear();
+            return null;
+        }
+    }
+
+    /**
+     * Writes the UTF-8 encoded length and bytes of the string.
+     *
+     * @param output the snapshot output.
+     * @param string the string to write.
+     * @throws IOException if the string cannot be written.
+     */
+    private static void writeString(DataOutputStream output, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Reads a string written by {@link #writeString(DataOutputStream, String)}.
+     *
+     * @param input the snapshot input.
+     * @return the string.
+     */
+    private static String readString(ByteBuffer input) {
+        byte[] bytes = new byte[readCount(input, 1)];
+        input.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the number of items that follow in the snapshot.
+     *
+     * @param input the snapshot input.
+     * @param bytes the fewest bytes that each item takes.
+     * @return the number of items.
+     * @throws IllegalArgumentException if the count is negative or more items than the rest of the input can hold.
+     */
+    private static int readCount(ByteBuffer input, int bytes) {
+        int count = input.getInt();
+        if (count < 0 || count > input.remaining() / bytes) {
+            throw new IllegalArgumentException("Invalid count " + count);
+        }
+        return count;
+    }
+
     /**
      * Returns the location closest to the given target location.
      *
@@ -100,11 +430,26 @@ public class MapGraph implements AStarGraph<Point> {
      * @return the id of the location closest to the target.
      */
     public Point closest(Point target) {
-        if (neighbors.containsKey(target)) {
-            return target;
+        return point(closestVertex(target));
+    }
+
+    /**
+     * Returns the vertex of the road graph with streets closest to the given target location.
+     *
+     * @param target the target location.
+     * @return the vertex closest to the target.
+     * @throws NoSuchElementException if the map has no streets.
+     */
+    private int closestVertex(Point target) {
+        Integer id = ids.get(target);
+        if (id != null && graph.edgeStart(id) < graph.edgeEnd(id)) {
+            return id;
         }
-        return Collections.min(neighbors.keySet(),
-                Comparator.comparingDouble(p -> estimatedDistance(target, p)));
+        int result = streets.nearest(target.getLat(), target.getLon());
+        if (result < 0) {
+            throw new NoSuchElementException("Map has no streets");
+        }
+        return result;
     }
 
     /**
@@ -114,12 +459,11 @@ public class MapGraph implements AStarGraph<Point> {
      * @return a list of full names of locations matching the prefix.
      */
     public List<CharSequence> getLocationsByPrefix(String prefix, int maxMatches) {
-        List<CharSequence> matches = autocomplete.allMatches(prefix);
-        Map<CharSequence, Double> elementsAndPriorities = new HashMap<>(matches.size());
-        for (CharSequence match : matches) {
-            elementsAndPriorities.put(match, (double) importance.get(match));
+        MinPQ<CharSequence> topMatches = new BoundedTopKMinPQ<>(maxMatches);
+        for (CharSequence match : autocomplete.allMatches(prefix)) {
+            topMatches.add(match, importance.get(match));
         }
-        return new DoubleMapMinPQ<>(elementsAndPriorities).removeMin(maxMatches);
+        return topMatches.removeMin(maxMatches);
     }
 
     /**
@@ -133,19 +477,80 @@ public class MapGraph implements AStarGraph<Point> {
     }
 
     /**
-     * Returns a list of points representing the shortest path from the points closest to the start and goal.
+     * Returns a list of points representing the shortest path from the points closest to the start and goal, found
+     * with the contraction hierarchy if there is one or with A* search otherwise.
      *
      * @param start the {@link Point} to start the shortest path.
      * @param goal  the {@link Point} to end the shortest path.
      * @return a list of points representing the shortest path from the points closest to the start and goal.
      */
     public List<Point> shortestPath(Point start, Point goal) {
-        return new AStarSolver<>(this, closest(start), closest(goal)).solution();
+        int from = closestVertex(start);
+        int to = closestVertex(goal);
+        List<Integer> path;
+        if (hierarchy != null) {
+            path = queries.get().shortestPath(from, to);
+        } else {
+            path = new AStarSolver<>(graph, from, to, SearchWorkspace.forThread(graph.numVertices())).solution();
+        }
+        List<Point> result = new ArrayList<>();
+        for (int v : path) {
+            result.add(point(v));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the length of the shortest path from the point closest to each origin to the point closest to each
+     * destination, using the contraction hierarchy if there is one.
+     *
+     * @param origins      the origin points.
+     * @param destinations the destination points.
+     * @return the matrix of the length of the shortest path from the {@code i}th origin to the {@code j}th destination
+     * at row <i>i</i> and column <i>j</i>, or infinity if the destination is not reachable.
+     * @see DistanceMatrix
+     */
+    public double[][] distances(List<Point> origins, List<Point> destinations) {
+        int[] from = new int[origins.size()];
+        for (int i = 0; i < from.length; i += 1) {
+            from[i] = closestVertex(origins.get(i));
+        }
+        int[] to = new int[destinations.size()];
+        for (int j = 0; j < to.length; j += 1) {
+            to[j] = closestVertex(destinations.get(j));
+        }
+        return matrix.distances(from, to);
+    }
+
+    /**
+     * Returns the road graph, whose vertices are numbered points and whose edges are streets weighted by distance.
+     *
+     * @return the road graph.
+     */
+    public CsrGraph graph() {
+        return graph;
+    }
+
+    /**
+     * Returns the contraction hierarchy of the road graph, or null if the map graph was not loaded from a snapshot.
+     *
+     * @return the contraction hierarchy of the road graph, or null.
+     */
+    public ContractionHierarchy hierarchy() {
+        return hierarchy;
     }
 
     @Override
     public List<Edge<Point>> neighbors(Point point) {
-        return neighbors.computeIfAbsent(point, (p) -> List.of());
+        Integer from = ids.get(point);
+        if (from == null) {
+            return List.of();
+        }
+        List<Edge<Point>> result = new ArrayList<>(graph.edgeEnd(from) - graph.edgeStart(from));
+        for (int e = graph.edgeStart(from); e < graph.edgeEnd(from); e += 1) {
+            result.add(new Edge<>(point, point(graph.target(e)), graph.weight(e)));
+        }
+        return result;
     }
 
     @Override
@@ -163,25 +568,39 @@ public class MapGraph implements AStarGraph<Point> {
     }
 
     /**
-     * Adds an edge to this graph if it doesn't already exist using distance as the weight.
+     * Returns the point for the given vertex of the road graph.
      *
-     * @param from the originating point of the edge.
-     * @param to the terminating point of the edge.
+     * @param vertex the vertex.
+     * @return the point at the coordinates of the vertex.
+     */
+    private Point point(int vertex) {
+        return context.getShapeFactory().pointLatLon(graph.lat(vertex), graph.lon(vertex));
+    }
+
+    /**
+     * Road graph and contraction hierarchy read from a snapshot.
      */
-    private void addEdge(Point from, Point to) {
-        if (!neighbors.containsKey(from)) {
-            neighbors.put(from, new ArrayList<>());
+    private static class Snapshot {
+        private final CsrGraph graph;
+        private final ContractionHierarchy hierarchy;
+
+        Snapshot(CsrGraph graph, ContractionHierarchy hierarchy) {
+            this.graph = graph;
+            this.hierarchy = hierarchy;
         }
-        neighbors.get(from).add(new Edge<>(from, to, estimatedDistance(from, to)));
     }
 
     /**
-     * Parses OSM XML files to construct a MapGraph.
+     * Parses OSM XML files to construct a MapGraph. Points are numbered in order of first use and street edges are
+     * collected as pairs of numbers until {@link #graph()} sorts them into a {@link CsrGraph}.
      */
     private class Handler extends DefaultHandler {
         private final Set<String> allowedHighwayTypes;
         private final Map<Long, Point> byId;
-        private final Map<String, List<Point>> byName;
+        private final List<Point> points;
+        private int[] edgeFrom;
+        private int[] edgeTo;
+        private int numEdges;
         private String state;
         private long id;
         private String name;
@@ -192,10 +611,77 @@ public class MapGraph implements AStarGraph<Point> {
         Handler(Set<String> allowedHighwayTypes) {
             this.allowedHighwayTypes = allowedHighwayTypes;
             this.byId = new HashMap<>();
-            this.byName = new HashMap<>();
+            this.points = new ArrayList<>();
+            this.edgeFrom = new int[16];
+            this.edgeTo = new int[16];
+            this.numEdges = 0;
             reset();
         }
 
+        /**
+         * Returns the road graph of the parsed edges, with the edges of each point in the order they were added.
+         *
+         * @return the road graph of the parsed edges.
+         */
+        CsrGraph graph() {
+            int numVertices = points.size();
+            double[] lat = new double[numVertices];
+            double[] lon = new double[numVertices];
+            for (int v = 0; v < numVertices; v += 1) {
+                lat[v] = points.get(v).getLat();
+                lon[v] = points.get(v).getLon();
+            }
+            int[] offsets = new int[numVertices + 1];
+            for (int i = 0; i < numEdges; i += 1) {
+                offsets[edgeFrom[i] + 1] += 1;
+            }
+            for (int v = 0; v < numVertices; v += 1) {
+                offsets[v + 1] += offsets[v];
+            }
+            int[] next = Arrays.copyOf(offsets, numVertices);
+            int[] targets = new int[numEdges];
+            float[] weights = new float[numEdges];
+            for (int i = 0; i < numEdges; i += 1) {
+                int e = next[edgeFrom[i]];
+                next[edgeFrom[i]] += 1;
+                targets[e] = edgeTo[i];
+                weights[e] = (float) estimatedDistance(points.get(edgeFrom[i]), points.get(edgeTo[i]));
+            }
+            return new CsrGraph(lat, lon, offsets, targets, weights);
+        }
+
+        /**
+         * Adds an edge between the given points, even if one already exists, using distance as the weight.
+         *
+         * @param from the originating point of the edge.
+         * @param to   the terminating point of the edge.
+         */
+        private void addEdge(Point from, Point to) {
+            if (numEdges == edgeFrom.length) {
+                edgeFrom = Arrays.copyOf(edgeFrom, 2 * numEdges);
+                edgeTo = Arrays.copyOf(edgeTo, 2 * numEdges);
+            }
+            edgeFrom[numEdges] = number(from);
+            edgeTo[numEdges] = number(to);
+            numEdges += 1;
+        }
+
+        /**
+         * Returns the number of the given point, assigning the next number if it has not already been numbered.
+         *
+         * @param point the point to number.
+         * @return the number of the point.
+         */
+        private int number(Point point) {
+            Integer id = ids.get(point);
+            if (id == null) {
+                id = points.size();
+                ids.put(point, id);
+                points.add(point);
+            }
+            return id;
+        }
+
         /**
          * Reset the handler state before processing a new way or node.
          */
@@ -274,8 +760,9 @@ public class MapGraph implements AStarGraph<Point> {
             } else if (qName.equals("node")) {
                 byId.put(id, location);
                 if (!name.isBlank()) {
-                    byName.putIfAbsent(name, new ArrayList<>());
-                    byName.get(name).add(location);
+                    number(location);
+                    locations.putIfAbsent(name, new ArrayList<>());
+                    locations.get(name).add(location);
                 }
                 reset();
             }
@@ -9,6 +9,7 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.List;
 
 /**
@@ -31,6 +32,11 @@ public class MapServer {
      * The place-importance TSV data file path from OpenStreetMap.
      */
     private static final String PLACES_PATH = "places.tsv";
+    /**
+     * Default path to the binary snapshot of the map graph, which is built offline by {@link MapGraph#main(String[])}
+     * with {@code ./gradlew snapshot} and only loaded here.
+     */
+    private static final String SNAPSHOT_PATH = "build/huskymaps.snapshot";
     /**
      * Maximum number of autocomplete search results.
      */
@@ -39,7 +45,7 @@ public class MapServer {
     public static void main(String[] args) throws Exception {
         SpatialContext context = SpatialContext.GEO;
         ShapeFactory factory = context.getShapeFactory();
-        MapGraph map = new MapGraph(OSM_DB_PATH, PLACES_PATH, context);
+        MapGraph map = new MapGraph(OSM_DB_PATH, PLACES_PATH, context, snapshot());
         Javalin app = Javalin.create(config -> {
             config.spaRoot.addFile("/", "index.html");
         }).start(port());
@@ -86,6 +92,19 @@ public class MapServer {
         return PORT;
     }
 
+    /**
+     * Returns the path to the binary snapshot of the map graph.
+     *
+     * @return the path to the binary snapshot of the map graph.
+     */
+    private static Path snapshot() {
+        String snapshot = System.getenv("SNAPSHOT");
+        if (snapshot != null) {
+            return Path.of(snapshot);
+        }
+        return Path.of(SNAPSHOT_PATH);
+    }
+
     /**
      * Return the API URL for retrieving the map image.
      *
@@ -1,7 +1,9 @@
 package autocomplete;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Suggest exact-character prefix matches for any query {@link CharSequence}.
@@ -19,6 +21,16 @@ public interface Autocomplete {
      */
     void addAll(Collection<? extends CharSequence> terms);
 
+    /**
+     * Adds the given autocompletion terms along with their weights for {@link #topMatches(CharSequence, int)}. If a
+     * term is already present, its weight is replaced. Implementations that do not support weights only add the terms.
+     *
+     * @param termsAndWeights each term and its corresponding weight.
+     */
+    default void addAll(Map<? extends CharSequence, Double> termsAndWeights) {
+        addAll(termsAndWeights.keySet());
+    }
+
     /**
      * Returns all autocompletion terms that match the given prefix.
      *
@@ -26,6 +38,46 @@ public interface Autocomplete {
      */
     List<CharSequence> allMatches(CharSequence prefix);
 
+    /**
+     * Returns up to the given number of autocompletion terms that match the given prefix, in the same order as
+     * {@link #allMatches(CharSequence)}. Indexes over suffixes override this to create only the returned terms rather
+     * than every match.
+     *
+     * @param prefix search query.
+     * @param limit  the maximum number of terms to return.
+     * @return up to limit matching terms.
+     */
+    default List<CharSequence> allMatches(CharSequence prefix, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        List<CharSequence> matches = allMatches(prefix);
+        return matches.size() <= limit ? matches : new ArrayList<>(matches.subList(0, limit));
+    }
+
+    /**
+     * Returns the number of autocompletion terms that match the given prefix.
+     *
+     * @param prefix search query.
+     * @return the number of matching terms.
+     */
+    default int countMatches(CharSequence prefix) {
+        return allMatches(prefix).size();
+    }
+
+    /**
+     * Returns up to the given number of autocompletion terms that match the given prefix in descending order of weight
+     * (optional operation). Terms added without a weight have weight 0.
+     *
+     * @param prefix search query.
+     * @param k      the maximum number of terms to return.
+     * @return up to k matching terms in descending order of weight.
+     * @throws UnsupportedOperationException if this implementation does not support weights.
+     */
+    default List<CharSequence> topMatches(CharSequence prefix, int k) {
+        throw new UnsupportedOperationException("Weights are not supported by " + getClass().getSimpleName());
+    }
+
     /**
      * Returns true if and only if the given term matches the given prefix.
      *
@@ -0,0 +1,400 @@
+package autocomplete;
+
+import minpq.DaryHeapMinPQ;
+import minpq.MinPQ;
+
+import java.util.*;
+
+/**
+ * Compact ternary search tree (TST) implementation of the {@link Autocomplete} interface. Rather than allocating one
+ * node object per character, the tree is stored in parallel primitive arrays indexed by node number, and every
+ * operation walks the tree iteratively so that long terms cannot overflow the call stack. Each node costs 14 bytes
+ * plus one bit, compared to over 40 bytes for a {@link TernarySearchTreeAutocomplete} node.
+ * <p>
+ * Weights for {@link #topMatches(CharSequence, int)} are only allocated once weighted terms are added. Since every
+ * subtree of a TST contains at least one term, a tree without weights has a maximum subtree weight of 0 everywhere.
+ *
+ * @see Autocomplete
+ * @see TernarySearchTreeAutocomplete
+ */
+public class CompactTernarySearchTreeAutocomplete implements Autocomplete {
+    /**
+     * Node number representing the absence of a node. Index 0 of every array is unused.
+     */
+    private static final int NIL = 0;
+    /**
+     * Initial length of the node arrays.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+    /**
+     * Character stored at each node.
+     */
+    private char[] data;
+    /**
+     * Node number of the left child of each node, or {@link #NIL}.
+     */
+    private int[] left;
+    /**
+     * Node number of the middle child of each node, or {@link #NIL}.
+     */
+    private int[] mid;
+    /**
+     * Node number of the right child of each node, or {@link #NIL}.
+     */
+    private int[] right;
+    /**
+     * Set of node numbers that end an autocompletion term.
+     */
+    private final BitSet terms;
+    /**
+     * Weight of the term ending at each node, or null if no weighted terms have been added.
+     */
+    private double[] weights;
+    /**
+     * Maximum weight of any term in the subtree rooted at each node, or null if no weighted terms have been added.
+     */
+    private double[] maxWeights;
+    /**
+     * Number of nodes in the tree, plus one for the unused index 0.
+     */
+    private int size;
+    /**
+     * Reusable stack of node numbers along the path of the most recently added term.
+     */
+    private int[] path;
+
+    /**
+     * Constructs an empty instance.
+     */
+    public CompactTernarySearchTreeAutocomplete() {
+        data = new char[DEFAULT_CAPACITY];
+        left = new int[DEFAULT_CAPACITY];
+        mid = new int[DEFAULT_CAPACITY];
+        right = new int[DEFAULT_CAPACITY];
+        terms = new BitSet(DEFAULT_CAPACITY);
+        weights = null;
+        maxWeights = null;
+        size = 1;
+        path = new int[DEFAULT_CAPACITY];
+    }
+
+    @Override
+    public void addAll(Collection<? extends CharSequence> terms) {
+        for (CharSequence term : terms) {
+            put(term, 0.0, false);
+        }
+    }
+
+    @Override
+    public void addAll(Map<? extends CharSequence, Double> termsAndWeights) {
+        if (weights == null) {
+            weights = new double[data.length];
+            maxWeights = new double[data.length];
+        }
+        for (Map.Entry<? extends CharSequence, Double> entry : termsAndWeights.entrySet()) {
+            put(entry.getKey(), entry.getValue(), true);
+        }
+    }
+
+    @Override
+    public List<CharSequence> allMatches(CharSequence prefix) {
+        if (prefix == null) {
+            throw new IllegalArgumentException("calls allMatches() with null argument");
+        }
+        List<CharSequence> result = new ArrayList<>();
+        int start;
+        if (prefix.length() == 0) {
+            start = root();
+        } else {
+            int x = get(prefix);
+            if (x == NIL) {
+                return result;
+            }
+            if (terms.get(x)) {
+                result.add(prefix.toString());
+            }
+            start = mid[x];
+        }
+        collect(start, new StringBuilder(prefix), result);
+        return result;
+    }
+
+    @Override
+    public List<CharSequence> topMatches(CharSequence prefix, int k) {
+        if (prefix == null) {
+            throw new IllegalArgumentException("calls topMatches() with null argument");
+        }
+        List<CharSequence> result = new ArrayList<>(Math.max(k, 0));
+        if (k <= 0) {
+            return result;
+        }
+        // Best-first search: candidates are ordered by the largest weight they could lead to, so each complete term
+        // is removed only after every remaining candidate is known to lead to terms of smaller or equal weight.
+        MinPQ<Candidate> candidates = new DaryHeapMinPQ<>();
+        if (prefix.length() == 0) {
+            push(candidates, root(), "");
+        } else {
+            int x = get(prefix);
+            if (x == NIL) {
+                return result;
+            }
+            if (terms.get(x)) {
+                candidates.add(new Candidate(NIL, prefix.toString()), -weight(x));
+            }
+            push(candidates, mid[x], prefix.toString());
+        }
+        while (!candidates.isEmpty() && result.size() < k) {
+            Candidate candidate = candidates.removeMin();
+            int curr = candidate.node;
+            if (curr == NIL) {
+                result.add(candidate.path);
+                continue;
+            }
+            String path = candidate.path + data[curr];
+            if (terms.get(curr)) {
+                candidates.add(new Candidate(NIL, path), -weight(curr));
+            }
+            push(candidates, left[curr], candidate.path);
+            push(candidates, mid[curr], path);
+            push(candidates, right[curr], candidate.path);
+        }
+        return result;
+    }
+
+    /**
+     * Adds the subtree rooted at the given node to the candidates, unless the node is {@link #NIL}.
+     *
+     * @param candidates the candidates for the best-first search.
+     * @param node       the root of the subtree.
+     * @param path       the characters preceding the subtree.
+     */
+    private void push(MinPQ<Candidate> candidates, int node, String path) {
+        if (node != NIL) {
+            candidates.add(new Candidate(node, path), -maxWeight(node));
+        }
+    }
+
+    /**
+     * Adds the term to the tree without recursion, creating nodes as needed.
+     *
+     * @param term     the term to add.
+     * @param weight   the weight of the term.
+     * @param weighted true if the weight should replace the weight of a term that is already present.
+     */
+    private void put(CharSequence term, double weight, boolean weighted) {
+        int length = term.length();
+        if (length == 0) {
+            throw new IllegalArgumentException("Empty term");
+        }
+        int depth = 0;
+        int index = 0;
+        int curr = root();
+        if (curr == NIL) {
+            curr = newNode(term.charAt(0));
+        }
+        while (true) {
+            if (depth == path.length) {
+                path = Arrays.copyOf(path, 2 * depth);
+            }
+            path[depth] = curr;
+            depth += 1;
+            char c = term.charAt(index);
+            if (c < data[curr]) {
+                if (left[curr] == NIL) {
+                    int child = newNode(c);
+                    left[curr] = child;
+                }
+                curr = left[curr];
+            } else if (c > data[curr]) {
+                if (right[curr] == NIL) {
+                    int child = newNode(c);
+                    right[curr] = child;
+                }
+                curr = right[curr];
+            } else if (index < length - 1) {
+                index += 1;
+                if (mid[curr] == NIL) {
+                    int child = newNode(term.charAt(index));
+                    mid[curr] = child;
+                }
+                curr = mid[curr];
+            } else {
+                break;
+            }
+        }
+        boolean isNew = !terms.get(curr);
+        terms.set(curr);
+        if (weights != null && (weighted || isNew)) {
+            weights[curr] = weight;
+            // Recompute the subtree maxima bottom-up along the path since the weight may have decreased.
+            for (int i = depth - 1; i >= 0; i -= 1) {
+                int node = path[i];
+                double max = terms.get(node) ? weights[node] : Double.NEGATIVE_INFINITY;
+                max = Math.max(max, maxWeight(left[node]));
+                max = Math.max(max, maxWeight(mid[node]));
+                max = Math.max(max, maxWeight(right[node]));
+                maxWeights[node] = max;
+            }
+        }
+    }
+
+    /**
+     * Returns the node for the last character of the given non-empty prefix, or {@link #NIL} if there is none.
+     *
+     * @param prefix the non-empty prefix.
+     * @return the node for the last character of the given prefix, or {@link #NIL} if there is none.
+     */
+    private int get(CharSequence prefix) {
+        int curr = root();
+        int index = 0;
+        while (curr != NIL) {
+            char c = prefix.charAt(index);
+            if (c < data[curr]) {
+                curr = left[curr];
+            } else if (c > data[curr]) {
+                curr = right[curr];
+            } else if (index < prefix.length() - 1) {
+                curr = mid[curr];
+                index += 1;
+            } else {
+                return curr;
+            }
+        }
+        return NIL;
+    }
+
+    /**
+     * Adds every term in the subtree rooted at the given node to the result in sorted order without recursion.
+     *
+     * @param start  the root of the subtree.
+     * @param prefix the characters preceding the subtree.
+     * @param result the list of matching terms.
+     */
+    private void collect(int start, StringBuilder prefix, List<CharSequence> result) {
+        int offset = prefix.length();
+        // Each frame is a node and the depth of its character. Bitwise-complemented nodes are visited in-order after
+        // their left subtree, which writes their character into the prefix before their middle subtree is visited.
+        int[] nodes = new int[DEFAULT_CAPACITY];
+        int[] depths = new int[DEFAULT_CAPACITY];
+        int top = 0;
+        if (start != NIL) {
+            nodes[0] = start;
+            depths[0] = offset;
+            top = 1;
+        }
+        while (top > 0) {
+            top -= 1;
+            int node = nodes[top];
+            int depth = depths[top];
+            if (node < 0) {
+                node = ~node;
+                prefix.setLength(depth);
+                prefix.append(data[node]);
+                if (terms.get(node)) {
+                    result.add(prefix.toString());
+                }
+                continue;
+            }
+            if (top + 4 > nodes.length) {
+                nodes = Arrays.copyOf(nodes, 2 * nodes.length);
+                depths = Arrays.copyOf(depths, 2 * depths.length);
+            }
+            if (right[node] != NIL) {
+                nodes[top] = right[node];
+                depths[top] = depth;
+                top += 1;
+            }
+            if (mid[node] != NIL) {
+                nodes[top] = mid[node];
+                depths[top] = depth + 1;
+                top += 1;
+            }
+            nodes[top] = ~node;
+            depths[top] = depth;
+            top += 1;
+            if (left[node] != NIL) {
+                nodes[top] = left[node];
+                depths[top] = depth;
+                top += 1;
+            }
+        }
+        prefix.setLength(offset);
+    }
+
+    /**
+     * Returns the root node, or {@link #NIL} if the tree is empty.
+     *
+     * @return the root node, or {@link #NIL} if the tree is empty.
+     */
+    private int root() {
+        return size > 1 ? 1 : NIL;
+    }
+
+    /**
+     * Returns the weight of the term ending at the given node.
+     *
+     * @param node the node ending a term.
+     * @return the weight of the term ending at the given node.
+     */
+    private double weight(int node) {
+        return weights == null ? 0.0 : weights[node];
+    }
+
+    /**
+     * Returns the maximum weight of any term in the subtree rooted at the given node.
+     *
+     * @param node the root of the subtree, or {@link #NIL}.
+     * @return the maximum weight in the subtree, or negative infinity if the node is {@link #NIL}.
+     */
+    private double maxWeight(int node) {
+        if (node == NIL) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        return maxWeights == null ? 0.0 : maxWeights[node];
+    }
+
+    /**
+     * Returns the number of a new node storing the given character, growing the arrays if necessary. Since the arrays
+     * may be replaced, callers must not evaluate an array reference before calling this method.
+     *
+     * @param c the character to store.
+     * @return the number of the new node.
+     */
+    private int newNode(char c) {
+        if (size == data.length) {
+            int length = 2 * size;
+            data = Arrays.copyOf(data, length);
+            left = Arrays.copyOf(left, length);
+            mid = Arrays.copyOf(mid, length);
+            right = Arrays.copyOf(right, length);
+            if (weights != null) {
+                weights = Arrays.copyOf(weights, length);
+                maxWeights = Arrays.copyOf(maxWeights, length);
+            }
+        }
+        int node = size;
+        size += 1;
+        data[node] = c;
+        return node;
+    }
+
+    /**
+     * A candidate in the best-first search for {@link #topMatches(CharSequence, int)}: either a subtree rooted at a
+     * node, or a complete term if the node is {@link #NIL}.
+     */
+    private static class Candidate {
+        private final int node;
+        private final String path;
+
+        /**
+         * Constructs a candidate for the given subtree and the characters on the path leading to it.
+         *
+         * @param node the root of the subtree, or {@link #NIL} if the path is a complete term.
+         * @param path the characters preceding the subtree, or the complete term.
+         */
+        Candidate(int node, String path) {
+            this.node = node;
+            this.path = path;
+        }
+    }
+}
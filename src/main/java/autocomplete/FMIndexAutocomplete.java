@@ -0,0 +1,385 @@
+package autocomplete;
+
+import java.util.*;
+
+/**
+ * FM-index implementation of the {@link Autocomplete} interface over every suffix of a single text with at most 4
+ * distinct characters, such as a genome. The index stores the Burrows-Wheeler transform (BWT) of the text packed into
+ * 2 bits per character, along with occurrence counts sampled every {@value #BLOCK} characters and suffix array
+ * positions sampled every {@value #SAMPLE_RATE} characters of the text. The text itself is not kept: in total the
+ * index takes under 1 byte per character.
+ * <p>
+ * {@link #countMatches(CharSequence)} runs a backward search in O(<i>m</i>) time for a prefix of length <i>m</i>,
+ * independent of the length of the text. {@link #allMatches(CharSequence)} additionally locates each match in
+ * O({@value #SAMPLE_RATE}) time, and returns suffixes that decode their characters from the index on demand; use
+ * {@link #allMatches(CharSequence, int)} to locate only the first few of many matches.
+ * <p>
+ * Building the index needs the suffix array of the text, computed by SA-IS over an int array of the text's codes. The
+ * codes, the suffix array and the SA-IS working arrays (types, LMS positions and names, and the recursion over the LMS
+ * suffixes) peak at about 20 bytes per character on top of the text: building the index of a random 50-million-base
+ * sequence needs a heap of about 1 GB. Text positions are ints, so a text may have at most {@value #MAX_LENGTH}
+ * characters; a longer reference such as a whole human genome must be split, for example by chromosome. The terms of
+ * this autocomplete are fixed by the text, so {@link #addAll(Collection)} is not supported.
+ *
+ * @see Autocomplete
+ * @see SuffixArrayAutocomplete
+ */
+public class FMIndexAutocomplete implements Autocomplete {
+    /**
+     * Number of distinct characters supported in the text.
+     */
+    private static final int SIGMA = 4;
+    /**
+     * Number of BWT characters between occurrence count samples.
+     */
+    private static final int BLOCK = 64;
+    /**
+     * Distance between text positions whose suffix array entries are sampled.
+     */
+    private static final int SAMPLE_RATE = 32;
+    /**
+     * Bit pattern selecting the low bit of every 2-bit code in a word.
+     */
+    private static final long LOW_BITS = 0x5555555555555555L;
+    /**
+     * Maximum length of the text, leaving room for the sentinel and for the SA-IS arrays of length <i>n</i> + 2 below
+     * the largest array size that the JVM supports.
+     */
+    static final int MAX_LENGTH = Integer.MAX_VALUE - 16;
+    /**
+     * Distinct characters of the text in sorted order, indexed by code.
+     */
+    private final char[] alphabet;
+    /**
+     * Length of the text, not including the implicit end-of-text sentinel.
+     */
+    private final int n;
+    /**
+     * BWT of the text followed by the sentinel, 32 codes per word. The sentinel's slot holds code 0.
+     */
+    private final long[] bwt;
+    /**
+     * Row of the BWT holding the sentinel.
+     */
+    private final int sentinelRow;
+    /**
+     * For each code, the number of rows whose suffixes start with a smaller character, including the sentinel row.
+     */
+    private final int[] first;
+    /**
+     * Occurrences of each code in the BWT before every multiple of {@link #BLOCK}, stored {@link #SIGMA} per block.
+     */
+    private final int[] occurrences;
+    /**
+     * Bit vector marking the rows whose text positions are sampled.
+     */
+    private final long[] sampled;
+    /**
+     * Number of marked rows before each word of {@code sampled}.
+     */
+    private final int[] sampledRank;
+    /**
+     * Text position of each marked row, in row order.
+     */
+    private final int[] positions;
+    /**
+     * Row of the suffix starting at each multiple of {@link #SAMPLE_RATE} in the text.
+     */
+    private final int[] rows;
+
+    /**
+     * Constructs an instance over all non-empty suffixes of the given text.
+     *
+     * @param text the text whose suffixes are the autocompletion terms.
+     * @throws IllegalArgumentException if the text contains more than 4 distinct characters or is longer than
+     *                                  {@value #MAX_LENGTH} characters.
+     */
+    public FMIndexAutocomplete(CharSequence text) {
+        n = text.length();
+        if (n > MAX_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Text of " + n + " characters is longer than " + MAX_LENGTH + "; split it into shorter texts"
+            );
+        }
+        SortedSet<Character> distinct = new TreeSet<>();
+        for (int i = 0; i < n; i += 1) {
+            if (distinct.add(text.charAt(i)) && distinct.size() > SIGMA) {
+                throw new IllegalArgumentException("More than " + SIGMA + " distinct characters: " + distinct);
+            }
+        }
+        alphabet = new char[distinct.size()];
+        int k = 0;
+        for (char c : distinct) {
+            alphabet[k] = c;
+            k += 1;
+        }
+
+        // Build the suffix array over the codes shifted up by one, with 0 as the sentinel.
+        int[] s = new int[n + 1];
+        for (int i = 0; i < n; i += 1) {
+            s[i] = code(text.charAt(i)) + 1;
+        }
+        int[] sa = SuffixArrayAutocomplete.sais(s, SIGMA);
+
+        bwt = new long[(n + 1 + 31) / 32];
+        first = new int[SIGMA];
+        occurrences = new int[SIGMA * ((n + 1) / BLOCK + 1)];
+        sampled = new long[(n + 1 + 63) / 64];
+        sampledRank = new int[sampled.length];
+        positions = new int[n / SAMPLE_RATE + 1];
+        rows = new int[n / SAMPLE_RATE + 1];
+        int[] counts = new int[SIGMA];
+        int sentinel = -1;
+        int marked = 0;
+        for (int row = 0; row <= n; row += 1) {
+            if (row % BLOCK == 0) {
+                System.arraycopy(counts, 0, occurrences, SIGMA * (row / BLOCK), SIGMA);
+            }
+            int position = sa[row];
+            if (position == 0) {
+                sentinel = row;
+            } else {
+                int c = s[position - 1] - 1;
+                bwt[row >>> 5] |= (long) c << ((row & 31) << 1);
+                counts[c] += 1;
+            }
+            if (position % SAMPLE_RATE == 0 && position < n) {
+                sampled[row >>> 6] |= 1L << row;
+                positions[marked] = position;
+                rows[position / SAMPLE_RATE] = row;
+                marked += 1;
+            }
+        }
+        if ((n + 1) % BLOCK == 0) {
+            // The loop only samples rows up to n, so occ(c, n + 1) needs the final block written separately.
+            System.arraycopy(counts, 0, occurrences, SIGMA * ((n + 1) / BLOCK), SIGMA);
+        }
+        sentinelRow = sentinel;
+        int total = 1;
+        for (int c = 0; c < SIGMA; c += 1) {
+            first[c] = total;
+            total += counts[c];
+        }
+        int rank = 0;
+        for (int i = 0; i < sampled.length; i += 1) {
+            sampledRank[i] = rank;
+            rank += Long.bitCount(sampled[i]);
+        }
+    }
+
+    /**
+     * Not supported, since the terms are fixed by the text.
+     *
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public void addAll(Collection<? extends CharSequence> terms) {
+        throw new UnsupportedOperationException("Suffixes are fixed by the text");
+    }
+
+    @Override
+    public List<CharSequence> allMatches(CharSequence prefix) {
+        return allMatches(prefix, Integer.MAX_VALUE);
+    }
+
+    /**
+     * {@inheritDoc} Only the returned matches are located, so a short prefix with many matches in a long text costs
+     * O({@value #SAMPLE_RATE}) time per returned match rather than per match.
+     */
+    @Override
+    public List<CharSequence> allMatches(CharSequence prefix, int limit) {
+        List<CharSequence> result = new ArrayList<>();
+        long range = search(prefix);
+        int lo = (int) (range >>> 32);
+        int hi = (int) range;
+        for (int row = lo; row < hi && row - lo < limit; row += 1) {
+            result.add(new Suffix(locate(row), n));
+        }
+        return result;
+    }
+
+    @Override
+    public int countMatches(CharSequence prefix) {
+        long range = search(prefix);
+        return (int) range - (int) (range >>> 32);
+    }
+
+    /**
+     * Returns the range of rows whose suffixes start with the given prefix using backward search, packed as the
+     * inclusive start in the high 32 bits and the exclusive end in the low 32 bits.
+     *
+     * @param prefix the prefix.
+     * @return the packed range of rows whose suffixes start with the prefix, which is empty if there are none.
+     */
+    private long search(CharSequence prefix) {
+        if (prefix == null || prefix.length() == 0) {
+            return 0;
+        }
+        int lo = 0;
+        int hi = n + 1;
+        for (int i = prefix.length() - 1; i >= 0 && lo < hi; i -= 1) {
+            int c = code(prefix.charAt(i));
+            if (c < 0) {
+                return 0;
+            }
+            lo = first[c] + occ(c, lo);
+            hi = first[c] + occ(c, hi);
+        }
+        if (lo >= hi) {
+            return 0;
+        }
+        return (long) lo << 32 | hi;
+    }
+
+    /**
+     * Returns the text position of the suffix in the given row by stepping backward through the text until reaching
+     * a sampled position.
+     *
+     * @param row the row of the suffix.
+     * @return the text position of the suffix.
+     */
+    private int locate(int row) {
+        int steps = 0;
+        while ((sampled[row >>> 6] & 1L << row) == 0) {
+            row = lf(row);
+            steps += 1;
+        }
+        int index = sampledRank[row >>> 6] + Long.bitCount(sampled[row >>> 6] & ((1L << row) - 1));
+        return positions[index] + steps;
+    }
+
+    /**
+     * Returns the characters of the text between the given begin and end positions by stepping backward from the
+     * next sampled position.
+     *
+     * @param begin index into the text representing the start (inclusive).
+     * @param end   index into the text representing the end (exclusive).
+     * @return the characters of the text between the given positions.
+     */
+    private String extract(int begin, int end) {
+        int position = Math.min((end + SAMPLE_RATE - 1) / SAMPLE_RATE * SAMPLE_RATE, n);
+        // The suffix starting at position n is the empty suffix in row 0.
+        int row = position == n ? 0 : rows[position / SAMPLE_RATE];
+        char[] result = new char[end - begin];
+        while (position > begin) {
+            int c = bwtAt(row);
+            position -= 1;
+            if (position < end) {
+                result[position - begin] = alphabet[c];
+            }
+            row = first[c] + occ(c, row);
+        }
+        return new String(result);
+    }
+
+    /**
+     * Returns the row of the suffix starting one position earlier in the text than the suffix in the given row, which
+     * must not be the sentinel row.
+     *
+     * @param row the row of a suffix.
+     * @return the row of the suffix starting one position earlier.
+     */
+    private int lf(int row) {
+        int c = bwtAt(row);
+        return first[c] + occ(c, row);
+    }
+
+    /**
+     * Returns the code in the BWT at the given row.
+     *
+     * @param row the row.
+     * @return the code in the BWT at the given row.
+     */
+    private int bwtAt(int row) {
+        return (int) (bwt[row >>> 5] >>> ((row & 31) << 1)) & 3;
+    }
+
+    /**
+     * Returns the number of occurrences of the given code in the BWT rows before the given row, not counting the
+     * sentinel.
+     *
+     * @param c   the code.
+     * @param row the exclusive end row.
+     * @return the number of occurrences of the code before the row.
+     */
+    private int occ(int c, int row) {
+        int block = row / BLOCK;
+        int count = occurrences[SIGMA * block + c];
+        // Each word with the code's bits flipped has 00 in every slot holding the code.
+        long pattern = c * LOW_BITS;
+        for (int i = block * BLOCK; i < row; i += 32) {
+            long word = bwt[i >>> 5] ^ pattern;
+            long matches = ~(word | word >>> 1) & LOW_BITS;
+            int remaining = row - i;
+            if (remaining < 32) {
+                matches &= (1L << (remaining << 1)) - 1;
+            }
+            count += Long.bitCount(matches);
+        }
+        // The sentinel's slot holds code 0, but it is only excluded from the sampled counts.
+        if (c == 0 && block * BLOCK <= sentinelRow && sentinelRow < row) {
+            count -= 1;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the code for the given character, or -1 if it is not in the text.
+     *
+     * @param c the character.
+     * @return the code for the given character, or -1 if it is not in the text.
+     */
+    private int code(char c) {
+        for (int i = 0; i < alphabet.length; i += 1) {
+            if (alphabet[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * A view of the text between the given begin and end indices that decodes its characters from the index.
+     */
+    private class Suffix implements CharSequence {
+        private final int begin;
+        private final int end;
+
+        /**
+         * Constructs a new view of the text between the given begin and end indices.
+         *
+         * @param begin index into the text representing the start (inclusive).
+         * @param end   index into the text representing the end (exclusive).
+         */
+        Suffix(int begin, int end) {
+            this.begin = begin;
+            this.end = end;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length()) {
+                throw new IndexOutOfBoundsException("index " + index + ", length " + length());
+            }
+            return extract(begin + index, begin + index + 1).charAt(0);
+        }
+
+        @Override
+        public int length() {
+            return end - begin;
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int stop) {
+            if (start < 0 || start > stop || stop > length()) {
+                throw new IndexOutOfBoundsException("begin " + start + ", end " + stop + ", length " + length());
+            }
+            return extract(begin + start, begin + stop);
+        }
+
+        @Override
+        public String toString() {
+            return extract(begin, end);
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package autocomplete;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Suffix array implementation of the {@link Autocomplete} interface over every suffix of a single text, such as a
+ * genome. The text is stored as one byte per character and the suffix array is built in linear time with the SA-IS
+ * algorithm (Nong, Zhang and Chan), so the index takes about 5 bytes per character instead of one object per suffix.
+ * All suffixes that match a prefix of length <i>m</i> form a contiguous range of the suffix array, which two binary
+ * searches find in O(<i>m</i> log <i>n</i>) time.
+ * <p>
+ * The terms of this autocomplete are fixed by the text, so {@link #addAll(Collection)} is not supported.
+ *
+ * @see Autocomplete
+ */
+public class SuffixArrayAutocomplete implements Autocomplete {
+    /**
+     * Largest character value that can be stored in one byte.
+     */
+    private static final int MAX_CHAR = 255;
+    /**
+     * Characters of the text, one byte each.
+     */
+    private final byte[] text;
+    /**
+     * Starting index of each suffix of the text in lexicographic order.
+     */
+    private final int[] suffixes;
+
+    /**
+     * Constructs an instance over all non-empty suffixes of the given text.
+     *
+     * @param text the text whose suffixes are the autocompletion terms.
+     * @throws IllegalArgumentException if the text contains a character that does not fit in one byte.
+     */
+    public SuffixArrayAutocomplete(CharSequence text) {
+        int n = text.length();
+        this.text = new byte[n];
+        int[] s = new int[n];
+        for (int i = 0; i < n; i += 1) {
+            char c = text.charAt(i);
+            if (c > MAX_CHAR) {
+                throw new IllegalArgumentException("Character at index " + i + " does not fit in one byte: " + c);
+            }
+            this.text[i] = (byte) c;
+            s[i] = c;
+        }
+        suffixes = sais(s, MAX_CHAR);
+    }
+
+    /**
+     * Not supported, since the terms are fixed by the text.
+     *
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public void addAll(Collection<? extends CharSequence> terms) {
+        throw new UnsupportedOperationException("Suffixes are fixed by the text");
+    }
+
+    @Override
+    public List<CharSequence> allMatches(CharSequence prefix) {
+        return allMatches(prefix, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<CharSequence> allMatches(CharSequence prefix, int limit) {
+        List<CharSequence> result = new ArrayList<>();
+        if (prefix == null || prefix.length() == 0) {
+            return result;
+        }
+        int lo = rank(prefix, false);
+        int hi = rank(prefix, true);
+        for (int i = lo; i < hi && i - lo < limit; i += 1) {
+            result.add(new Suffix(suffixes[i], text.length));
+        }
+        return result;
+    }
+
+    @Override
+    public int countMatches(CharSequence prefix) {
+        if (prefix == null || prefix.length() == 0) {
+            return 0;
+        }
+        return rank(prefix, true) - rank(prefix, false);
+    }
+
+    /**
+     * Returns the longest common prefix (LCP) array, computed in linear time with Kasai's algorithm. The value at
+     * index <i>i</i> is the length of the longest common prefix of the <i>i</i>th and (<i>i</i> + 1)th suffixes in
+     * sorted order. The array is not retained, so the index stays at about 5 bytes per character.
+     *
+     * @return the longest common prefix array of length <i>n</i> - 1, or an empty array if the text is empty.
+     */
+    public int[] lcpArray() {
+        int n = text.length;
+        if (n == 0) {
+            return new int[0];
+        }
+        int[] rank = new int[n];
+        for (int i = 0; i < n; i += 1) {
+            rank[suffixes[i]] = i;
+        }
+        int[] lcp = new int[n - 1];
+        int h = 0;
+        for (int i = 0; i < n; i += 1) {
+            if (h > 0) {
+                h -= 1;
+            }
+            if (rank[i] == 0) {
+                continue;
+            }
+            int j = suffixes[rank[i] - 1];
+            while (j + h < n && i + h < n && text[j + h] == text[i + h]) {
+                h += 1;
+            }
+            lcp[rank[i] - 1] = h;
+        }
+        return lcp;
+    }
+
+    /**
+     * Returns the number of suffixes that are less than the given prefix, or that are less than or start with the
+     * given prefix if inclusive. Characters already known to match both ends of the search range are skipped.
+     *
+     * @param prefix    the non-empty prefix.
+     * @param inclusive true to also count the suffixes that start with the prefix.
+     * @return the index of the first suffix after the counted suffixes.
+     */
+    private int rank(CharSequence prefix, boolean inclusive) {
+        int lo = 0;
+        int hi = suffixes.length;
+        // Number of characters of the prefix matched by the suffixes just outside each end of the range.
+        int matchedLo = 0;
+        int matchedHi = 0;
+        while (lo < hi) {
+            int middle = (lo + hi) >>> 1;
+            int matched = Math.min(matchedLo, matchedHi);
+            int start = suffixes[middle];
+            while (matched < prefix.length() && start + matched < text.length
+                    && (text[start + matched] & 0xFF) == prefix.charAt(matched)) {
+                matched += 1;
+            }
+            boolean before;
+            if (matched == prefix.length()) {
+                before = inclusive;
+            } else if (start + matched == text.length) {
+                before = true;
+            } else {
+                before = (text[start + matched] & 0xFF) < prefix.charAt(matched);
+            }
+            if (before) {
+                lo = middle + 1;
+                matchedLo = matched;
+            } else {
+                hi = middle;
+                matchedHi = matched;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Returns the suffix array of the given string using the SA-IS algorithm, which classifies each suffix as S-type or
+     * L-type, sorts the leftmost S-type (LMS) substrings by induced sorting, recursively sorts the LMS suffixes if any
+     * LMS substrings are equal, and then induces the order of all other suffixes from the sorted LMS suffixes.
+     *
+     * @param s     the string, with every value between 0 and upper inclusive.
+     * @param upper the largest possible value in the string.
+     * @return the suffix array of the string.
+     */
+    static int[] sais(int[] s, int upper) {
+        int n = s.length;
+        if (n == 0) {
+            return new int[0];
+        } else if (n == 1) {
+            return new int[]{0};
+        } else if (n == 2) {
+            return s[0] < s[1] ? new int[]{0, 1} : new int[]{1, 0};
+        }
+        int[] sa = new int[n];
+        // A suffix is S-type if it is smaller than the next suffix; the last suffix is L-type.
+        boolean[] sType = new boolean[n];
+        for (int i = n - 2; i >= 0; i -= 1) {
+            sType[i] = s[i] == s[i + 1] ? sType[i + 1] : s[i] < s[i + 1];
+        }
+        // Start of each character's bucket of L-type suffixes and of its bucket of S-type suffixes.
+        int[] lStart = new int[upper + 2];
+        int[] sStart = new int[upper + 1];
+        for (int i = 0; i < n; i += 1) {
+            if (!sType[i]) {
+                sStart[s[i]] += 1;
+            } else {
+                lStart[s[i] + 1] += 1;
+            }
+        }
+        for (int i = 0; i <= upper; i += 1) {
+            sStart[i] += lStart[i];
+            lStart[i + 1] += sStart[i];
+        }
+        int[] lmsIndex = new int[n + 1];
+        Arrays.fill(lmsIndex, -1);
+        int m = 0;
+        for (int i = 1; i < n; i += 1) {
+            if (!sType[i - 1] && sType[i]) {
+                lmsIndex[i] = m;
+                m += 1;
+            }
+        }
+        int[] lms = new int[m];
+        for (int i = 1; i < n; i += 1) {
+            if (!sType[i - 1] && sType[i]) {
+                lms[lmsIndex[i]] = i;
+            }
+        }
+        induce(s, sa, sType, lStart, sStart, lms);
+        if (m > 0) {
+            int[] sortedLms = new int[m];
+            int count = 0;
+            for (int v : sa) {
+                if (lmsIndex[v] != -1) {
+                    sortedLms[count] = v;
+                    count += 1;
+                }
+            }
+            // Name each LMS substring by its rank among the distinct LMS substrings.
+            int[] reduced = new int[m];
+            int reducedUpper = 0;
+            reduced[lmsIndex[sortedLms[0]]] = 0;
+            for (int i = 1; i < m; i += 1) {
+                int l = sortedLms[i - 1];
+                int r = sortedLms[i];
+                int endL = lmsIndex[l] + 1 < m ? lms[lmsIndex[l] + 1] : n;
+                int endR = lmsIndex[r] + 1 < m ? lms[lmsIndex[r] + 1] : n;
+                boolean same = endL - l == endR - r;
+                if (same) {
+                    while (l < endL && s[l] == s[r]) {
+                        l += 1;
+                        r += 1;
+                    }
+                    if (l == n || s[l] != s[r]) {
+                        same = false;
+                    }
+                }
+                if (!same) {
+                    reducedUpper += 1;
+                }
+                reduced[lmsIndex[sortedLms[i]]] = reducedUpper;
+            }
+            int[] reducedSa = sais(reduced, reducedUpper);
+            for (int i = 0; i < m; i += 1) {
+                sortedLms[i] = lms[reducedSa[i]];
+            }
+            induce(s, sa, sType, lStart, sStart, sortedLms);
+        }
+        return sa;
+    }
+
+    /**
+     * Fills the suffix array by placing the given LMS suffixes at the ends of their buckets in order, and then inducing
+     * the order of the L-type suffixes from left to right and the S-type suffixes from right to left.
+     *
+     * @param s      the string.
+     * @param sa     the suffix array to fill.
+     * @param sType  whether each suffix is S-type.
+     * @param lStart the start of each character's bucket of L-type suffixes.
+     * @param sStart the start of each character's bucket of S-type suffixes.
+     * @param lms    the LMS suffixes in the order to place them.
+     */
+    private static void induce(int[] s, int[] sa, boolean[] sType, int[] lStart, int[] sStart, int[] lms) {
+        int n = s.length;
+        Arrays.fill(sa, -1);
+        int[] next = Arrays.copyOf(sStart, sStart.length);
+        for (int d : lms) {
+            if (d != n) {
+                sa[next[s[d]]] = d;
+                next[s[d]] += 1;
+            }
+        }
+        next = Arrays.copyOf(lStart, lStart.length);
+        sa[next[s[n - 1]]] = n - 1;
+        next[s[n - 1]] += 1;
+        for (int i = 0; i < n; i += 1) {
+            int v = sa[i];
+            if (v >= 1 && !sType[v - 1]) {
+                sa[next[s[v - 1]]] = v - 1;
+                next[s[v - 1]] += 1;
+            }
+        }
+        next = Arrays.copyOf(lStart, lStart.length);
+        for (int i = n - 1; i >= 0; i -= 1) {
+            int v = sa[i];
+            if (v >= 1 && sType[v - 1]) {
+                next[s[v - 1] + 1] -= 1;
+                sa[next[s[v - 1] + 1]] = v - 1;
+            }
+        }
+    }
+
+    /**
+     * A view of the text between the given begin and end indices, without copying.
+     */
+    private class Suffix implements CharSequence {
+        private final int begin;
+        private final int end;
+
+        /**
+         * Constructs a new view of the text between the given begin and end indices.
+         *
+         * @param begin index into the text representing the start (inclusive).
+         * @param end   index into the text representing the end (exclusive).
+         */
+        Suffix(int begin, int end) {
+            this.begin = begin;
+            this.end = end;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length()) {
+                throw new IndexOutOfBoundsException("index " + index + ", length " + length());
+            }
+            return (char) (text[begin + index] & 0xFF);
+        }
+
+        @Override
+        public int length() {
+            return end - begin;
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int stop) {
+            if (start < 0 || start > stop || stop > length()) {
+                throw new IndexOutOfBoundsException("begin " + start + ", end " + stop + ", length " + length());
+            }
+            return new Suffix(begin + start, begin + stop);
+        }
+
+        @Override
+        public String toString() {
+            return new String(text, begin, length(), StandardCharsets.ISO_8859_1);
+        }
+    }
+}
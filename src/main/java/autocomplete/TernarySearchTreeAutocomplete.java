@@ -1,11 +1,15 @@
 package autocomplete;
 
+import minpq.DaryHeapMinPQ;
+import minpq.MinPQ;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
 
 /**
- * Ternary search tree (TST) implementation of the {@link Autocomplete} interface.
+ * Ternary search tree (TST) implementation of the {@link Autocomplete} interface. Each node also stores the maximum
+ * weight of any term in its subtree, so {@link #topMatches(CharSequence, int)} can search best-first and stop after
+ * visiting only the nodes on the paths to the top terms.
  *
  * @see Autocomplete
  */
@@ -25,7 +29,14 @@ public class TernarySearchTreeAutocomplete implements Autocomplete {
     @Override
     public void addAll(Collection<? extends CharSequence> terms) {
         for (CharSequence term : terms){
-            overallRoot= put(overallRoot,term,0);
+            overallRoot= put(overallRoot,term,0, 0.0, false);
+        }
+    }
+
+    @Override
+    public void addAll(Map<? extends CharSequence, Double> termsAndWeights) {
+        for (Map.Entry<? extends CharSequence, Double> entry : termsAndWeights.entrySet()) {
+            overallRoot = put(overallRoot, entry.getKey(), 0, entry.getValue(), true);
         }
     }
 
@@ -48,20 +59,89 @@ public class TernarySearchTreeAutocomplete implements Autocomplete {
         return result;
     }
 
-    private Node put(Node curr,CharSequence term, int index){
+    @Override
+    public List<CharSequence> topMatches(CharSequence prefix, int k) {
+        if (prefix == null) {
+            throw new IllegalArgumentException("calls topMatches() with null argument");
+        }
+        if (k <= 0) {
+            return new ArrayList<>();
+        }
+        List<CharSequence> result = new ArrayList<>(k);
+        Node x = get(overallRoot, prefix, 0);
+        if (x == null) {
+            return result;
+        }
+        // Best-first search: candidates are ordered by the largest weight they could lead to, so each complete term
+        // is removed only after every remaining candidate is known to lead to terms of smaller or equal weight.
+        MinPQ<Candidate> candidates = new DaryHeapMinPQ<>();
+        if (x.isTerm) {
+            candidates.add(new Candidate(null, prefix.toString()), -x.weight);
+        }
+        if (x.mid != null) {
+            candidates.add(new Candidate(x.mid, prefix.toString()), -x.mid.maxWeight);
+        }
+        while (!candidates.isEmpty() && result.size() < k) {
+            Candidate candidate = candidates.removeMin();
+            Node curr = candidate.node;
+            if (curr == null) {
+                result.add(candidate.path);
+                continue;
+            }
+            String path = candidate.path + curr.data;
+            if (curr.isTerm) {
+                candidates.add(new Candidate(null, path), -curr.weight);
+            }
+            if (curr.left != null) {
+                candidates.add(new Candidate(curr.left, candidate.path), -curr.left.maxWeight);
+            }
+            if (curr.mid != null) {
+                candidates.add(new Candidate(curr.mid, path), -curr.mid.maxWeight);
+            }
+            if (curr.right != null) {
+                candidates.add(new Candidate(curr.right, candidate.path), -curr.right.maxWeight);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds the term to the subtree rooted at the given node and returns the root of the updated subtree.
+     *
+     * @param curr     the root of the subtree.
+     * @param term     the term to add.
+     * @param index    the index of the character in the term to place in this subtree.
+     * @param weight   the weight of the term.
+     * @param weighted true if the weight should replace the weight of a term that is already present.
+     * @return the root of the updated subtree.
+     */
+    private Node put(Node curr,CharSequence term, int index, double weight, boolean weighted){
         char c = term.charAt(index);
         if (curr == null) {
             curr = new Node(c);
         }
         if(c < curr.data){
-            curr.left  = put(curr.left, term, index);
+            curr.left  = put(curr.left, term, index, weight, weighted);
         } else if (c > curr.data) {
-            curr.right = put(curr.right, term, index);
+            curr.right = put(curr.right, term, index, weight, weighted);
         } else if (index < term.length() - 1){
-            curr.mid  = put(curr.mid, term, index+1);
+            curr.mid  = put(curr.mid, term, index+1, weight, weighted);
         } else {
+            if (weighted || !curr.isTerm) {
+                curr.weight = weight;
+            }
             curr.isTerm=true;
         }
+        curr.maxWeight = curr.isTerm ? curr.weight : Double.NEGATIVE_INFINITY;
+        if (curr.left != null) {
+            curr.maxWeight = Math.max(curr.maxWeight, curr.left.maxWeight);
+        }
+        if (curr.mid != null) {
+            curr.maxWeight = Math.max(curr.maxWeight, curr.mid.maxWeight);
+        }
+        if (curr.right != null) {
+            curr.maxWeight = Math.max(curr.maxWeight, curr.right.maxWeight);
+        }
         return curr;
     }
 
@@ -100,6 +180,8 @@ public class TernarySearchTreeAutocomplete implements Autocomplete {
     private static class Node {
         private final char data;
         private boolean isTerm;
+        private double weight;
+        private double maxWeight;
         private Node left;
         private Node mid;
         private Node right;
@@ -107,9 +189,31 @@ public class TernarySearchTreeAutocomplete implements Autocomplete {
         public Node(char data) {
             this.data = data;
             this.isTerm = false;
+            this.weight = 0.0;
+            this.maxWeight = Double.NEGATIVE_INFINITY;
             this.left = null;
             this.mid = null;
             this.right = null;
         }
     }
+
+    /**
+     * A candidate in the best-first search for {@link #topMatches(CharSequence, int)}: either a subtree rooted at a
+     * node, or a complete term if the node is null.
+     */
+    private static class Candidate {
+        private final Node node;
+        private final String path;
+
+        /**
+         * Constructs a candidate for the given subtree and the characters on the path leading to it.
+         *
+         * @param node the root of the subtree, or null if the path is a complete term.
+         * @param path the characters preceding the subtree, or the complete term.
+         */
+        Candidate(Node node, String path) {
+            this.node = node;
+            this.path = path;
+        }
+    }
 }
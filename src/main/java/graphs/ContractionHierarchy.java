@@ -0,0 +1,1064 @@
+package graphs;
+
+import minpq.IntIndexedMinPQ;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * Contraction hierarchy (CH) of a {@link CsrGraph} for answering shortest path queries in microseconds after a one-time
+ * preprocessing step. Preprocessing contracts the vertices one at a time in order of importance: each contracted
+ * vertex is removed from the remaining graph, and a shortcut edge is added between each pair of its remaining
+ * neighbors whose shortest path went through it. A vertex's rank is its position in this order, and every edge or
+ * shortcut of the hierarchy leads from a lower-ranked vertex to a higher-ranked vertex or the reverse.
+ * <p>
+ * Every shortest path in the graph has the same length as a path in the hierarchy that first only goes up in rank and
+ * then only goes down. A {@link Query} finds it with a forward search from the start that only follows upward edges
+ * and a backward search from the goal that only follows downward edges in reverse, each of which explores a few
+ * hundred vertices even for routes across a city. Shortcuts remember the vertex they were added for, so the path can
+ * be unpacked into the edges of the original graph.
+ * <p>
+ * Shortcut weights are sums of edge weights, so they are stored as doubles rather than as floats like
+ * {@link CsrGraph}.
+ *
+ * @see CsrGraph
+ */
+public class ContractionHierarchy {
+    /**
+     * Maximum number of vertices settled by a witness search before assuming there is no witness path.
+     */
+    private static final int WITNESS_LIMIT = 100;
+    /**
+     * Maximum number of vertices settled by a witness search that only counts shortcuts to compute a priority. Missing
+     * a witness there only overestimates the priority, so a cheaper search is enough.
+     */
+    private static final int PRIORITY_WITNESS_LIMIT = 20;
+    /**
+     * Magic number at the start of every serialized hierarchy ("HMCH").
+     */
+    private static final int MAGIC = 0x484D4348;
+    /**
+     * Number of vertices in the hierarchy.
+     */
+    private final int numVertices;
+    /**
+     * Index of the first upward edge of each vertex, followed by the total number of upward edges. The upward edges of
+     * a vertex lead to higher-ranked vertices.
+     */
+    private final int[] upOffsets;
+    /**
+     * Destination vertex of each upward edge.
+     */
+    private final int[] upTargets;
+    /**
+     * Weight of each upward edge.
+     */
+    private final double[] upWeights;
+    /**
+     * Vertex that each upward shortcut was added for, or -1 if it is an edge of the original graph.
+     */
+    private final int[] upMiddles;
+    /**
+     * Index of the first downward edge of each vertex, followed by the total number of downward edges. The downward
+     * edges of a vertex are the edges from higher-ranked vertices to it, stored in reverse.
+     */
+    private final int[] downOffsets;
+    /**
+     * Originating vertex of each downward edge.
+     */
+    private final int[] downTargets;
+    /**
+     * Weight of each downward edge.
+     */
+    private final double[] downWeights;
+    /**
+     * Vertex that each downward shortcut was added for, or -1 if it is an edge of the original graph.
+     */
+    private final int[] downMiddles;
+
+    /**
+     * Constructs a hierarchy from the given arrays, which are used directly rather than copied.
+     *
+     * @param upOffsets   the index of the first upward edge of each vertex, followed by the number of upward edges.
+     * @param upTargets   the destination vertex of each upward edge.
+     * @param upWeights   the weight of each upward edge.
+     * @param upMiddles   the vertex that each upward shortcut was added for, or -1.
+     * @param downOffsets the index of the first downward edge of each vertex, followed by the number of downward
+     *                    edges.
+     * @param downTargets the originating vertex of each downward edge.
+     * @param downWeights the weight of each downward edge.
+     * @param downMiddles the vertex that each downward shortcut was added for, or -1.
+     */
+    private ContractionHierarchy(int[] upOffsets, int[] upTargets, double[] upWeights, int[] upMiddles,
+                                 int[] downOffsets, int[] downTargets, double[] downWeights, int[] downMiddles) {
+        this.numVertices = upOffsets.length - 1;
+        this.upOffsets = upOffsets;
+        this.upTargets = upTargets;
+        this.upWeights = upWeights;
+        this.upMiddles = upMiddles;
+        this.downOffsets = downOffsets;
+        this.downTargets = downTargets;
+        this.downWeights = downWeights;
+        this.downMiddles = downMiddles;
+    }
+
+    /**
+     * Returns the contraction hierarchy of the given graph. Vertices are contracted in increasing order of twice their
+     * edge difference (the number of shortcuts needed minus the number of edges removed) plus their number of
+     * contracted neighbors and their level, which keeps the hierarchy sparse and spreads contraction evenly across the
+     * graph. Priorities are updated lazily: a vertex is only contracted if its recomputed priority is still the
+     * smallest, which needs far fewer witness searches than recomputing the priorities of its neighbors after every
+     * contraction and orders the vertices about as well.
+     *
+     * @param graph the graph to contract.
+     * @return the contraction hierarchy of the graph.
+     */
+    public static ContractionHierarchy contract(CsrGraph graph) {
+        return new Contractor(graph).contract();
+    }
+
+    /**
+     * Returns the number of vertices in this hierarchy.
+     *
+     * @return the number of vertices in this hierarchy.
+     */
+    public int numVertices() {
+        return numVertices;
+    }
+
+    /**
+     * Returns the number of edges in this hierarchy, including shortcuts.
+     *
+     * @return the number of edges in this hierarchy.
+     */
+    public int numEdges() {
+        return upTargets.length + downTargets.length;
+    }
+
+    /**
+     * Returns a new query engine for this hierarchy. A query engine reuses its memory across queries, so it should be
+     * kept for many queries, but it must only be used by one thread at a time.
+     *
+     * @return a new query engine for this hierarchy.
+     */
+    public Query query() {
+        return new Query();
+    }
+
+    /**
+     * Writes this hierarchy in a form that can be read by {@link #read(ByteBuffer)}.
+     *
+     * @param output the output.
+     * @throws IOException if the hierarchy cannot be written.
+     */
+    public void write(DataOutputStream output) throws IOException {
+        output.writeInt(MAGIC);
+        output.writeInt(numVertices);
+        writeEdges(output, upOffsets, upTargets, upWeights, upMiddles);
+        writeEdges(output, downOffsets, downTargets, downWeights, downMiddles);
+    }
+
+    /**
+     * Reads a hierarchy written by {@link #write(DataOutputStream)} starting at the position of the buffer.
+     *
+     * @param input the input, whose position is advanced past the hierarchy.
+     * @return the hierarchy.
+     * @throws IllegalArgumentException if the input does not contain a valid hierarchy.
+     */
+    public static ContractionHierarchy read(ByteBuffer input) {
+        if (input.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a contraction hierarchy");
+        }
+        int numVertices = input.getInt();
+        int[] upOffsets = readOffsets(input, numVertices);
+        int[] upTargets = new int[upOffsets[numVertices]];
+        double[] upWeights = new double[upTargets.length];
+        int[] upMiddles = new int[upTargets.length];
+        readEdges(input, numVertices, upTargets, upWeights, upMiddles);
+        int[] downOffsets = readOffsets(input, numVertices);
+        int[] downTargets = new int[downOffsets[numVertices]];
+        double[] downWeights = new double[downTargets.length];
+        int[] downMiddles = new int[downTargets.length];
+        readEdges(input, numVertices, downTargets, downWeights, downMiddles);
+        return new ContractionHierarchy(upOffsets, upTargets, upWeights, upMiddles,
+                downOffsets, downTargets, downWeights, downMiddles);
+    }
+
+    /**
+     * Writes the offsets followed by the target, weight and middle vertex of every edge.
+     *
+     * @param output  the output.
+     * @param offsets the index of the first edge of each vertex, followed by the number of edges.
+     * @param targets the target of each edge.
+     * @param weights the weight of each edge.
+     * @param middles the vertex that each shortcut was added for, or -1.
+     * @throws IOException if the edges cannot be written.
+     */
+    private static void writeEdges(DataOutputStream output, int[] offsets, int[] targets, double[] weights,
+                                   int[] middles) throws IOException {
+        for (int offset : offsets) {
+            output.writeInt(offset);
+        }
+        for (int e = 0; e < targets.length; e += 1) {
+            output.writeInt(targets[e]);
+            output.writeDouble(weights[e]);
+            output.writeInt(middles[e]);
+        }
+    }
+
+    /**
+     * Reads and validates the offsets written by {@link #writeEdges}.
+     *
+     * @param input       the input.
+     * @param numVertices the number of vertices.
+     * @return the index of the first edge of each vertex, followed by the number of edges.
+     * @throws IllegalArgumentException if the offsets are invalid.
+     */
+    private static int[] readOffsets(ByteBuffer input, int numVertices) {
+        if (numVertices < 0 || numVertices >= input.remaining() / Integer.BYTES) {
+            throw new IllegalArgumentException("Invalid number of vertices " + numVertices);
+        }
+        int[] offsets = new int[numVertices + 1];
+        for (int v = 0; v <= numVertices; v += 1) {
+            offsets[v] = input.getInt();
+            if (offsets[v] < (v == 0 ? 0 : offsets[v - 1])) {
+                throw new IllegalArgumentException("Decreasing offsets at vertex " + v);
+            }
+        }
+        if (offsets[0] != 0) {
+            throw new IllegalArgumentException("Offsets do not start at 0");
+        }
+        // Each edge takes 16 bytes, so this also rejects edge counts that would not fit in memory.
+        if (offsets[numVertices] > input.remaining() / 16) {
+            throw new IllegalArgumentException("Truncated edges");
+        }
+        return offsets;
+    }
+
+    /**
+     * Reads and validates the edges written by {@link #writeEdges} into the given arrays.
+     *
+     * @param input       the input.
+     * @param numVertices the number of vertices.
+     * @param targets     the array for the target of each edge.
+     * @param weights     the array for the weight of each edge.
+     * @param middles     the array for the vertex that each shortcut was added for, or -1.
+     * @throws IllegalArgumentException if an edge has an invalid target or middle vertex.
+     */
+    private static void readEdges(ByteBuffer input, int numVertices, int[] targets, double[] weights, int[] middles) {
+        for (int e = 0; e < targets.length; e += 1) {
+            targets[e] = input.getInt();
+            weights[e] = input.getDouble();
+            middles[e] = input.getInt();
+            if (targets[e] < 0 || targets[e] >= numVertices || middles[e] < -1 || middles[e] >= numVertices) {
+                throw new IllegalArgumentException("Edge " + e + " has invalid vertices");
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the edge to the given target among the edges of the given vertex.
+     *
+     * @param offsets the offsets of the edges of each vertex.
+     * @param targets the target of each edge.
+     * @param vertex  the vertex.
+     * @param target  the target of the edge.
+     * @return the index of the edge to the given target.
+     * @throws IllegalStateException if there is no such edge.
+     */
+    private static int find(int[] offsets, int[] targets, int vertex, int target) {
+        for (int e = offsets[vertex]; e < offsets[vertex + 1]; e += 1) {
+            if (targets[e] == target) {
+                return e;
+            }
+        }
+        throw new IllegalStateException("No edge between " + vertex + " and " + target);
+    }
+
+    /**
+     * Contracts the vertices of a graph one at a time, keeping the incoming and outgoing edges between the vertices
+     * that remain. When a vertex is contracted its remaining edges all lead to higher-ranked vertices, and no edges are
+     * added to it afterward, so they become its upward and downward edges in the hierarchy.
+     */
+    private static class Contractor {
+        /**
+         * Outgoing edges of each vertex to vertices that are not yet contracted.
+         */
+        private final Arcs[] out;
+        /**
+         * Incoming edges of each vertex from vertices that are not yet contracted.
+         */
+        private final Arcs[] in;
+        /**
+         * Number of neighbors of each vertex that have been contracted.
+         */
+        private final int[] contractedNeighbors;
+        /**
+         * Level of each vertex in the hierarchy built so far: one more than the largest level of its contracted
+         * neighbors, or 0 if it has none.
+         */
+        private final int[] level;
+        /**
+         * Vertices not yet contracted, ordered by priority.
+         */
+        private final IntIndexedMinPQ queue;
+        /**
+         * Perimeter of the witness search.
+         */
+        private final IntIndexedMinPQ witnesses;
+        /**
+         * Distance from the source of the witness search to each vertex, or infinity if it has not been reached.
+         */
+        private final double[] witnessDistTo;
+        /**
+         * Whether each vertex is the destination of a potential shortcut in the current witness search.
+         */
+        private final boolean[] isTarget;
+        /**
+         * Index of the edge to each vertex among the outgoing edges of the vertex passed to {@link #index(int)}, or -1
+         * if there is none, so that adding an edge does not scan for an existing one.
+         */
+        private final int[] slot;
+        /**
+         * Vertices reached by the witness search.
+         */
+        private int[] reached;
+        private int numReached;
+
+        /**
+         * Constructs a contractor with the edges of the given graph, keeping only the lightest of any parallel edges
+         * and ignoring edges from a vertex to itself.
+         *
+         * @param graph the graph to contract.
+         */
+        Contractor(CsrGraph graph) {
+            int numVertices = graph.numVertices();
+            out = new Arcs[numVertices];
+            in = new Arcs[numVertices];
+            for (int v = 0; v < numVertices; v += 1) {
+                out[v] = new Arcs();
+                in[v] = new Arcs();
+            }
+            slot = new int[numVertices];
+            Arrays.fill(slot, -1);
+            for (int v = 0; v < numVertices; v += 1) {
+                index(v);
+                for (int e = graph.edgeStart(v); e < graph.edgeEnd(v); e += 1) {
+                    if (graph.target(e) != v) {
+                        addEdge(v, graph.target(e), graph.weight(e), -1);
+                    }
+                }
+                unindex(v);
+            }
+            contractedNeighbors = new int[numVertices];
+            level = new int[numVertices];
+            queue = new IntIndexedMinPQ(numVertices);
+            witnesses = new IntIndexedMinPQ(numVertices);
+            witnessDistTo = new double[numVertices];
+            Arrays.fill(witnessDistTo, Double.POSITIVE_INFINITY);
+            isTarget = new boolean[numVertices];
+            reached = new int[64];
+            numReached = 0;
+        }
+
+        /**
+         * Contracts every vertex and returns the resulting hierarchy.
+         *
+         * @return the contraction hierarchy.
+         */
+        ContractionHierarchy contract() {
+            int numVertices = out.length;
+            for (int v = 0; v < numVertices; v += 1) {
+                queue.add(v, priority(v));
+            }
+            while (!queue.isEmpty()) {
+                int v = queue.removeMin();
+                double priority = priority(v);
+                if (!queue.isEmpty() && priority > queue.priority(queue.peekMin())) {
+                    queue.add(v, priority);
+                    continue;
+                }
+                shortcuts(v, true);
+                for (int i = 0; i < in[v].size; i += 1) {
+                    int u = in[v].vertices[i];
+                    removeEdge(out, in, u, in[v].twins[i]);
+                    contractedNeighbors[u] += 1;
+                    level[u] = Math.max(level[u], level[v] + 1);
+                }
+                for (int i = 0; i < out[v].size; i += 1) {
+                    int w = out[v].vertices[i];
+                    removeEdge(in, out, w, out[v].twins[i]);
+                    contractedNeighbors[w] += 1;
+                    level[w] = Math.max(level[w], level[v] + 1);
+                }
+            }
+
+            int[] upOffsets = new int[numVertices + 1];
+            int[] downOffsets = new int[numVertices + 1];
+            for (int v = 0; v < numVertices; v += 1) {
+                upOffsets[v + 1] = upOffsets[v] + out[v].size;
+                downOffsets[v + 1] = downOffsets[v] + in[v].size;
+            }
+            int[] upTargets = new int[upOffsets[numVertices]];
+            double[] upWeights = new double[upTargets.length];
+            int[] upMiddles = new int[upTargets.length];
+            int[] downTargets = new int[downOffsets[numVertices]];
+            double[] downWeights = new double[downTargets.length];
+            int[] downMiddles = new int[downTargets.length];
+            for (int v = 0; v < numVertices; v += 1) {
+                System.arraycopy(out[v].vertices, 0, upTargets, upOffsets[v], out[v].size);
+                System.arraycopy(out[v].weights, 0, upWeights, upOffsets[v], out[v].size);
+                System.arraycopy(out[v].middles, 0, upMiddles, upOffsets[v], out[v].size);
+                System.arraycopy(in[v].vertices, 0, downTargets, downOffsets[v], in[v].size);
+                System.arraycopy(in[v].weights, 0, downWeights, downOffsets[v], in[v].size);
+                System.arraycopy(in[v].middles, 0, downMiddles, downOffsets[v], in[v].size);
+            }
+            return new ContractionHierarchy(upOffsets, upTargets, upWeights, upMiddles,
+                    downOffsets, downTargets, downWeights, downMiddles);
+        }
+
+        /**
+         * Returns the priority of the given vertex for contraction: twice its edge difference plus its number of
+         * contracted neighbors and its level.
+         *
+         * @param v the vertex.
+         * @return the priority of the vertex, where smaller values are contracted first.
+         */
+        private double priority(int v) {
+            int edgeDifference = shortcuts(v, false) - in[v].size - out[v].size;
+            return 2 * edgeDifference + contractedNeighbors[v] + level[v];
+        }
+
+        /**
+         * Returns the number of shortcuts needed to contract the given vertex, adding them if requested. A shortcut
+         * from <i>u</i> to <i>w</i> is needed unless a witness search from <i>u</i> that avoids the vertex finds a
+         * path to <i>w</i> no longer than the path through the vertex.
+         *
+         * @param v   the vertex to contract.
+         * @param add true to add the shortcuts.
+         * @return the number of shortcuts needed.
+         */
+        private int shortcuts(int v, boolean add) {
+            int count = 0;
+            for (int i = 0; i < in[v].size; i += 1) {
+                int u = in[v].vertices[i];
+                double toV = in[v].weights[i];
+                double limit = Double.NEGATIVE_INFINITY;
+                int numTargets = 0;
+                for (int j = 0; j < out[v].size; j += 1) {
+                    int w = out[v].vertices[j];
+                    if (w != u) {
+                        limit = Math.max(limit, toV + out[v].weights[j]);
+                        isTarget[w] = true;
+                        numTargets += 1;
+                    }
+                }
+                if (numTargets == 0) {
+                    continue;
+                }
+                witnessSearch(u, v, limit, numTargets, add ? WITNESS_LIMIT : PRIORITY_WITNESS_LIMIT);
+                if (add) {
+                    index(u);
+                }
+                for (int j = 0; j < out[v].size; j += 1) {
+                    int w = out[v].vertices[j];
+                    double via = toV + out[v].weights[j];
+                    isTarget[w] = false;
+                    if (w != u && witnessDistTo[w] > via) {
+                        count += 1;
+                        if (add) {
+                            addEdge(u, w, via, v);
+                        }
+                    }
+                }
+                if (add) {
+                    unindex(u);
+                }
+                for (int k = 0; k < numReached; k += 1) {
+                    witnessDistTo[reached[k]] = Double.POSITIVE_INFINITY;
+                }
+                numReached = 0;
+            }
+            return count;
+        }
+
+        /**
+         * Runs Dijkstra's algorithm from the source over the remaining vertices except the one being contracted, until
+         * every target is settled, the smallest distance in the perimeter exceeds the limit, or the given number of
+         * vertices are settled.
+         *
+         * @param source     the source vertex.
+         * @param skip       the vertex being contracted.
+         * @param limit      the largest distance of interest.
+         * @param numTargets the number of targets, which are marked in {@link #isTarget}.
+         * @param maxSettled the maximum number of vertices to settle.
+         */
+        private void witnessSearch(int source, int skip, double limit, int numTargets, int maxSettled) {
+            witnesses.clear();
+            reach(source, 0.0);
+            witnesses.add(source, 0.0);
+            int settled = 0;
+            while (!witnesses.isEmpty() && settled < maxSettled) {
+                int from = witnesses.removeMin();
+                double dist = witnessDistTo[from];
+                if (dist > limit) {
+                    break;
+                }
+                settled += 1;
+                if (isTarget[from]) {
+                    numTargets -= 1;
+                    if (numTargets == 0) {
+                        break;
+                    }
+                }
+                for (int i = 0; i < out[from].size; i += 1) {
+                    int to = out[from].vertices[i];
+                    double newDist = dist + out[from].weights[i];
+                    if (to != skip && newDist < witnessDistTo[to]) {
+                        reach(to, newDist);
+                        witnesses.addOrChangePriority(to, newDist);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Sets the witness distance of the given vertex, recording it so that it can be reset after the search.
+         *
+         * @param vertex the vertex.
+         * @param dist   the distance to the vertex.
+         */
+        private void reach(int vertex, double dist) {
+            if (witnessDistTo[vertex] == Double.POSITIVE_INFINITY) {
+                if (numReached == reached.length) {
+                    reached = Arrays.copyOf(reached, 2 * numReached);
+                }
+                reached[numReached] = vertex;
+                numReached += 1;
+            }
+            witnessDistTo[vertex] = dist;
+        }
+
+        /**
+         * Records the index of each outgoing edge of the given vertex in {@link #slot}.
+         *
+         * @param u the vertex.
+         */
+        private void index(int u) {
+            for (int i = 0; i < out[u].size; i += 1) {
+                slot[out[u].vertices[i]] = i;
+            }
+        }
+
+        /**
+         * Clears the indices recorded by {@link #index(int)}.
+         *
+         * @param u the vertex.
+         */
+        private void unindex(int u) {
+            for (int i = 0; i < out[u].size; i += 1) {
+                slot[out[u].vertices[i]] = -1;
+            }
+        }
+
+        /**
+         * Adds an edge or shortcut from <i>u</i> to <i>w</i>, or replaces the existing one if it is heavier. The
+         * outgoing edges of <i>u</i> must be indexed by {@link #index(int)}.
+         *
+         * @param u      the originating vertex.
+         * @param w      the destination vertex.
+         * @param weight the weight of the edge.
+         * @param middle the vertex that the shortcut is added for, or -1 for an edge of the original graph.
+         */
+        private void addEdge(int u, int w, double weight, int middle) {
+            int i = slot[w];
+            if (i < 0) {
+                slot[w] = out[u].size;
+                out[u].add(w, weight, middle, in[w].size);
+                in[w].add(u, weight, middle, slot[w]);
+            } else if (weight < out[u].weights[i]) {
+                out[u].weights[i] = weight;
+                out[u].middles[i] = middle;
+                int j = out[u].twins[i];
+                in[w].weights[j] = weight;
+                in[w].middles[j] = middle;
+            }
+        }
+
+        /**
+         * Removes an edge from the list of one of its endpoints in constant time by moving the last edge of the list
+         * into its place and updating the index of the moved edge in the list of its other endpoint. The list of the
+         * other endpoint of the removed edge is left unchanged.
+         *
+         * @param lists  the lists containing the edge to remove.
+         * @param twins  the lists containing the same edges from the other endpoint.
+         * @param vertex the vertex whose list contains the edge.
+         * @param i      the index of the edge in the list.
+         */
+        private static void removeEdge(Arcs[] lists, Arcs[] twins, int vertex, int i) {
+            Arcs list = lists[vertex];
+            list.size -= 1;
+            int last = list.size;
+            if (i != last) {
+                list.vertices[i] = list.vertices[last];
+                list.weights[i] = list.weights[last];
+                list.middles[i] = list.middles[last];
+                list.twins[i] = list.twins[last];
+                twins[list.vertices[i]].twins[list.twins[i]] = i;
+            }
+        }
+    }
+
+    /**
+     * Growable list of the edges between one vertex and its neighbors, stored in parallel arrays. Each edge is stored
+     * in the outgoing list of its originating vertex and the incoming list of its destination vertex, and each copy
+     * knows the index of the other so that either can be removed in constant time.
+     */
+    private static class Arcs {
+        private int[] vertices;
+        private double[] weights;
+        private int[] middles;
+        /**
+         * Index of each edge in the list of its neighbor.
+         */
+        private int[] twins;
+        private int size;
+
+        /**
+         * Constructs an empty list.
+         */
+        Arcs() {
+            vertices = new int[4];
+            weights = new double[4];
+            middles = new int[4];
+            twins = new int[4];
+            size = 0;
+        }
+
+        /**
+         * Adds an edge to the given neighbor.
+         *
+         * @param vertex the neighbor.
+         * @param weight the weight of the edge.
+         * @param middle the vertex that the shortcut is added for, or -1 for an edge of the original graph.
+         * @param twin   the index of the edge in the list of the neighbor.
+         */
+        void add(int vertex, double weight, int middle, int twin) {
+            if (size == vertices.length) {
+                vertices = Arrays.copyOf(vertices, 2 * size);
+                weights = Arrays.copyOf(weights, 2 * size);
+                middles = Arrays.copyOf(middles, 2 * size);
+                twins = Arrays.copyOf(twins, 2 * size);
+            }
+            vertices[size] = vertex;
+            weights[size] = weight;
+            middles[size] = middle;
+            twins[size] = twin;
+            size += 1;
+        }
+    }
+
+    /**
+     * A reusable engine for shortest path queries on the hierarchy, which keeps the distance arrays and perimeters of
+     * both searches between queries and only resets the entries that the previous query touched.
+     */
+    public class Query {
+        private final double[] forwardDistTo;
+        private final double[] backwardDistTo;
+        /**
+         * Previous vertex and edge index on the shortest known path to each vertex in the forward search.
+         */
+        private final int[] forwardParent;
+        private final int[] forwardEdgeTo;
+        /**
+         * Next vertex and edge index on the shortest known path from each vertex in the backward search.
+         */
+        private final int[] backwardParent;
+        private final int[] backwardEdgeTo;
+        private final IntIndexedMinPQ forward;
+        private final IntIndexedMinPQ backward;
+        /**
+         * Vertices whose distances were set by the current query, in either search.
+         */
+        private int[] touched;
+        private int numTouched;
+        private int meeting;
+        private int expanded;
+        /**
+         * Vertices settled by the most recent full upward search and their distances, in the order they were settled.
+         */
+        private int[] settled;
+        private double[] settledDistTo;
+        private int numSettled;
+
+        /**
+         * Constructs a query engine with no touched vertices.
+         */
+        private Query() {
+            forwardDistTo = new double[numVertices];
+            backwardDistTo = new double[numVertices];
+            Arrays.fill(forwardDistTo, Double.POSITIVE_INFINITY);
+            Arrays.fill(backwardDistTo, Double.POSITIVE_INFINITY);
+            forwardParent = new int[numVertices];
+            forwardEdgeTo = new int[numVertices];
+            backwardParent = new int[numVertices];
+            backwardEdgeTo = new int[numVertices];
+            forward = new IntIndexedMinPQ(numVertices);
+            backward = new IntIndexedMinPQ(numVertices);
+            touched = new int[64];
+            numTouched = 0;
+            meeting = -1;
+            expanded = 0;
+            settled = new int[64];
+            settledDistTo = new double[64];
+            numSettled = 0;
+        }
+
+        /**
+         * Returns the length of the shortest path from the start to the goal.
+         *
+         * @param start the start vertex.
+         * @param goal  the goal vertex.
+         * @return the length of the shortest path, or infinity if the goal is not reachable.
+         */
+        public double distance(int start, int goal) {
+            return search(start, goal);
+        }
+
+        /**
+         * Returns the shortest path from the start to the goal in terms of the vertices of the original graph.
+         *
+         * @param start the start vertex.
+         * @param goal  the goal vertex.
+         * @return a list of vertices representing the shortest path, or only the goal if it is not reachable.
+         */
+        public List<Integer> shortestPath(int start, int goal) {
+            search(start, goal);
+            List<Integer> path = new ArrayList<>();
+            if (meeting < 0) {
+                path.add(goal);
+                return path;
+            }
+            List<Integer> upward = new ArrayList<>();
+            for (int v = meeting; v != start; v = forwardParent[v]) {
+                upward.add(v);
+            }
+            path.add(start);
+            for (int i = upward.size() - 1; i >= 0; i -= 1) {
+                int v = upward.get(i);
+                unpack(forwardParent[v], v, upMiddles[forwardEdgeTo[v]], path);
+            }
+            for (int v = meeting; v != goal; v = backwardParent[v]) {
+                unpack(v, backwardParent[v], downMiddles[backwardEdgeTo[v]], path);
+            }
+            return path;
+        }
+
+        /**
+         * Returns the length of the shortest path from each source to each target using buckets, which takes one full
+         * upward search per source and per target rather than one query per pair. The backward search from each target
+         * leaves an entry with its distance in a bucket at every vertex it settles. The forward search from each source
+         * then scans the buckets of every vertex it settles, since each shortest path meets at the highest-ranked
+         * vertex settled by both searches.
+         *
+         * @param sources the source vertices.
+         * @param targets the target vertices.
+         * @return the matrix of the length of the shortest path from {@code sources[i]} to {@code targets[j]} at row
+         * <i>i</i> and column <i>j</i>, or infinity if the target is not reachable.
+         */
+        public double[][] distances(int[] sources, int[] targets) {
+            expanded = 0;
+            int numEntries = 0;
+            int[] entryVertices = new int[64];
+            int[] entryTargets = new int[64];
+            double[] entryDistTo = new double[64];
+            for (int j = 0; j < targets.length; j += 1) {
+                upward(targets[j], false);
+                if (numEntries + numSettled > entryVertices.length) {
+                    int capacity = Math.max(2 * entryVertices.length, numEntries + numSettled);
+                    entryVertices = Arrays.copyOf(entryVertices, capacity);
+                    entryTargets = Arrays.copyOf(entryTargets, capacity);
+                    entryDistTo = Arrays.copyOf(entryDistTo, capacity);
+                }
+                for (int k = 0; k < numSettled; k += 1) {
+                    entryVertices[numEntries] = settled[k];
+                    entryTargets[numEntries] = j;
+                    entryDistTo[numEntries] = settledDistTo[k];
+                    numEntries += 1;
+                }
+            }
+            // Group the entries into buckets by vertex with a counting sort.
+            int[] bucketOffsets = new int[numVertices + 1];
+            for (int k = 0; k < numEntries; k += 1) {
+                bucketOffsets[entryVertices[k] + 1] += 1;
+            }
+            for (int v = 0; v < numVertices; v += 1) {
+                bucketOffsets[v + 1] += bucketOffsets[v];
+            }
+            int[] next = Arrays.copyOf(bucketOffsets, numVertices);
+            int[] bucketTargets = new int[numEntries];
+            double[] bucketDistTo = new double[numEntries];
+            for (int k = 0; k < numEntries; k += 1) {
+                int v = entryVertices[k];
+                bucketTargets[next[v]] = entryTargets[k];
+                bucketDistTo[next[v]] = entryDistTo[k];
+                next[v] += 1;
+            }
+
+            double[][] result = new double[sources.length][targets.length];
+            for (int i = 0; i < sources.length; i += 1) {
+                double[] row = result[i];
+                Arrays.fill(row, Double.POSITIVE_INFINITY);
+                upward(sources[i], true);
+                for (int k = 0; k < numSettled; k += 1) {
+                    int v = settled[k];
+                    for (int b = bucketOffsets[v]; b < bucketOffsets[v + 1]; b += 1) {
+                        double dist = settledDistTo[k] + bucketDistTo[b];
+                        if (dist < row[bucketTargets[b]]) {
+                            row[bucketTargets[b]] = dist;
+                        }
+                    }
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Returns the number of vertices whose edges were relaxed by the most recent query.
+         *
+         * @return the number of vertices expanded by both searches.
+         */
+        public int expanded() {
+            return expanded;
+        }
+
+        /**
+         * Adds the vertices after the first along an edge or shortcut of the hierarchy to the path, replacing each
+         * shortcut by the two edges or shortcuts it was added for.
+         *
+         * @param from   the originating vertex.
+         * @param to     the destination vertex.
+         * @param middle the vertex that the shortcut was added for, or -1 if it is an edge of the original graph.
+         * @param path   the path to add to.
+         */
+        private void unpack(int from, int to, int middle, List<Integer> path) {
+            if (middle < 0) {
+                path.add(to);
+                return;
+            }
+            // The middle vertex has a lower rank than both endpoints, so both halves are stored at the middle vertex.
+            unpack(from, middle, downMiddles[find(downOffsets, downTargets, middle, from)], path);
+            unpack(middle, to, upMiddles[find(upOffsets, upTargets, middle, to)], path);
+        }
+
+        /**
+         * Runs the forward and backward upward searches, alternating between them until each search's smallest
+         * distance is at least the length of the shortest path found so far.
+         *
+         * @param start the start vertex.
+         * @param goal  the goal vertex.
+         * @return the length of the shortest path, or infinity if the goal is not reachable.
+         */
+        private double search(int start, int goal) {
+            reset();
+            meeting = -1;
+            expanded = 0;
+            double best = Double.POSITIVE_INFINITY;
+            touch(start);
+            forwardDistTo[start] = 0.0;
+            forward.add(start, 0.0);
+            touch(goal);
+            backwardDistTo[goal] = 0.0;
+            backward.add(goal, 0.0);
+            if (start == goal) {
+                best = 0.0;
+                meeting = start;
+            }
+            boolean forwardTurn = true;
+            while (true) {
+                boolean forwardDone = forward.isEmpty() || forward.priority(forward.peekMin()) >= best;
+                boolean backwardDone = backward.isEmpty() || backward.priority(backward.peekMin()) >= best;
+                if (forwardDone && backwardDone) {
+                    return best;
+                }
+                if (forwardDone) {
+                    forwardTurn = false;
+                } else if (backwardDone) {
+                    forwardTurn = true;
+                }
+                expanded += 1;
+                if (forwardTurn) {
+                    best = expandForward(best);
+                } else {
+                    best = expandBackward(best);
+                }
+                forwardTurn = !forwardTurn;
+            }
+        }
+
+        /**
+         * Runs a forward search over the upward edges or a backward search over the downward edges until every
+         * reachable vertex is settled, recording the settled vertices that are not stalled and their distances.
+         *
+         * @param source    the source vertex.
+         * @param isForward true for a forward search, or false for a backward search.
+         */
+        private void upward(int source, boolean isForward) {
+            reset();
+            numSettled = 0;
+            double[] distTo = isForward ? forwardDistTo : backwardDistTo;
+            IntIndexedMinPQ perimeter = isForward ? forward : backward;
+            int[] offsets = isForward ? upOffsets : downOffsets;
+            int[] targets = isForward ? upTargets : downTargets;
+            double[] weights = isForward ? upWeights : downWeights;
+            int[] stallOffsets = isForward ? downOffsets : upOffsets;
+            int[] stallTargets = isForward ? downTargets : upTargets;
+            double[] stallWeights = isForward ? downWeights : upWeights;
+            touch(source);
+            distTo[source] = 0.0;
+            perimeter.add(source, 0.0);
+            while (!perimeter.isEmpty()) {
+                int from = perimeter.removeMin();
+                double dist = distTo[from];
+                if (isStalled(from, dist, distTo, stallOffsets, stallTargets, stallWeights)) {
+                    continue;
+                }
+                expanded += 1;
+                if (numSettled == settled.length) {
+                    settled = Arrays.copyOf(settled, 2 * numSettled);
+                    settledDistTo = Arrays.copyOf(settledDistTo, 2 * numSettled);
+                }
+                settled[numSettled] = from;
+                settledDistTo[numSettled] = dist;
+                numSettled += 1;
+                for (int e = offsets[from]; e < offsets[from + 1]; e += 1) {
+                    int to = targets[e];
+                    double newDist = dist + weights[e];
+                    if (newDist < distTo[to]) {
+                        touch(to);
+                        distTo[to] = newDist;
+                        perimeter.addOrChangePriority(to, newDist);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns true if an edge from a higher-ranked vertex already reached by the search proves that the distance
+         * to the given vertex is not the shortest, so it need not be settled (stall-on-demand).
+         *
+         * @param vertex  the vertex.
+         * @param dist    the distance to the vertex.
+         * @param distTo  the distance to each vertex in the search.
+         * @param offsets the offsets of the edges between each vertex and higher-ranked vertices, in the reverse of
+         *                the direction of the search.
+         * @param targets the higher-ranked vertex of each edge.
+         * @param weights the weight of each edge.
+         * @return true if the vertex can be stalled.
+         */
+        private boolean isStalled(int vertex, double dist, double[] distTo, int[] offsets, int[] targets,
+                                  double[] weights) {
+            for (int e = offsets[vertex]; e < offsets[vertex + 1]; e += 1) {
+                if (distTo[targets[e]] + weights[e] < dist) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Settles the next vertex of the forward search and relaxes its upward edges, unless a higher-ranked vertex
+         * already reached proves that its distance is not the shortest (stall-on-demand).
+         *
+         * @param best the length of the shortest path found so far.
+         * @return the length of the shortest path found so far after relaxing the edges.
+         */
+        private double expandForward(double best) {
+            int from = forward.removeMin();
+            double dist = forwardDistTo[from];
+            if (isStalled(from, dist, forwardDistTo, downOffsets, downTargets, downWeights)) {
+                return best;
+            }
+            for (int e = upOffsets[from]; e < upOffsets[from + 1]; e += 1) {
+                int to = upTargets[e];
+                double newDist = dist + upWeights[e];
+                if (newDist < forwardDistTo[to]) {
+                    touch(to);
+                    forwardDistTo[to] = newDist;
+                    forwardParent[to] = from;
+                    forwardEdgeTo[to] = e;
+                    forward.addOrChangePriority(to, newDist);
+                    if (newDist + backwardDistTo[to] < best) {
+                        best = newDist + backwardDistTo[to];
+                        meeting = to;
+                    }
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Settles the next vertex of the backward search and relaxes its downward edges in reverse, unless a
+         * higher-ranked vertex already reached proves that its distance is not the shortest (stall-on-demand).
+         *
+         * @param best the length of the shortest path found so far.
+         * @return the length of the shortest path found so far after relaxing the edges.
+         */
+        private double expandBackward(double best) {
+            int from = backward.removeMin();
+            double dist = backwardDistTo[from];
+            if (isStalled(from, dist, backwardDistTo, upOffsets, upTargets, upWeights)) {
+                return best;
+            }
+            for (int e = downOffsets[from]; e < downOffsets[from + 1]; e += 1) {
+                int to = downTargets[e];
+                double newDist = dist + downWeights[e];
+                if (newDist < backwardDistTo[to]) {
+                    touch(to);
+                    backwardDistTo[to] = newDist;
+                    backwardParent[to] = from;
+                    backwardEdgeTo[to] = e;
+                    backward.addOrChangePriority(to, newDist);
+                    if (forwardDistTo[to] + newDist < best) {
+                        best = forwardDistTo[to] + newDist;
+                        meeting = to;
+                    }
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Records that the given vertex's distances are about to be set by the current query, unless they have
+         * already been set.
+         *
+         * @param vertex the vertex.
+         */
+        private void touch(int vertex) {
+            if (forwardDistTo[vertex] != Double.POSITIVE_INFINITY
+                    || backwardDistTo[vertex] != Double.POSITIVE_INFINITY) {
+                return;
+            }
+            if (numTouched == touched.length) {
+                touched = Arrays.copyOf(touched, 2 * numTouched);
+            }
+            touched[numTouched] = vertex;
+            numTouched += 1;
+        }
+
+        /**
+         * Resets the distances of the vertices touched by the previous query and empties both perimeters.
+         */
+        private void reset() {
+            for (int i = 0; i < numTouched; i += 1) {
+                forwardDistTo[touched[i]] = Double.POSITIVE_INFINITY;
+                backwardDistTo[touched[i]] = Double.POSITIVE_INFINITY;
+            }
+            numTouched = 0;
+            forward.clear();
+            backward.clear();
+        }
+    }
+}
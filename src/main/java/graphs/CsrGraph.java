@@ -0,0 +1,254 @@
+package graphs;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Compressed sparse row (CSR) representation of a directed, edge-weighted graph of geographic locations. Vertices are
+ * the dense integers 0 to <i>V</i> - 1 with coordinates in parallel {@code double[]} arrays, and the outgoing edges of
+ * each vertex are stored contiguously: the edges of vertex <i>v</i> are the indices from {@code offsets[v]}
+ * (inclusive) to {@code offsets[v + 1]} (exclusive) into the parallel {@code targets} and {@code weights} arrays. Each
+ * edge takes 8 bytes, and iterating over a vertex's edges reads adjacent memory.
+ * <p>
+ * As an {@link AStarGraph}, this graph works with every existing solver. {@link #neighbors(Integer)} returns a view
+ * that creates each {@link Edge} on demand, and {@link #estimatedDistance(Integer, Integer)} is the great-circle
+ * distance in degrees, like the geodesic {@code SpatialContext} used to weight map edges. Solvers written against
+ * this class directly can avoid the boxing by using {@link #edgeStart(int)}, {@link #edgeEnd(int)},
+ * {@link #target(int)} and {@link #weight(int)}.
+ *
+ * @see AStarGraph
+ */
+public class CsrGraph implements AStarGraph<Integer> {
+    /**
+     * Factor slightly under 1 applied to the heuristic so that it never exceeds an edge weight rounded to a float.
+     */
+    private static final double HEURISTIC_SCALE = 1 - 1e-6;
+    /**
+     * Latitude of each vertex in degrees.
+     */
+    private final double[] lat;
+    /**
+     * Longitude of each vertex in degrees.
+     */
+    private final double[] lon;
+    /**
+     * Index of the first outgoing edge of each vertex, followed by the total number of edges.
+     */
+    private final int[] offsets;
+    /**
+     * Destination vertex of each edge.
+     */
+    private final int[] targets;
+    /**
+     * Weight of each edge.
+     */
+    private final float[] weights;
+
+    /**
+     * Constructs a graph from the given arrays, which are used directly rather than copied.
+     *
+     * @param lat     the latitude of each vertex in degrees.
+     * @param lon     the longitude of each vertex in degrees.
+     * @param offsets the index of the first outgoing edge of each vertex, followed by the total number of edges.
+     * @param targets the destination vertex of each edge.
+     * @param weights the non-negative weight of each edge.
+     * @throws IllegalArgumentException if the arrays do not describe a valid graph.
+     */
+    public CsrGraph(double[] lat, double[] lon, int[] offsets, int[] targets, float[] weights) {
+        int numVertices = lat.length;
+        if (lon.length != numVertices || offsets.length != numVertices + 1) {
+            throw new IllegalArgumentException("Expected " + numVertices + " longitudes and offsets");
+        }
+        if (targets.length != weights.length || offsets[0] != 0 || offsets[numVertices] != targets.length) {
+            throw new IllegalArgumentException("Offsets do not match " + targets.length + " edges");
+        }
+        for (int v = 0; v < numVertices; v += 1) {
+            if (offsets[v] > offsets[v + 1]) {
+                throw new IllegalArgumentException("Decreasing offsets at vertex " + v);
+            }
+        }
+        for (int e = 0; e < targets.length; e += 1) {
+            if (targets[e] < 0 || targets[e] >= numVertices) {
+                throw new IllegalArgumentException("Edge " + e + " has invalid target " + targets[e]);
+            }
+            if (!(weights[e] >= 0)) {
+                throw new IllegalArgumentException("Edge " + e + " has invalid weight " + weights[e]);
+            }
+        }
+        this.lat = lat;
+        this.lon = lon;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Returns the number of vertices in this graph.
+     *
+     * @return the number of vertices in this graph.
+     */
+    public int numVertices() {
+        return lat.length;
+    }
+
+    /**
+     * Returns the number of edges in this graph.
+     *
+     * @return the number of edges in this graph.
+     */
+    public int numEdges() {
+        return targets.length;
+    }
+
+    /**
+     * Returns the latitude of the given vertex in degrees.
+     *
+     * @param vertex the vertex.
+     * @return the latitude of the given vertex in degrees.
+     */
+    public double lat(int vertex) {
+        return lat[vertex];
+    }
+
+    /**
+     * Returns the longitude of the given vertex in degrees.
+     *
+     * @param vertex the vertex.
+     * @return the longitude of the given vertex in degrees.
+     */
+    public double lon(int vertex) {
+        return lon[vertex];
+    }
+
+    /**
+     * Returns the index of the first outgoing edge of the given vertex.
+     *
+     * @param vertex the vertex.
+     * @return the index of the first outgoing edge of the given vertex.
+     */
+    public int edgeStart(int vertex) {
+        return offsets[vertex];
+    }
+
+    /**
+     * Returns the index after the last outgoing edge of the given vertex.
+     *
+     * @param vertex the vertex.
+     * @return the index after the last outgoing edge of the given vertex.
+     */
+    public int edgeEnd(int vertex) {
+        return offsets[vertex + 1];
+    }
+
+    /**
+     * Returns the destination vertex of the given edge.
+     *
+     * @param edge the index of the edge.
+     * @return the destination vertex of the given edge.
+     */
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * Returns the weight of the given edge.
+     *
+     * @param edge the index of the edge.
+     * @return the weight of the given edge.
+     */
+    public double weight(int edge) {
+        return weights[edge];
+    }
+
+    /**
+     * Returns the reverse of this graph, which has the same vertices and an edge from <i>v</i> to <i>u</i> with the
+     * same weight for every edge from <i>u</i> to <i>v</i> in this graph. The incoming edges of each vertex in the
+     * reverse graph are in order of their originating vertex.
+     *
+     * @return the reverse of this graph.
+     */
+    public CsrGraph reverse() {
+        int numVertices = numVertices();
+        int[] reverseOffsets = new int[numVertices + 1];
+        for (int target : targets) {
+            reverseOffsets[target + 1] += 1;
+        }
+        for (int v = 0; v < numVertices; v += 1) {
+            reverseOffsets[v + 1] += reverseOffsets[v];
+        }
+        int[] next = Arrays.copyOf(reverseOffsets, numVertices);
+        int[] reverseTargets = new int[targets.length];
+        float[] reverseWeights = new float[weights.length];
+        for (int v = 0; v < numVertices; v += 1) {
+            for (int e = offsets[v]; e < offsets[v + 1]; e += 1) {
+                int r = next[targets[e]];
+                next[targets[e]] += 1;
+                reverseTargets[r] = v;
+                reverseWeights[r] = weights[e];
+            }
+        }
+        return new CsrGraph(lat, lon, reverseOffsets, reverseTargets, reverseWeights);
+    }
+
+    @Override
+    public List<Edge<Integer>> neighbors(Integer vertex) {
+        return new Neighbors(vertex);
+    }
+
+    @Override
+    public double estimatedDistance(Integer start, Integer end) {
+        return distance(lat[start], lon[start], lat[end], lon[end]) * HEURISTIC_SCALE;
+    }
+
+    /**
+     * Returns the great-circle distance in degrees between two locations using the haversine formula.
+     *
+     * @param lat1 the latitude of the first location in degrees.
+     * @param lon1 the longitude of the first location in degrees.
+     * @param lat2 the latitude of the second location in degrees.
+     * @param lon2 the longitude of the second location in degrees.
+     * @return the great-circle distance in degrees between the two locations.
+     */
+    public static double distance(double lat1, double lon1, double lat2, double lon2) {
+        double sinHalfLat = Math.sin(Math.toRadians(lat2 - lat1) / 2);
+        double sinHalfLon = Math.sin(Math.toRadians(lon2 - lon1) / 2);
+        double h = sinHalfLat * sinHalfLat
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinHalfLon * sinHalfLon;
+        return Math.toDegrees(2 * Math.atan2(Math.sqrt(h), Math.sqrt(1 - h)));
+    }
+
+    /**
+     * A view of the outgoing edges of a vertex that creates each {@link Edge} on demand.
+     */
+    private class Neighbors extends AbstractList<Edge<Integer>> implements RandomAccess {
+        private final Integer from;
+        private final int start;
+        private final int size;
+
+        /**
+         * Constructs a view of the outgoing edges of the given vertex.
+         *
+         * @param from the vertex.
+         */
+        Neighbors(Integer from) {
+            this.from = from;
+            this.start = offsets[from];
+            this.size = offsets[from + 1] - start;
+        }
+
+        @Override
+        public Edge<Integer> get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+            }
+            return new Edge<>(from, targets[start + index], weights[start + index]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
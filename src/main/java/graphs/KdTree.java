@@ -0,0 +1,233 @@
+package graphs;
+
+import java.util.function.IntPredicate;
+
+/**
+ * k-d tree over the vertices of a {@link CsrGraph} for finding the vertex nearest to a location in O(log <i>V</i>)
+ * expected time. Each vertex is stored as a point on the unit sphere in 3 dimensions rather than as a latitude and
+ * longitude, so the straight-line (chord) distance between two points increases with their great-circle distance.
+ * The nearest vertex by chord distance is therefore also the nearest vertex by {@link CsrGraph#distance}, even across
+ * the antimeridian or near the poles.
+ * <p>
+ * The tree is stored implicitly in arrays: the vertices in each range of positions are split at the median of the
+ * range along the dimension with the widest spread, so the tree is balanced and has no node objects.
+ *
+ * @see CsrGraph
+ */
+public class KdTree {
+    /**
+     * Number of dimensions of each point.
+     */
+    private static final int K = 3;
+    /**
+     * Vertex at each position of the tree.
+     */
+    private final int[] vertices;
+    /**
+     * Coordinates of the vertex at each position, {@link #K} per position.
+     */
+    private final double[] coordinates;
+    /**
+     * Dimension that splits the range whose median is at each position.
+     */
+    private final byte[] axes;
+
+    /**
+     * Constructs a tree over the vertices of the graph that satisfy the given filter.
+     *
+     * @param graph  the graph whose vertices to index.
+     * @param filter the predicate for the vertices to include.
+     */
+    public KdTree(CsrGraph graph, IntPredicate filter) {
+        int size = 0;
+        for (int v = 0; v < graph.numVertices(); v += 1) {
+            if (filter.test(v)) {
+                size += 1;
+            }
+        }
+        vertices = new int[size];
+        coordinates = new double[K * size];
+        axes = new byte[size];
+        int i = 0;
+        for (int v = 0; v < graph.numVertices(); v += 1) {
+            if (filter.test(v)) {
+                double lat = Math.toRadians(graph.lat(v));
+                double lon = Math.toRadians(graph.lon(v));
+                vertices[i] = v;
+                coordinates[K * i] = Math.cos(lat) * Math.cos(lon);
+                coordinates[K * i + 1] = Math.cos(lat) * Math.sin(lon);
+                coordinates[K * i + 2] = Math.sin(lat);
+                i += 1;
+            }
+        }
+        build(0, size);
+    }
+
+    /**
+     * Returns the number of vertices in this tree.
+     *
+     * @return the number of vertices in this tree.
+     */
+    public int size() {
+        return vertices.length;
+    }
+
+    /**
+     * Returns the vertex nearest to the given location by great-circle distance.
+     *
+     * @param lat the latitude of the location in degrees.
+     * @param lon the longitude of the location in degrees.
+     * @return the nearest vertex, or -1 if this tree is empty.
+     */
+    public int nearest(double lat, double lon) {
+        if (vertices.length == 0) {
+            return -1;
+        }
+        Query query = new Query(Math.toRadians(lat), Math.toRadians(lon));
+        query.search(0, vertices.length);
+        return vertices[query.best];
+    }
+
+    /**
+     * Arranges the positions between lo and hi into a subtree by moving the median along the dimension with the widest
+     * spread to the middle position, and then arranging the ranges on either side of it.
+     *
+     * @param lo the first position (inclusive).
+     * @param hi the last position (exclusive).
+     */
+    private void build(int lo, int hi) {
+        while (hi - lo > 1) {
+            int axis = 0;
+            double widest = -1;
+            for (int d = 0; d < K; d += 1) {
+                double min = Double.POSITIVE_INFINITY;
+                double max = Double.NEGATIVE_INFINITY;
+                for (int i = lo; i < hi; i += 1) {
+                    min = Math.min(min, coordinates[K * i + d]);
+                    max = Math.max(max, coordinates[K * i + d]);
+                }
+                if (max - min > widest) {
+                    axis = d;
+                    widest = max - min;
+                }
+            }
+            int mid = (lo + hi) >>> 1;
+            select(lo, hi, mid, axis);
+            axes[mid] = (byte) axis;
+            build(lo, mid);
+            lo = mid + 1;
+        }
+    }
+
+    /**
+     * Partially sorts the positions between lo and hi by the given dimension so that the given position holds the
+     * value that would be there if they were sorted, with smaller or equal values before it and greater or equal
+     * values after it.
+     *
+     * @param lo   the first position (inclusive).
+     * @param hi   the last position (exclusive).
+     * @param k    the position to select.
+     * @param axis the dimension to compare.
+     */
+    private void select(int lo, int hi, int k, int axis) {
+        hi -= 1;
+        while (lo < hi) {
+            double pivot = coordinates[K * ((lo + hi) >>> 1) + axis];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (coordinates[K * i + axis] < pivot) {
+                    i += 1;
+                }
+                while (coordinates[K * j + axis] > pivot) {
+                    j -= 1;
+                }
+                if (i <= j) {
+                    swap(i, j);
+                    i += 1;
+                    j -= 1;
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Swaps the vertices and coordinates at the given positions.
+     *
+     * @param i the first position.
+     * @param j the second position.
+     */
+    private void swap(int i, int j) {
+        int vertex = vertices[i];
+        vertices[i] = vertices[j];
+        vertices[j] = vertex;
+        for (int d = 0; d < K; d += 1) {
+            double coordinate = coordinates[K * i + d];
+            coordinates[K * i + d] = coordinates[K * j + d];
+            coordinates[K * j + d] = coordinate;
+        }
+    }
+
+    /**
+     * A nearest-neighbor search for one location, which keeps the closest position found so far.
+     */
+    private class Query {
+        private final double[] point;
+        private int best;
+        private double bestDistance;
+
+        /**
+         * Constructs a search for the given location.
+         *
+         * @param lat the latitude of the location in radians.
+         * @param lon the longitude of the location in radians.
+         */
+        Query(double lat, double lon) {
+            point = new double[]{Math.cos(lat) * Math.cos(lon), Math.cos(lat) * Math.sin(lon), Math.sin(lat)};
+            best = -1;
+            bestDistance = Double.POSITIVE_INFINITY;
+        }
+
+        /**
+         * Searches the subtree between lo and hi, visiting the side of the split containing the location first and
+         * skipping the other side if the splitting plane is farther away than the closest position found so far.
+         *
+         * @param lo the first position (inclusive).
+         * @param hi the last position (exclusive).
+         */
+        void search(int lo, int hi) {
+            if (lo >= hi) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            double distance = 0.0;
+            for (int d = 0; d < K; d += 1) {
+                double diff = point[d] - coordinates[K * mid + d];
+                distance += diff * diff;
+            }
+            if (distance < bestDistance) {
+                best = mid;
+                bestDistance = distance;
+            }
+            double diff = point[axes[mid]] - coordinates[K * mid + axes[mid]];
+            if (diff < 0) {
+                search(lo, mid);
+                if (diff * diff < bestDistance) {
+                    search(mid + 1, hi);
+                }
+            } else {
+                search(mid + 1, hi);
+                if (diff * diff < bestDistance) {
+                    search(lo, mid);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package graphs;
+
+import graphs.shortestpaths.AStarSolver;
+import minpq.IntIndexedMinPQ;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * {@link AStarGraph} decorator for a {@link CsrGraph} whose heuristic uses precomputed distances to and from a few
+ * landmark vertices (A*, landmarks and the triangle inequality, or ALT). For any landmark <i>L</i>, the triangle
+ * inequality gives two lower bounds on the distance from <i>s</i> to <i>t</i>: <i>d</i>(<i>L</i>, <i>t</i>) -
+ * <i>d</i>(<i>L</i>, <i>s</i>) and <i>d</i>(<i>s</i>, <i>L</i>) - <i>d</i>(<i>t</i>, <i>L</i>). The estimated distance
+ * is the largest of these bounds over all landmarks and the great-circle distance, which is still consistent. When a
+ * landmark lies roughly behind the start or beyond the goal, its bound is close to the real distance along the roads
+ * rather than the straight-line distance, so {@link AStarSolver} expands far fewer vertices.
+ * <p>
+ * The distance tables take 16 bytes per vertex per landmark, stored by vertex so that both bounds for a vertex are
+ * read from adjacent memory.
+ *
+ * @see AStarGraph
+ * @see CsrGraph
+ */
+public class LandmarkGraph implements AStarGraph<Integer> {
+    /**
+     * Strategies for choosing landmarks.
+     */
+    public enum Strategy {
+        /**
+         * Each landmark is the vertex farthest from the landmarks chosen so far, which places the landmarks around the
+         * edges of the map.
+         */
+        FARTHEST,
+        /**
+         * Each landmark is chosen to cover the part of a shortest path tree from a random root where the landmarks
+         * chosen so far give the worst bounds (Goldberg and Werneck's avoid strategy).
+         */
+        AVOID
+    }
+
+    /**
+     * Seed for the random vertices used to choose landmarks, so that the same graph always gets the same landmarks.
+     */
+    private static final long SEED = 373;
+    /**
+     * The decorated graph.
+     */
+    private final CsrGraph graph;
+    /**
+     * The landmark vertices.
+     */
+    private final int[] landmarks;
+    /**
+     * Distance from each landmark to each vertex, at index {@code vertex * landmarks.length + landmark}, or infinity if
+     * the vertex is not reachable from the landmark.
+     */
+    private final double[] fromLandmark;
+    /**
+     * Distance from each vertex to each landmark, at index {@code vertex * landmarks.length + landmark}, or infinity if
+     * the landmark is not reachable from the vertex.
+     */
+    private final double[] toLandmark;
+
+    /**
+     * Constructs a landmark heuristic for the given graph by choosing landmarks with the given strategy and computing
+     * the distances between every landmark and every vertex.
+     *
+     * @param graph        the graph to decorate.
+     * @param numLandmarks the number of landmarks.
+     * @param strategy     the strategy for choosing landmarks.
+     * @throws IllegalArgumentException if the number of landmarks is not between 1 and the number of vertices.
+     */
+    public LandmarkGraph(CsrGraph graph, int numLandmarks, Strategy strategy) {
+        int numVertices = graph.numVertices();
+        if (numLandmarks < 1 || numLandmarks > numVertices) {
+            throw new IllegalArgumentException("Invalid number of landmarks " + numLandmarks);
+        }
+        this.graph = graph;
+        CsrGraph reverse = graph.reverse();
+        landmarks = new int[numLandmarks];
+        fromLandmark = new double[numVertices * numLandmarks];
+        toLandmark = new double[numVertices * numLandmarks];
+        Search forward = new Search(graph);
+        Search backward = new Search(reverse);
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < numLandmarks; i += 1) {
+            if (strategy == Strategy.FARTHEST) {
+                landmarks[i] = farthest(forward, i, random);
+            } else {
+                landmarks[i] = avoid(forward, i, random);
+            }
+            forward.run(landmarks[i]);
+            backward.run(landmarks[i]);
+            for (int v = 0; v < numVertices; v += 1) {
+                fromLandmark[v * numLandmarks + i] = forward.distTo[v];
+                toLandmark[v * numLandmarks + i] = backward.distTo[v];
+            }
+        }
+    }
+
+    /**
+     * Returns the landmark vertices.
+     *
+     * @return a copy of the array of landmark vertices.
+     */
+    public int[] landmarks() {
+        return landmarks.clone();
+    }
+
+    @Override
+    public List<Edge<Integer>> neighbors(Integer vertex) {
+        return graph.neighbors(vertex);
+    }
+
+    @Override
+    public double estimatedDistance(Integer start, Integer end) {
+        return Math.max(graph.estimatedDistance(start, end), bound(start, end, landmarks.length));
+    }
+
+    /**
+     * Returns the largest lower bound on the distance from start to end given by the first landmarks.
+     *
+     * @param start        the beginning vertex.
+     * @param end          the destination vertex.
+     * @param numLandmarks the number of landmarks to use.
+     * @return the largest lower bound given by the landmarks, or 0 if none of them give a bound.
+     */
+    private double bound(int start, int end, int numLandmarks) {
+        int s = start * landmarks.length;
+        int t = end * landmarks.length;
+        double result = 0.0;
+        for (int i = 0; i < numLandmarks; i += 1) {
+            // Subtracting infinities gives NaN, which never compares greater than the result.
+            double from = fromLandmark[t + i] - fromLandmark[s + i];
+            double to = toLandmark[s + i] - toLandmark[t + i];
+            if (from > result && from != Double.POSITIVE_INFINITY) {
+                result = from;
+            }
+            if (to > result && to != Double.POSITIVE_INFINITY) {
+                result = to;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the vertex farthest from the landmarks chosen so far, or from a random vertex for the first landmark.
+     *
+     * @param search       the search over the graph.
+     * @param numLandmarks the number of landmarks chosen so far.
+     * @param random       the source of random vertices.
+     * @return the next landmark.
+     */
+    private int farthest(Search search, int numLandmarks, SplittableRandom random) {
+        int[] sources = numLandmarks == 0
+                ? new int[]{random.nextInt(graph.numVertices())}
+                : Arrays.copyOf(landmarks, numLandmarks);
+        search.run(sources);
+        for (int i = search.numSettled - 1; i >= 0; i -= 1) {
+            if (!contains(search.settled[i], numLandmarks)) {
+                return search.settled[i];
+            }
+        }
+        return randomOther(numLandmarks, random);
+    }
+
+    /**
+     * Returns the next landmark chosen by the avoid strategy. Each vertex in a shortest path tree from a random root is
+     * weighted by how much its distance from the root exceeds the lower bound given by the landmarks chosen so far, and
+     * the size of a subtree is the sum of these weights, or 0 if the subtree already contains a landmark. Starting from
+     * the root of the largest subtree, the landmark is the leaf reached by repeatedly moving to the largest child.
+     *
+     * @param search       the search over the graph.
+     * @param numLandmarks the number of landmarks chosen so far.
+     * @param random       the source of random vertices.
+     * @return the next landmark.
+     */
+    private int avoid(Search search, int numLandmarks, SplittableRandom random) {
+        int numVertices = graph.numVertices();
+        int root = random.nextInt(numVertices);
+        search.run(root);
+        double[] size = new double[numVertices];
+        boolean[] covered = new boolean[numVertices];
+        for (int i = 0; i < numLandmarks; i += 1) {
+            covered[landmarks[i]] = true;
+        }
+        // Vertices are settled after their parents, so visiting them in reverse visits every child before its parent.
+        for (int i = search.numSettled - 1; i > 0; i -= 1) {
+            int v = search.settled[i];
+            int parent = search.parent[v];
+            if (covered[v]) {
+                size[v] = 0.0;
+                covered[parent] = true;
+            } else {
+                size[v] += search.distTo[v] - bound(root, v, numLandmarks);
+                size[parent] += size[v];
+            }
+        }
+        int best = -1;
+        for (int i = 0; i < search.numSettled; i += 1) {
+            int v = search.settled[i];
+            if (!covered[v] && (best < 0 || size[v] > size[best])) {
+                best = v;
+            }
+        }
+        if (best < 0) {
+            return randomOther(numLandmarks, random);
+        }
+        // Walk down to a leaf, always moving to the child with the largest subtree.
+        int[] childStart = new int[numVertices + 1];
+        for (int i = 1; i < search.numSettled; i += 1) {
+            childStart[search.parent[search.settled[i]] + 1] += 1;
+        }
+        for (int v = 0; v < numVertices; v += 1) {
+            childStart[v + 1] += childStart[v];
+        }
+        int[] children = new int[childStart[numVertices]];
+        int[] next = Arrays.copyOf(childStart, numVertices);
+        for (int i = 1; i < search.numSettled; i += 1) {
+            int v = search.settled[i];
+            children[next[search.parent[v]]] = v;
+            next[search.parent[v]] += 1;
+        }
+        while (childStart[best] < childStart[best + 1]) {
+            int largest = children[childStart[best]];
+            for (int i = childStart[best] + 1; i < childStart[best + 1]; i += 1) {
+                if (size[children[i]] > size[largest]) {
+                    largest = children[i];
+                }
+            }
+            best = largest;
+        }
+        return best;
+    }
+
+    /**
+     * Returns a random vertex that is not one of the first landmarks, for when a strategy cannot find one.
+     *
+     * @param numLandmarks the number of landmarks chosen so far, which must be less than the number of vertices.
+     * @param random       the source of random vertices.
+     * @return a random vertex that is not a landmark.
+     */
+    private int randomOther(int numLandmarks, SplittableRandom random) {
+        int vertex = random.nextInt(graph.numVertices());
+        while (contains(vertex, numLandmarks)) {
+            vertex = random.nextInt(graph.numVertices());
+        }
+        return vertex;
+    }
+
+    /**
+     * Returns true if the given vertex is one of the first landmarks.
+     *
+     * @param vertex       the vertex to check.
+     * @param numLandmarks the number of landmarks to check.
+     * @return true if the vertex is one of the first landmarks.
+     */
+    private boolean contains(int vertex, int numLandmarks) {
+        for (int i = 0; i < numLandmarks; i += 1) {
+            if (landmarks[i] == vertex) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Dijkstra's algorithm over a {@link CsrGraph} that computes the distance to every vertex and records the order
+     * in which vertices are settled.
+     */
+    private static class Search {
+        private final CsrGraph graph;
+        private final IntIndexedMinPQ perimeter;
+        /**
+         * Distance from the nearest source to each vertex, or infinity if it is not reachable.
+         */
+        private final double[] distTo;
+        /**
+         * Previous vertex on the shortest path to each reachable vertex other than the sources.
+         */
+        private final int[] parent;
+        /**
+         * Reachable vertices in the order they were settled, so in increasing order of distance.
+         */
+        private final int[] settled;
+        private int numSettled;
+
+        /**
+         * Constructs a search over the given graph.
+         *
+         * @param graph the graph to search.
+         */
+        Search(CsrGraph graph) {
+            this.graph = graph;
+            perimeter = new IntIndexedMinPQ(graph.numVertices());
+            distTo = new double[graph.numVertices()];
+            parent = new int[graph.numVertices()];
+            settled = new int[graph.numVertices()];
+            numSettled = 0;
+        }
+
+        /**
+         * Computes the distances from the nearest of the given sources to every vertex.
+         *
+         * @param sources the source vertices.
+         */
+        void run(int... sources) {
+            Arrays.fill(distTo, Double.POSITIVE_INFINITY);
+            numSettled = 0;
+            for (int source : sources) {
+                distTo[source] = 0.0;
+                parent[source] = source;
+                perimeter.add(source, 0.0);
+            }
+            while (!perimeter.isEmpty()) {
+                int from = perimeter.removeMin();
+                settled[numSettled] = from;
+                numSettled += 1;
+                for (int e = graph.edgeStart(from); e < graph.edgeEnd(from); e += 1) {
+                    int to = graph.target(e);
+                    double newDist = distTo[from] + graph.weight(e);
+                    if (newDist < distTo[to]) {
+                        distTo[to] = newDist;
+                        parent[to] = from;
+                        perimeter.addOrChangePriority(to, newDist);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -3,12 +3,16 @@ package graphs.shortestpaths;
 import graphs.AStarGraph;
 import graphs.Edge;
 import minpq.DoubleMapMinPQ;
+import minpq.IntIndexedMinPQ;
 import minpq.MinPQ;
 
 import java.util.*;
 
 /**
- * A* search implementation for single-pair shortest paths in an {@link AStarGraph}.
+ * A* search implementation for single-pair shortest paths in an {@link AStarGraph}. The search stops as soon as the
+ * goal is removed from the perimeter, so the work done depends on how far the goal is from the start rather than on
+ * the size of the graph. Since a vertex is added back to the perimeter whenever a shorter path to it is found, the
+ * solution is a shortest path as long as the graph's heuristic never overestimates the distance to the goal.
  *
  * @param <V> the type of vertices.
  * @see AStarGraph
@@ -16,25 +20,54 @@ import java.util.*;
 public class AStarSolver<V> {
     private final Map<V, Edge<V>> edgeTo;
     private final Map<V, Double> distTo;
+    /**
+     * Workspace holding the distances and edges instead of the maps, or null if the maps are used.
+     */
+    private final SearchWorkspace<V> workspace;
+    /**
+     * Version of the workspace search that this solver ran.
+     */
+    private final int version;
     private final V goal;
+    private int expanded;
 
     /**
-     * Constructs a new instance by executing A* search on the graph from the start to the goal.
+     * Constructs a new instance by executing A* search on the graph from the start until reaching the goal.
      *
      * @param graph the input graph.
      * @param start the start vertex.
      * @param goal  the goal vertex.
      */
     public AStarSolver(AStarGraph<V> graph, V start, V goal) {
+        this(graph, start, goal, new DoubleMapMinPQ<>());
+    }
+
+    /**
+     * Constructs a new instance by executing A* search on the graph from the start until reaching the goal using the
+     * given empty priority queue for the perimeter. A monotone priority queue such as {@link minpq.RadixHeapMinPQ}
+     * requires the graph's heuristic to be consistent.
+     *
+     * @param graph     the input graph.
+     * @param start     the start vertex.
+     * @param goal      the goal vertex.
+     * @param perimeter the empty priority queue for the perimeter.
+     */
+    public AStarSolver(AStarGraph<V> graph, V start, V goal, MinPQ<V> perimeter) {
         edgeTo = new HashMap<>();
         distTo = new HashMap<>();
+        workspace = null;
+        version = 0;
         this.goal = goal;
-        MinPQ<V> perimeter = new DoubleMapMinPQ<>();
+        expanded = 0;
         perimeter.add(start, 0.0);
         edgeTo.put(start, null);
         distTo.put(start, 0.0);
         while (!perimeter.isEmpty()) {
             V from = perimeter.removeMin();
+            if (from.equals(goal)) {
+                break;
+            }
+            expanded += 1;
             for (Edge<V> e : graph.neighbors(from)) {
                 V to = e.to;
                 double oldDist = distTo.getOrDefault(to, Double.POSITIVE_INFINITY);
@@ -49,12 +82,67 @@ public class AStarSolver<V> {
         }
     }
 
+    /**
+     * Constructs a new instance by executing A* search on the graph from the start until reaching the goal, storing the
+     * distances, edges, and perimeter in the given workspace instead of allocating them. The solution must be read
+     * before the workspace is used by another search.
+     *
+     * @param graph     the input graph.
+     * @param start     the start vertex.
+     * @param goal      the goal vertex.
+     * @param workspace the workspace to reuse, such as {@link SearchWorkspace#forThread(int)}.
+     */
+    public AStarSolver(AStarGraph<V> graph, V start, V goal, SearchWorkspace<V> workspace) {
+        edgeTo = null;
+        distTo = null;
+        this.workspace = workspace;
+        version = workspace.reset();
+        this.goal = goal;
+        expanded = 0;
+        IntIndexedMinPQ perimeter = workspace.perimeter();
+        int s = workspace.index(start);
+        int g = workspace.index(goal);
+        perimeter.add(s, 0.0);
+        workspace.put(s, 0.0, -1);
+        while (!perimeter.isEmpty()) {
+            int from = perimeter.removeMin();
+            if (from == g) {
+                break;
+            }
+            expanded += 1;
+            double fromDist = workspace.distTo(from);
+            for (Edge<V> e : graph.neighbors(workspace.vertex(from))) {
+                int to = workspace.index(e.to);
+                double newDist = fromDist + e.weight;
+                if (newDist < workspace.distTo(to)) {
+                    workspace.put(to, newDist, from);
+                    double priority = newDist + graph.estimatedDistance(e.to, goal);
+                    perimeter.addOrChangePriority(to, priority);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of vertices whose outgoing edges were relaxed before reaching the goal. A vertex is counted
+     * again each time it is removed from the perimeter after a shorter path to it was found.
+     *
+     * @return the number of vertices expanded by the search.
+     */
+    public int expanded() {
+        return expanded;
+    }
+
     /**
      * Returns the single-pair shortest path from the stored start to the stored goal.
      *
      * @return a list of vertices representing the shortest path.
+     * @throws IllegalStateException if this solver's workspace has been used by another search since.
      */
     public List<V> solution() {
+        if (workspace != null) {
+            return workspace.solution(version, goal);
+        }
         List<V> path = new ArrayList<>();
         V curr = goal;
         path.add(curr);
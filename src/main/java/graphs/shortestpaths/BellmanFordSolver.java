@@ -6,14 +6,29 @@ import graphs.Graph;
 import java.util.*;
 
 /**
- * Bellman-Ford algorithm implementation of the {@link ShortestPathSolver} interface.
+ * Bellman-Ford algorithm implementation of the {@link ShortestPathSolver} interface. Edge weights may be negative. The
+ * rounds of relaxation stop early once a round changes nothing, and a negative cycle reachable from the start is
+ * detected instead of returning meaningless paths.
  *
  * @param <V> the type of vertices.
  * @see ShortestPathSolver
+ * @see SPFASolver
  */
 public class BellmanFordSolver<V> implements ShortestPathSolver<V> {
     private final Map<V, Edge<V>> edgeTo;
     private final Map<V, Double> distTo;
+    /**
+     * Workspace holding the distances and edges instead of the maps, or null if the maps are used.
+     */
+    private final SearchWorkspace<V> workspace;
+    /**
+     * Version of the workspace search that this solver ran.
+     */
+    private final int version;
+    /**
+     * Negative cycle reachable from the start, or null if there is none.
+     */
+    private final List<V> negativeCycle;
 
     /**
      * Constructs a new instance by executing Bellman-Ford algorithm on the graph from the start.
@@ -24,26 +39,125 @@ public class BellmanFordSolver<V> implements ShortestPathSolver<V> {
     public BellmanFordSolver(Graph<V> graph, V start) {
         edgeTo = new HashMap<>();
         distTo = new HashMap<>();
+        workspace = null;
+        version = 0;
         edgeTo.put(start, null);
         distTo.put(start, 0.0);
         List<V> vertices = vertices(graph, start);
-        for (int i = 1; i < vertices.size(); i += 1) {
+        // A shortest path has at most V - 1 edges, so a change in round V means there is a negative cycle.
+        boolean changed = true;
+        for (int i = 1; i <= vertices.size() && changed; i += 1) {
+            changed = false;
             for (V from : vertices) {
+                double fromDist = distTo.getOrDefault(from, Double.POSITIVE_INFINITY);
+                if (fromDist == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
                 for (Edge<V> e : graph.neighbors(from)) {
                     V to = e.to;
                     double oldDist = distTo.getOrDefault(to, Double.POSITIVE_INFINITY);
-                    double newDist = distTo.get(from) + e.weight;
+                    double newDist = fromDist + e.weight;
                     if (newDist < oldDist) {
                         edgeTo.put(to, e);
                         distTo.put(to, newDist);
+                        changed = true;
                     }
                 }
             }
         }
+        negativeCycle = changed ? parentCycle(edgeTo) : null;
     }
 
+    /**
+     * Constructs a new instance by executing Bellman-Ford algorithm on the graph from the start, storing the distances
+     * and edges in the given workspace instead of allocating them. The solutions must be read before the workspace is
+     * used by another search.
+     *
+     * @param graph     the input graph.
+     * @param start     the start vertex.
+     * @param workspace the workspace to reuse, such as {@link SearchWorkspace#forThread(int)}.
+     */
+    public BellmanFordSolver(Graph<V> graph, V start, SearchWorkspace<V> workspace) {
+        edgeTo = null;
+        distTo = null;
+        this.workspace = workspace;
+        version = workspace.reset();
+        // Breadth-first search for the vertices reachable from the start, marking each one as it is queued.
+        int[] vertices = workspace.scratch(0);
+        int size = 0;
+        int s = workspace.index(start);
+        vertices[size] = s;
+        size += 1;
+        workspace.mark(s);
+        for (int i = 0; i < size; i += 1) {
+            for (Edge<V> e : graph.neighbors(workspace.vertex(vertices[i]))) {
+                int to = workspace.index(e.to);
+                if (!workspace.isMarked(to)) {
+                    workspace.mark(to);
+                    vertices[size] = to;
+                    size += 1;
+                }
+            }
+        }
+        workspace.put(s, 0.0, -1);
+        boolean changed = true;
+        for (int round = 1; round <= size && changed; round += 1) {
+            changed = false;
+            for (int i = 0; i < size; i += 1) {
+                int from = vertices[i];
+                double fromDist = workspace.distTo(from);
+                if (fromDist == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                for (Edge<V> e : graph.neighbors(workspace.vertex(from))) {
+                    int to = workspace.index(e.to);
+                    double newDist = fromDist + e.weight;
+                    if (newDist < workspace.distTo(to)) {
+                        workspace.put(to, newDist, from);
+                        changed = true;
+                    }
+                }
+            }
+        }
+        negativeCycle = changed ? workspace.parentCycle(vertices, size) : null;
+    }
+
+    /**
+     * Returns true if there is a negative cycle reachable from the start.
+     *
+     * @return true if there is a negative cycle reachable from the start.
+     */
+    public boolean hasNegativeCycle() {
+        return negativeCycle != null;
+    }
+
+    /**
+     * Returns a negative cycle reachable from the start.
+     *
+     * @return a list of the vertices around the cycle in order, beginning and ending with the same vertex.
+     * @throws IllegalStateException if there is no negative cycle reachable from the start.
+     */
+    public List<V> negativeCycle() {
+        if (negativeCycle == null) {
+            throw new IllegalStateException("No negative cycle reachable from the start");
+        }
+        return negativeCycle;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if there is a negative cycle reachable from the start, or if this solver's
+     *                               workspace has been used by another search since.
+     */
     @Override
     public List<V> solution(V goal) {
+        if (negativeCycle != null) {
+            throw new IllegalStateException("Negative cycle reachable from the start: " + negativeCycle);
+        }
+        if (workspace != null) {
+            return workspace.solution(version, goal);
+        }
         List<V> path = new ArrayList<>();
         V curr = goal;
         path.add(curr);
@@ -55,6 +169,43 @@ public class BellmanFordSolver<V> implements ShortestPathSolver<V> {
         return path;
     }
 
+    /**
+     * Returns a cycle in the graph formed by the edge to each vertex, which must be a negative cycle since an edge is
+     * only recorded when it gives a strictly shorter path. Each vertex is visited at most twice.
+     *
+     * @param edgeTo the edge to each reached vertex, or null for the start.
+     * @param <V>    the type of vertices.
+     * @return a list of the vertices around the cycle in order, beginning and ending with the same vertex, or null if
+     * there is no cycle.
+     */
+    static <V> List<V> parentCycle(Map<V, Edge<V>> edgeTo) {
+        Map<V, Integer> walkOf = new HashMap<>();
+        int walk = 0;
+        for (V vertex : edgeTo.keySet()) {
+            walk += 1;
+            V curr = vertex;
+            while (curr != null && !walkOf.containsKey(curr)) {
+                walkOf.put(curr, walk);
+                Edge<V> e = edgeTo.get(curr);
+                curr = e == null ? null : e.from;
+            }
+            if (curr != null && walkOf.get(curr) == walk) {
+                // This walk came back to one of its own vertices, so that vertex is on a cycle.
+                List<V> cycle = new ArrayList<>();
+                cycle.add(curr);
+                V prev = edgeTo.get(curr).from;
+                while (!prev.equals(curr)) {
+                    cycle.add(prev);
+                    prev = edgeTo.get(prev).from;
+                }
+                cycle.add(curr);
+                Collections.reverse(cycle);
+                return cycle;
+            }
+        }
+        return null;
+    }
+
     private List<V> vertices(Graph<V> graph, V start) {
         List<V> result = new ArrayList<>();
         Queue<V> queue = new ArrayDeque<>();
@@ -0,0 +1,31 @@
+package graphs.shortestpaths;
+
+import graphs.AStarGraph;
+
+/**
+ * Bidirectional A* search implementation for single-pair shortest paths in an {@link AStarGraph}. The forward search
+ * is guided toward the goal and the backward search toward the start using the average of the two heuristics as a
+ * single potential: half the estimated distance to the goal minus half the estimated distance from the start. Both
+ * searches then agree on the reduced length of every path, so they can stop with the same criterion as
+ * {@link BidirectionalDijkstraSolver}. The solution is a shortest path as long as the graph's heuristic is consistent.
+ *
+ * @param <V> the type of vertices.
+ * @see AStarSolver
+ * @see BidirectionalDijkstraSolver
+ */
+public class BidirectionalAStarSolver<V> extends BidirectionalDijkstraSolver<V> {
+    /**
+     * Constructs a new instance by executing bidirectional A* search on the graph from the start and on the reverse
+     * graph from the goal until the shortest path between them is found.
+     *
+     * @param graph   the input graph.
+     * @param reverse the reverse of the input graph, with an edge from <i>v</i> to <i>u</i> for every edge from
+     *                <i>u</i> to <i>v</i> in the input graph.
+     * @param start   the start vertex.
+     * @param goal    the goal vertex.
+     */
+    public BidirectionalAStarSolver(AStarGraph<V> graph, AStarGraph<V> reverse, V start, V goal) {
+        super(graph, reverse, start, goal,
+                v -> (graph.estimatedDistance(v, goal) - reverse.estimatedDistance(v, start)) / 2);
+    }
+}
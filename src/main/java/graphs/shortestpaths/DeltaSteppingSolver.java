@@ -0,0 +1,468 @@
+package graphs.shortestpaths;
+
+import graphs.CsrGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Parallel delta-stepping implementation of the {@link ShortestPathSolver} interface for computing the full shortest
+ * paths tree of a {@link CsrGraph}. Instead of settling one vertex at a time like {@link DijkstraSolver}, vertices are
+ * grouped into buckets of distances of width delta and every vertex in the current bucket is processed in parallel on
+ * a {@link ForkJoinPool}. Light edges (weight at most delta) are relaxed repeatedly until the bucket stops changing,
+ * since they may add vertices back into it; heavy edges can only reach later buckets, so they are relaxed once per
+ * vertex after the bucket is settled. Tentative distances are updated with compare-and-set, and each thread appends
+ * the vertices it improves to its own buckets, so threads only synchronize between phases.
+ * <p>
+ * A small delta does little redundant work but has many sequential phases, like Dijkstra's algorithm; a large delta
+ * has few phases with much parallelism but may relax a vertex many times before its distance is final, like the
+ * Bellman-Ford algorithm. The default is the mean edge weight.
+ *
+ * @see ShortestPathSolver
+ * @see DijkstraSolver
+ */
+public class DeltaSteppingSolver implements ShortestPathSolver<Integer> {
+    /**
+     * Maximum number of vertices processed by a task before it is split in half.
+     */
+    private static final int THRESHOLD = 256;
+    /**
+     * Maximum number of buckets that can hold vertices at once, which bounds the ratio of maximum edge weight to delta.
+     */
+    private static final int MAX_BUCKETS = 1 << 20;
+    private final CsrGraph graph;
+    private final int start;
+    private final double delta;
+    /**
+     * Number of buckets in the cyclic array of buckets: every vertex in a bucket after the current one is within
+     * delta plus the maximum edge weight of the current bucket, with one more bucket for rounding.
+     */
+    private final int numBuckets;
+    /**
+     * Bits of the tentative distance from the start to each vertex. Non-negative doubles compare in the same order as
+     * their bits, so the distances can be updated with compare-and-set.
+     */
+    private final AtomicLongArray distTo;
+    /**
+     * Previous vertex on the shortest path to each vertex, or -1 for the start and unreachable vertices.
+     */
+    private final int[] edgeTo;
+    /**
+     * Index of the bucket in which each vertex was last settled plus 1, or 0 if it has not been settled.
+     */
+    private final long[] relaxedIn;
+    /**
+     * Buckets of each thread that has run a task, created when the thread runs its first task. They are kept here
+     * rather than in thread-locals, which would outlive the solver in the threads of a shared pool, and are dropped
+     * once every bucket is empty.
+     */
+    private final Map<Thread, Buckets> buckets;
+    /**
+     * Vertices whose edges are relaxed in the current phase.
+     */
+    private int[] frontier;
+
+    /**
+     * Constructs a new instance by executing delta-stepping on the graph from the start with the mean edge weight as
+     * delta on the common {@link ForkJoinPool}.
+     *
+     * @param graph the input graph.
+     * @param start the start vertex.
+     * @throws IllegalArgumentException if the start is not a vertex of the graph.
+     */
+    public DeltaSteppingSolver(CsrGraph graph, int start) {
+        this(graph, start, meanWeight(graph), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new instance by executing delta-stepping on the graph from the start with the given bucket width,
+     * running the parallel phases on the given pool.
+     *
+     * @param graph the input graph.
+     * @param start the start vertex.
+     * @param delta the width of each bucket of distances.
+     * @param pool  the pool to run on.
+     * @throws IllegalArgumentException if the start is not a vertex of the graph, if delta is not positive and finite,
+     *                                  or if delta is so small compared to the maximum edge weight that there would be
+     *                                  more than 2<sup>20</sup> buckets.
+     */
+    public DeltaSteppingSolver(CsrGraph graph, int start, double delta, ForkJoinPool pool) {
+        int numVertices = graph.numVertices();
+        if (start < 0 || start >= numVertices) {
+            throw new IllegalArgumentException("Vertex " + start + " out of range [0, " + numVertices + ")");
+        }
+        if (!(delta > 0) || Double.isInfinite(delta)) {
+            throw new IllegalArgumentException("Delta must be positive and finite but was " + delta);
+        }
+        double maxWeight = 0.0;
+        for (int e = 0; e < graph.numEdges(); e += 1) {
+            maxWeight = Math.max(maxWeight, graph.weight(e));
+        }
+        if (maxWeight / delta > MAX_BUCKETS - 3) {
+            throw new IllegalArgumentException("Delta " + delta + " is too small for maximum weight " + maxWeight);
+        }
+        this.graph = graph;
+        this.start = start;
+        this.delta = delta;
+        numBuckets = (int) (maxWeight / delta) + 3;
+        distTo = new AtomicLongArray(numVertices);
+        long infinity = Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+        for (int v = 0; v < numVertices; v += 1) {
+            distTo.set(v, infinity);
+        }
+        edgeTo = new int[numVertices];
+        relaxedIn = new long[numVertices];
+        buckets = new ConcurrentHashMap<>();
+        frontier = new int[0];
+        run(pool);
+        Arrays.fill(edgeTo, -1);
+        pool.invoke(new Parents(0, numVertices));
+        linkZeroWeightVertices();
+    }
+
+    /**
+     * Returns the length of the shortest path from the start to the given vertex.
+     *
+     * @param vertex the vertex.
+     * @return the length of the shortest path, or infinity if the vertex is not reachable.
+     */
+    public double distTo(int vertex) {
+        return Double.longBitsToDouble(distTo.get(vertex));
+    }
+
+    /**
+     * Returns the width of each bucket of distances.
+     *
+     * @return the width of each bucket of distances.
+     */
+    public double delta() {
+        return delta;
+    }
+
+    @Override
+    public List<Integer> solution(Integer goal) {
+        List<Integer> path = new ArrayList<>();
+        int curr = goal;
+        path.add(curr);
+        while (edgeTo[curr] != -1) {
+            curr = edgeTo[curr];
+            path.add(curr);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Returns the mean edge weight of the graph, or 1 if it has no edges with positive weight.
+     *
+     * @param graph the input graph.
+     * @return the mean edge weight.
+     */
+    private static double meanWeight(CsrGraph graph) {
+        double sum = 0.0;
+        for (int e = 0; e < graph.numEdges(); e += 1) {
+            sum += graph.weight(e);
+        }
+        return sum > 0 ? sum / graph.numEdges() : 1.0;
+    }
+
+    /**
+     * Returns an array with the given capacity containing the elements of the given array, or the array itself if it
+     * is large enough.
+     *
+     * @param array    the array.
+     * @param capacity the required capacity.
+     * @return an array with at least the given capacity.
+     */
+    private static int[] ensureCapacity(int[] array, int capacity) {
+        if (array.length >= capacity) {
+            return array;
+        }
+        return Arrays.copyOf(array, Math.max(capacity, 2 * array.length));
+    }
+
+    /**
+     * Processes the buckets in order from the start until every bucket is empty.
+     *
+     * @param pool the pool to run on.
+     */
+    private void run(ForkJoinPool pool) {
+        distTo.set(start, Double.doubleToRawLongBits(0.0));
+        frontier = ensureCapacity(frontier, 1);
+        frontier[0] = start;
+        int size = 1;
+        long bucket = 0;
+        while (size > 0) {
+            int slot = (int) (bucket % numBuckets);
+            // Light edges may put vertices back into the current bucket, so repeat until it stays empty.
+            while (size > 0) {
+                pool.invoke(new Relax(frontier, 0, size, bucket, true));
+                size = drain(slot);
+            }
+            size = 0;
+            for (Buckets b : buckets.values()) {
+                frontier = ensureCapacity(frontier, size + b.numSettled);
+                System.arraycopy(b.settled, 0, frontier, size, b.numSettled);
+                size += b.numSettled;
+                b.numSettled = 0;
+            }
+            pool.invoke(new Relax(frontier, 0, size, bucket, false));
+            bucket = next(bucket);
+            size = bucket < 0 ? 0 : drain((int) (bucket % numBuckets));
+        }
+        buckets.clear();
+    }
+
+    /**
+     * Moves the vertices of every thread's bucket in the given slot into the frontier.
+     *
+     * @param slot the index into the cyclic array of buckets.
+     * @return the number of vertices in the frontier.
+     */
+    private int drain(int slot) {
+        int size = 0;
+        for (Buckets b : buckets.values()) {
+            if (b.sizes[slot] > 0) {
+                frontier = ensureCapacity(frontier, size + b.sizes[slot]);
+                System.arraycopy(b.vertices[slot], 0, frontier, size, b.sizes[slot]);
+                size += b.sizes[slot];
+                b.sizes[slot] = 0;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns the index of the next non-empty bucket after the given bucket.
+     *
+     * @param bucket the index of the current bucket.
+     * @return the index of the next non-empty bucket, or -1 if every bucket is empty.
+     */
+    private long next(long bucket) {
+        for (long i = bucket + 1; i < bucket + numBuckets; i += 1) {
+            int slot = (int) (i % numBuckets);
+            for (Buckets b : buckets.values()) {
+                if (b.sizes[slot] > 0) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Lowers the tentative distance to the given vertex if the new distance is shorter, adding the vertex to the
+     * calling thread's bucket for the new distance.
+     *
+     * @param own     the buckets of the calling thread.
+     * @param to      the vertex.
+     * @param newDist the length of the new path to the vertex.
+     */
+    private void relax(Buckets own, int to, double newDist) {
+        long newBits = Double.doubleToRawLongBits(newDist);
+        long oldBits = distTo.get(to);
+        while (newBits < oldBits) {
+            if (distTo.compareAndSet(to, oldBits, newBits)) {
+                own.add((int) ((long) (newDist / delta) % numBuckets), to);
+                return;
+            }
+            oldBits = distTo.get(to);
+        }
+    }
+
+    /**
+     * Sets the previous vertex of each vertex that is reached only through edges of weight 0, which are skipped by
+     * {@link Parents} since choosing among them in parallel could form a cycle. Each such vertex is linked through a
+     * zero-weight edge from a vertex already on the tree.
+     */
+    private void linkZeroWeightVertices() {
+        int numVertices = graph.numVertices();
+        int[] queue = new int[numVertices];
+        int size = 0;
+        boolean hasOrphans = false;
+        for (int v = 0; v < numVertices; v += 1) {
+            if (v == start || edgeTo[v] != -1) {
+                queue[size] = v;
+                size += 1;
+            } else if (distTo(v) < Double.POSITIVE_INFINITY) {
+                hasOrphans = true;
+            }
+        }
+        if (!hasOrphans) {
+            return;
+        }
+        for (int i = 0; i < size; i += 1) {
+            int from = queue[i];
+            for (int e = graph.edgeStart(from); e < graph.edgeEnd(from); e += 1) {
+                int to = graph.target(e);
+                if (graph.weight(e) == 0 && to != start && edgeTo[to] == -1 && distTo(to) == distTo(from)) {
+                    edgeTo[to] = from;
+                    queue[size] = to;
+                    size += 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Vertices added to the buckets by one thread, along with the vertices it settled in the current bucket.
+     */
+    private static class Buckets {
+        /**
+         * Vertices in each bucket of the cyclic array of buckets.
+         */
+        private final int[][] vertices;
+        private final int[] sizes;
+        /**
+         * Vertices settled in the current bucket whose heavy edges have not been relaxed yet.
+         */
+        private int[] settled;
+        private int numSettled;
+
+        /**
+         * Constructs empty buckets.
+         *
+         * @param numBuckets the number of buckets in the cyclic array of buckets.
+         */
+        Buckets(int numBuckets) {
+            vertices = new int[numBuckets][];
+            Arrays.fill(vertices, new int[0]);
+            sizes = new int[numBuckets];
+            settled = new int[0];
+            numSettled = 0;
+        }
+
+        /**
+         * Adds the vertex to the bucket in the given slot.
+         *
+         * @param slot   the index into the cyclic array of buckets.
+         * @param vertex the vertex.
+         */
+        void add(int slot, int vertex) {
+            vertices[slot] = ensureCapacity(vertices[slot], sizes[slot] + 1);
+            vertices[slot][sizes[slot]] = vertex;
+            sizes[slot] += 1;
+        }
+
+        /**
+         * Adds the vertex to the list of settled vertices.
+         *
+         * @param vertex the vertex.
+         */
+        void settle(int vertex) {
+            settled = ensureCapacity(settled, numSettled + 1);
+            settled[numSettled] = vertex;
+            numSettled += 1;
+        }
+    }
+
+    /**
+     * Task that relaxes the light or heavy edges of a range of vertices, splitting the range in half until it has at
+     * most {@link #THRESHOLD} vertices.
+     */
+    private class Relax extends RecursiveAction {
+        private final int[] vertices;
+        private final int lo;
+        private final int hi;
+        private final long bucket;
+        private final boolean isLight;
+
+        /**
+         * Constructs a task for the vertices from lo (inclusive) to hi (exclusive).
+         *
+         * @param vertices the vertices in the current bucket.
+         * @param lo       the first index into the vertices.
+         * @param hi       one past the last index into the vertices.
+         * @param bucket   the index of the current bucket.
+         * @param isLight  true to relax light edges, or false to relax heavy edges.
+         */
+        Relax(int[] vertices, int lo, int hi, long bucket, boolean isLight) {
+            this.vertices = vertices;
+            this.lo = lo;
+            this.hi = hi;
+            this.bucket = bucket;
+            this.isLight = isLight;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > THRESHOLD) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new Relax(vertices, lo, mid, bucket, isLight), new Relax(vertices, mid, hi, bucket, isLight));
+                return;
+            }
+            Buckets own = buckets.computeIfAbsent(Thread.currentThread(), thread -> new Buckets(numBuckets));
+            for (int i = lo; i < hi; i += 1) {
+                int from = vertices[i];
+                double fromDist = distTo(from);
+                if (isLight) {
+                    // Skip vertices that moved to an earlier bucket after they were added to this one.
+                    if ((long) (fromDist / delta) != bucket) {
+                        continue;
+                    }
+                    if (relaxedIn[from] != bucket + 1) {
+                        // Racing threads may both settle the vertex, which only repeats work.
+                        relaxedIn[from] = bucket + 1;
+                        own.settle(from);
+                    }
+                }
+                for (int e = graph.edgeStart(from); e < graph.edgeEnd(from); e += 1) {
+                    double weight = graph.weight(e);
+                    if ((weight <= delta) == isLight) {
+                        relax(own, graph.target(e), fromDist + weight);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Task that sets the previous vertex of each vertex reached from a range of vertices through an edge of positive
+     * weight on a shortest path, splitting the range in half until it has at most {@link #THRESHOLD} vertices. Any
+     * such edge is a valid choice, so racing writes from different threads are harmless.
+     */
+    private class Parents extends RecursiveAction {
+        private final int lo;
+        private final int hi;
+
+        /**
+         * Constructs a task for the vertices from lo (inclusive) to hi (exclusive).
+         *
+         * @param lo the first vertex.
+         * @param hi one past the last vertex.
+         */
+        Parents(int lo, int hi) {
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > THRESHOLD) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new Parents(lo, mid), new Parents(mid, hi));
+                return;
+            }
+            for (int from = lo; from < hi; from += 1) {
+                double fromDist = distTo(from);
+                if (fromDist == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                for (int e = graph.edgeStart(from); e < graph.edgeEnd(from); e += 1) {
+                    int to = graph.target(e);
+                    double weight = graph.weight(e);
+                    if (weight > 0 && fromDist + weight == distTo(to)) {
+                        edgeTo[to] = from;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -3,6 +3,7 @@ package graphs.shortestpaths;
 import graphs.Edge;
 import graphs.Graph;
 import minpq.DoubleMapMinPQ;
+import minpq.IntIndexedMinPQ;
 import minpq.MinPQ;
 
 import java.util.*;
@@ -16,6 +17,14 @@ import java.util.*;
 public class DijkstraSolver<V> implements ShortestPathSolver<V> {
     private final Map<V, Edge<V>> edgeTo;
     private final Map<V, Double> distTo;
+    /**
+     * Workspace holding the distances and edges instead of the maps, or null if the maps are used.
+     */
+    private final SearchWorkspace<V> workspace;
+    /**
+     * Version of the workspace search that this solver ran.
+     */
+    private final int version;
 
     /**
      * Constructs a new instance by executing Dijkstra's algorithm on the graph from the start.
@@ -24,9 +33,23 @@ public class DijkstraSolver<V> implements ShortestPathSolver<V> {
      * @param start the start vertex.
      */
     public DijkstraSolver(Graph<V> graph, V start) {
+        this(graph, start, new DoubleMapMinPQ<>());
+    }
+
+    /**
+     * Constructs a new instance by executing Dijkstra's algorithm on the graph from the start using the given empty
+     * priority queue for the perimeter. Since edge weights are non-negative, the perimeter's priority values are
+     * monotone, so any {@link MinPQ} implementation including {@link minpq.RadixHeapMinPQ} can be used.
+     *
+     * @param graph     the input graph.
+     * @param start     the start vertex.
+     * @param perimeter the empty priority queue for the perimeter.
+     */
+    public DijkstraSolver(Graph<V> graph, V start, MinPQ<V> perimeter) {
         edgeTo = new HashMap<>();
         distTo = new HashMap<>();
-        MinPQ<V> perimeter = new DoubleMapMinPQ<>();
+        workspace = null;
+        version = 0;
         perimeter.add(start, 0.0);
         edgeTo.put(start, null);
         distTo.put(start, 0.0);
@@ -45,8 +68,48 @@ public class DijkstraSolver<V> implements ShortestPathSolver<V> {
         }
     }
 
+    /**
+     * Constructs a new instance by executing Dijkstra's algorithm on the graph from the start, storing the distances,
+     * edges, and perimeter in the given workspace instead of allocating them. The solutions must be read before the
+     * workspace is used by another search.
+     *
+     * @param graph     the input graph.
+     * @param start     the start vertex.
+     * @param workspace the workspace to reuse, such as {@link SearchWorkspace#forThread(int)}.
+     */
+    public DijkstraSolver(Graph<V> graph, V start, SearchWorkspace<V> workspace) {
+        edgeTo = null;
+        distTo = null;
+        this.workspace = workspace;
+        version = workspace.reset();
+        IntIndexedMinPQ perimeter = workspace.perimeter();
+        int s = workspace.index(start);
+        perimeter.add(s, 0.0);
+        workspace.put(s, 0.0, -1);
+        while (!perimeter.isEmpty()) {
+            int from = perimeter.removeMin();
+            double fromDist = workspace.distTo(from);
+            for (Edge<V> e : graph.neighbors(workspace.vertex(from))) {
+                int to = workspace.index(e.to);
+                double newDist = fromDist + e.weight;
+                if (newDist < workspace.distTo(to)) {
+                    workspace.put(to, newDist, from);
+                    perimeter.addOrChangePriority(to, newDist);
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if this solver's workspace has been used by another search since.
+     */
     @Override
     public List<V> solution(V goal) {
+        if (workspace != null) {
+            return workspace.solution(version, goal);
+        }
         List<V> path = new ArrayList<>();
         V curr = goal;
         path.add(curr);
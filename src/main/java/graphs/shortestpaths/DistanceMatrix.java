@@ -0,0 +1,239 @@
+package graphs.shortestpaths;
+
+import graphs.ContractionHierarchy;
+import graphs.CsrGraph;
+import minpq.IntIndexedMinPQ;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Many-to-many shortest path lengths between a list of origins and a list of destinations in a {@link CsrGraph}, such
+ * as the travel costs between every driver and every pickup for dispatch. With a {@link ContractionHierarchy}, the
+ * matrix is computed with buckets: one full upward search per origin and per destination instead of one query per
+ * pair. Without one, the rows are computed by Dijkstra's algorithm from each origin on the common
+ * {@link java.util.concurrent.ForkJoinPool}, stopping once every destination is settled. Each thread keeps its own
+ * distance arrays and perimeter between rows and only resets the entries that the previous row touched, rather than
+ * allocating the hash maps of a new {@link DijkstraSolver} for every origin.
+ * <p>
+ * A distance matrix can be shared between threads.
+ *
+ * @see DijkstraSolver
+ * @see ContractionHierarchy
+ */
+public class DistanceMatrix {
+    private final CsrGraph graph;
+    /**
+     * The contraction hierarchy of the graph, or null to use Dijkstra's algorithm.
+     */
+    private final ContractionHierarchy hierarchy;
+    /**
+     * Search of each thread for computing rows with Dijkstra's algorithm.
+     */
+    private final ThreadLocal<Search> searches;
+    /**
+     * Query engine of each thread for the contraction hierarchy.
+     */
+    private final ThreadLocal<ContractionHierarchy.Query> queries;
+
+    /**
+     * Constructs a distance matrix service that runs Dijkstra's algorithm from each origin.
+     *
+     * @param graph the input graph.
+     */
+    public DistanceMatrix(CsrGraph graph) {
+        this(graph, null);
+    }
+
+    /**
+     * Constructs a distance matrix service that uses the given contraction hierarchy of the graph, or Dijkstra's
+     * algorithm from each origin if it is null.
+     *
+     * @param graph     the input graph.
+     * @param hierarchy the contraction hierarchy of the input graph, or null.
+     * @throws IllegalArgumentException if the hierarchy has a different number of vertices than the graph.
+     */
+    public DistanceMatrix(CsrGraph graph, ContractionHierarchy hierarchy) {
+        if (hierarchy != null && hierarchy.numVertices() != graph.numVertices()) {
+            throw new IllegalArgumentException("Hierarchy has " + hierarchy.numVertices() + " vertices");
+        }
+        this.graph = graph;
+        this.hierarchy = hierarchy;
+        searches = ThreadLocal.withInitial(() -> new Search(graph));
+        queries = ThreadLocal.withInitial(() -> hierarchy.query());
+    }
+
+    /**
+     * Returns the length of the shortest path from each origin to each destination.
+     *
+     * @param origins      the origin vertices.
+     * @param destinations the destination vertices.
+     * @return the matrix of the length of the shortest path from {@code origins[i]} to {@code destinations[j]} at row
+     * <i>i</i> and column <i>j</i>, or infinity if the destination is not reachable.
+     * @throws IllegalArgumentException if an origin or destination is not a vertex of the graph.
+     */
+    public double[][] distances(int[] origins, int[] destinations) {
+        checkVertices(origins);
+        checkVertices(destinations);
+        if (hierarchy != null) {
+            return queries.get().distances(origins, destinations);
+        }
+        double[][] result = new double[origins.length][];
+        new Rows(origins, destinations, result, 0, origins.length).invoke();
+        return result;
+    }
+
+    /**
+     * Checks that every given vertex is a vertex of the graph.
+     *
+     * @param vertices the vertices to check.
+     * @throws IllegalArgumentException if a vertex is out of range.
+     */
+    private void checkVertices(int[] vertices) {
+        for (int vertex : vertices) {
+            if (vertex < 0 || vertex >= graph.numVertices()) {
+                throw new IllegalArgumentException(
+                        "Vertex " + vertex + " out of range [0, " + graph.numVertices() + ")");
+            }
+        }
+    }
+
+    /**
+     * Task that computes a range of rows of the matrix, splitting the range in half until it has a single row.
+     */
+    private class Rows extends RecursiveAction {
+        private final int[] origins;
+        private final int[] destinations;
+        private final double[][] result;
+        private final int lo;
+        private final int hi;
+
+        /**
+         * Constructs a task for the rows from lo (inclusive) to hi (exclusive).
+         *
+         * @param origins      the origin vertices.
+         * @param destinations the destination vertices.
+         * @param result       the matrix to fill in.
+         * @param lo           the first row.
+         * @param hi           one past the last row.
+         */
+        Rows(int[] origins, int[] destinations, double[][] result, int lo, int hi) {
+            this.origins = origins;
+            this.destinations = destinations;
+            this.result = result;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= 1) {
+                for (int i = lo; i < hi; i += 1) {
+                    result[i] = searches.get().row(origins[i], destinations);
+                }
+            } else {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new Rows(origins, destinations, result, lo, mid),
+                        new Rows(origins, destinations, result, mid, hi));
+            }
+        }
+    }
+
+    /**
+     * Dijkstra's algorithm over a {@link CsrGraph} that keeps its memory between searches.
+     */
+    private static class Search {
+        private final CsrGraph graph;
+        private final IntIndexedMinPQ perimeter;
+        /**
+         * Distance from the origin to each vertex, or infinity if it has not been reached.
+         */
+        private final double[] distTo;
+        /**
+         * Whether each vertex is a destination that has not been settled yet.
+         */
+        private final boolean[] isPending;
+        /**
+         * Vertices reached by the current search.
+         */
+        private int[] reached;
+        private int numReached;
+
+        /**
+         * Constructs a search over the given graph.
+         *
+         * @param graph the graph to search.
+         */
+        Search(CsrGraph graph) {
+            this.graph = graph;
+            perimeter = new IntIndexedMinPQ(graph.numVertices());
+            distTo = new double[graph.numVertices()];
+            Arrays.fill(distTo, Double.POSITIVE_INFINITY);
+            isPending = new boolean[graph.numVertices()];
+            reached = new int[64];
+            numReached = 0;
+        }
+
+        /**
+         * Returns the length of the shortest path from the origin to each destination.
+         *
+         * @param origin       the origin vertex.
+         * @param destinations the destination vertices.
+         * @return the length of the shortest path to each destination, or infinity if it is not reachable.
+         */
+        double[] row(int origin, int[] destinations) {
+            int numPending = 0;
+            for (int destination : destinations) {
+                if (!isPending[destination]) {
+                    isPending[destination] = true;
+                    numPending += 1;
+                }
+            }
+            reach(origin, 0.0);
+            perimeter.add(origin, 0.0);
+            while (numPending > 0 && !perimeter.isEmpty()) {
+                int from = perimeter.removeMin();
+                if (isPending[from]) {
+                    isPending[from] = false;
+                    numPending -= 1;
+                }
+                for (int e = graph.edgeStart(from); e < graph.edgeEnd(from); e += 1) {
+                    int to = graph.target(e);
+                    double newDist = distTo[from] + graph.weight(e);
+                    if (newDist < distTo[to]) {
+                        reach(to, newDist);
+                        perimeter.addOrChangePriority(to, newDist);
+                    }
+                }
+            }
+            double[] row = new double[destinations.length];
+            for (int j = 0; j < destinations.length; j += 1) {
+                row[j] = distTo[destinations[j]];
+                isPending[destinations[j]] = false;
+            }
+            for (int i = 0; i < numReached; i += 1) {
+                distTo[reached[i]] = Double.POSITIVE_INFINITY;
+            }
+            numReached = 0;
+            perimeter.clear();
+            return row;
+        }
+
+        /**
+         * Sets the distance to the given vertex, recording it so that it can be reset after the search.
+         *
+         * @param vertex the vertex.
+         * @param dist   the distance to the vertex.
+         */
+        private void reach(int vertex, double dist) {
+            if (distTo[vertex] == Double.POSITIVE_INFINITY) {
+                if (numReached == reached.length) {
+                    reached = Arrays.copyOf(reached, 2 * numReached);
+                }
+                reached[numReached] = vertex;
+                numReached += 1;
+            }
+            distTo[vertex] = dist;
+        }
+    }
+}
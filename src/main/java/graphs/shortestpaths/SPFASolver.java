@@ -6,14 +6,55 @@ import graphs.Graph;
 import java.util.*;
 
 /**
- * Shortest Path Faster Algorithm implementation of the {@link ShortestPathSolver} interface.
+ * Shortest Path Faster Algorithm implementation of the {@link ShortestPathSolver} interface. Edge weights may be
+ * negative. Only the outgoing edges of vertices whose distance changed are relaxed again, so the search stops as soon
+ * as nothing changes. A negative cycle reachable from the start is detected by checking the graph formed by the edge
+ * to each vertex for a cycle after every <i>V</i> relaxations, where <i>V</i> is the number of vertices reached so
+ * far, instead of relaxing around the cycle forever.
  *
  * @param <V> the type of vertices.
  * @see ShortestPathSolver
+ * @see BellmanFordSolver
  */
 public class SPFASolver<V> implements ShortestPathSolver<V> {
     private final Map<V, Edge<V>> edgeTo;
     private final Map<V, Double> distTo;
+    /**
+     * Workspace holding the distances and edges instead of the maps, or null if the maps are used.
+     */
+    private final SearchWorkspace<V> workspace;
+    /**
+     * Version of the workspace search that this solver ran.
+     */
+    private final int version;
+    /**
+     * Negative cycle reachable from the start, or null if there is none.
+     */
+    private final List<V> negativeCycle;
+
+    /**
+     * Order in which vertices whose distance changed are taken from the queue.
+     */
+    public enum Strategy {
+        /**
+         * First in, first out.
+         */
+        FIFO,
+        /**
+         * Small label first: a vertex is added to the front of the queue instead of the back if its distance is less
+         * than the distance of the vertex at the front.
+         */
+        SLF,
+        /**
+         * Large label last: while the vertex at the front of the queue has a distance greater than the mean distance of
+         * the queue, it is moved to the back.
+         */
+        LLL,
+        /**
+         * Both small label first and large label last.
+         */
+        SLF_LLL
+    }
 
     /**
      * Constructs a new instance by executing SPFA on the graph from the start.
@@ -22,95 +63,207 @@ public class SPFASolver<V> implements ShortestPathSolver<V> {
      * @param start the start vertex.
      */
     public SPFASolver(Graph<V> graph, V start) {
+        this(graph, start, Strategy.FIFO);
+    }
+
+    /**
+     * Constructs a new instance by executing SPFA on the graph from the start, taking vertices from the queue in the
+     * order of the given strategy.
+     *
+     * @param graph    the input graph.
+     * @param start    the start vertex.
+     * @param strategy the order in which vertices are taken from the queue.
+     */
+    public SPFASolver(Graph<V> graph, V start, Strategy strategy) {
         edgeTo = new HashMap<>();
         distTo = new HashMap<>();
-        Queue<V> perimeter = new OptimizedArrayQueueSet<>();
+        workspace = null;
+        version = 0;
+        boolean isSmallLabelFirst = strategy == Strategy.SLF || strategy == Strategy.SLF_LLL;
+        boolean isLargeLabelLast = strategy == Strategy.LLL || strategy == Strategy.SLF_LLL;
+        Deque<V> perimeter = new ArrayDeque<>();
+        Set<V> inPerimeter = new HashSet<>();
+        // Sum of the distances of the vertices in the perimeter for large label last.
+        double sum = 0.0;
+        int relaxations = 0;
+        List<V> cycle = null;
         perimeter.add(start);
+        inPerimeter.add(start);
         edgeTo.put(start, null);
         distTo.put(start, 0.0);
-        while (!perimeter.isEmpty()) {
+        while (!perimeter.isEmpty() && cycle == null) {
+            if (isLargeLabelLast) {
+                // Rounding errors in the sum could make every vertex look large, so move each one at most once.
+                for (int i = 1; i < perimeter.size() && distTo.get(perimeter.peek()) * perimeter.size() > sum; i += 1) {
+                    perimeter.add(perimeter.remove());
+                }
+            }
             V from = perimeter.remove();
+            inPerimeter.remove(from);
+            double fromDist = distTo.get(from);
+            sum -= fromDist;
             for (Edge<V> e : graph.neighbors(from)) {
                 V to = e.to;
                 double oldDist = distTo.getOrDefault(to, Double.POSITIVE_INFINITY);
-                double newDist = distTo.get(from) + e.weight;
+                double newDist = fromDist + e.weight;
                 if (newDist < oldDist) {
                     edgeTo.put(to, e);
                     distTo.put(to, newDist);
-                    perimeter.add(to);
+                    if (inPerimeter.contains(to)) {
+                        sum += newDist - oldDist;
+                    } else {
+                        if (isSmallLabelFirst && !perimeter.isEmpty() && newDist < distTo.get(perimeter.peek())) {
+                            perimeter.addFirst(to);
+                        } else {
+                            perimeter.addLast(to);
+                        }
+                        inPerimeter.add(to);
+                        sum += newDist;
+                    }
+                    relaxations += 1;
+                    if (relaxations >= distTo.size()) {
+                        relaxations = 0;
+                        cycle = BellmanFordSolver.parentCycle(edgeTo);
+                        if (cycle != null) {
+                            break;
+                        }
+                    }
                 }
             }
         }
+        negativeCycle = cycle;
     }
 
-    @Override
-    public List<V> solution(V goal) {
-        List<V> path = new ArrayList<>();
-        V curr = goal;
-        path.add(curr);
-        while (edgeTo.get(curr) != null) {
-            curr = edgeTo.get(curr).from;
-            path.add(curr);
+    /**
+     * Constructs a new instance by executing SPFA on the graph from the start, taking vertices from the queue in the
+     * order of the given strategy and storing the distances, edges and queue in the given workspace instead of
+     * allocating them. The solutions must be read before the workspace is used by another search.
+     *
+     * @param graph     the input graph.
+     * @param start     the start vertex.
+     * @param strategy  the order in which vertices are taken from the queue.
+     * @param workspace the workspace to reuse, such as {@link SearchWorkspace#forThread(int)}.
+     */
+    public SPFASolver(Graph<V> graph, V start, Strategy strategy, SearchWorkspace<V> workspace) {
+        edgeTo = null;
+        distTo = null;
+        this.workspace = workspace;
+        version = workspace.reset();
+        boolean isSmallLabelFirst = strategy == Strategy.SLF || strategy == Strategy.SLF_LLL;
+        boolean isLargeLabelLast = strategy == Strategy.LLL || strategy == Strategy.SLF_LLL;
+        // Circular deque of the marked vertices, which never holds more than every vertex.
+        int[] perimeter = workspace.scratch(0);
+        int capacity = perimeter.length;
+        int head = 0;
+        int size = 0;
+        // Numbers of the vertices reached so far for negative cycle detection.
+        int[] reached = workspace.scratch(1);
+        int numReached = 0;
+        double sum = 0.0;
+        int relaxations = 0;
+        List<V> cycle = null;
+        int s = workspace.index(start);
+        perimeter[head] = s;
+        size += 1;
+        workspace.mark(s);
+        reached[numReached] = s;
+        numReached += 1;
+        workspace.put(s, 0.0, -1);
+        while (size > 0 && cycle == null) {
+            if (isLargeLabelLast) {
+                // Rounding errors in the sum could make every vertex look large, so move each one at most once.
+                for (int i = 1; i < size && workspace.distTo(perimeter[head]) * size > sum; i += 1) {
+                    perimeter[(head + size) % capacity] = perimeter[head];
+                    head = (head + 1) % capacity;
+                }
+            }
+            int from = perimeter[head];
+            head = (head + 1) % capacity;
+            size -= 1;
+            workspace.unmark(from);
+            double fromDist = workspace.distTo(from);
+            sum -= fromDist;
+            for (Edge<V> e : graph.neighbors(workspace.vertex(from))) {
+                int to = workspace.index(e.to);
+                double oldDist = workspace.distTo(to);
+                double newDist = fromDist + e.weight;
+                if (newDist < oldDist) {
+                    if (oldDist == Double.POSITIVE_INFINITY) {
+                        reached[numReached] = to;
+                        numReached += 1;
+                    }
+                    workspace.put(to, newDist, from);
+                    if (workspace.isMarked(to)) {
+                        sum += newDist - oldDist;
+                    } else {
+                        if (isSmallLabelFirst && size > 0 && newDist < workspace.distTo(perimeter[head])) {
+                            head = (head + capacity - 1) % capacity;
+                            perimeter[head] = to;
+                        } else {
+                            perimeter[(head + size) % capacity] = to;
+                        }
+                        size += 1;
+                        workspace.mark(to);
+                        sum += newDist;
+                    }
+                    relaxations += 1;
+                    if (relaxations >= numReached) {
+                        relaxations = 0;
+                        cycle = workspace.parentCycle(reached, numReached);
+                        if (cycle != null) {
+                            break;
+                        }
+                    }
+                }
+            }
         }
-        Collections.reverse(path);
-        return path;
+        negativeCycle = cycle;
     }
 
     /**
-     * Optimized array queue implementation of the {@link Queue} interface.
+     * Returns true if there is a negative cycle reachable from the start.
      *
-     * @param <E> the type of elements in this queue.
+     * @return true if there is a negative cycle reachable from the start.
      */
-    private static class OptimizedArrayQueueSet<E> extends AbstractQueue<E> {
-        /**
-         * {@link Queue} of elements.
-         */
-        private final Queue<E> queue;
-        /**
-         * {@link Set} of elements in this queue.
-         */
-        private final Set<E> set;
-
-        public OptimizedArrayQueueSet() {
-            queue = new ArrayDeque<>();
-            set = new HashSet<>();
-        }
-
-        @Override
-        public boolean contains(Object o) {
-            return set.contains(o);
-        }
-
-        @Override
-        public Iterator<E> iterator() {
-            return queue.iterator();
-        }
+    public boolean hasNegativeCycle() {
+        return negativeCycle != null;
+    }
 
-        @Override
-        public boolean offer(E e) {
-            if (set.contains(e)) {
-                return false;
-            }
-            boolean result = queue.offer(e);
-            set.add(e);
-            return result;
+    /**
+     * Returns a negative cycle reachable from the start.
+     *
+     * @return a list of the vertices around the cycle in order, beginning and ending with the same vertex.
+     * @throws IllegalStateException if there is no negative cycle reachable from the start.
+     */
+    public List<V> negativeCycle() {
+        if (negativeCycle == null) {
+            throw new IllegalStateException("No negative cycle reachable from the start");
         }
+        return negativeCycle;
+    }
 
-        @Override
-        public E peek() {
-            return queue.peek();
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if there is a negative cycle reachable from the start, or if this solver's
+     *                               workspace has been used by another search since.
+     */
+    @Override
+    public List<V> solution(V goal) {
+        if (negativeCycle != null) {
+            throw new IllegalStateException("Negative cycle reachable from the start: " + negativeCycle);
         }
-
-        @Override
-        public E poll() {
-            E element = queue.poll();
-            set.remove(element);
-            return element;
+        if (workspace != null) {
+            return workspace.solution(version, goal);
         }
-
-        @Override
-        public int size() {
-            return queue.size();
+        List<V> path = new ArrayList<>();
+        V curr = goal;
+        path.add(curr);
+        while (edgeTo.get(curr) != null) {
+            curr = edgeTo.get(curr).from;
+            path.add(curr);
         }
+        Collections.reverse(path);
+        return path;
     }
 }
@@ -0,0 +1,341 @@
+package graphs.shortestpaths;
+
+import minpq.IntIndexedMinPQ;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Reusable memory for shortest path searches over a graph whose vertices can be numbered from 0 to <i>V</i> - 1, such
+ * as a {@link graphs.CsrGraph}. Instead of allocating hash maps for the distances and edges and a new priority queue
+ * for every query, a solver constructed with a workspace stores them in primitive arrays indexed by vertex number. Each
+ * entry is stamped with the version of the search that wrote it, so starting a new search only increments the version
+ * rather than clearing arrays whose size is proportional to the graph.
+ * <p>
+ * A workspace holds the results of one search at a time: a solver that used it can no longer return solutions once the
+ * workspace is used by another search. A workspace is not thread-safe, so {@link #forThread(int)} keeps one workspace
+ * per thread for integer vertices.
+ *
+ * @param <V> the type of vertices.
+ * @see DijkstraSolver
+ * @see AStarSolver
+ * @see BellmanFordSolver
+ * @see SPFASolver
+ * @see ToposortDAGSolver
+ */
+public class SearchWorkspace<V> {
+    /**
+     * Workspace of each thread for integer vertices, grown as needed by {@link #forThread(int)}.
+     */
+    private static final ThreadLocal<SearchWorkspace<Integer>> POOL = new ThreadLocal<>();
+    /**
+     * Function that numbers each vertex from 0 to <i>V</i> - 1.
+     */
+    private final ToIntFunction<V> index;
+    /**
+     * Function that returns the vertex with each number.
+     */
+    private final IntFunction<V> vertex;
+    /**
+     * Distance from the start to each vertex, valid only if its stamp matches the current version.
+     */
+    private final double[] distTo;
+    /**
+     * Number of the previous vertex on the shortest path to each vertex, or -1 for the start.
+     */
+    private final int[] edgeTo;
+    /**
+     * Version of the search that last wrote each vertex's entries.
+     */
+    private final int[] stamps;
+    private final IntIndexedMinPQ perimeter;
+    /**
+     * Version of the search that last marked each vertex, or 0 if it is unmarked, allocated when first needed.
+     */
+    private int[] marks;
+    /**
+     * Scratch arrays with one entry per vertex, allocated when first needed.
+     */
+    private final int[][] scratch;
+    /**
+     * Version of the current search, which is never 0 so that new stamps are never current.
+     */
+    private int version;
+
+    /**
+     * Constructs a workspace for a graph with the given number of vertices.
+     *
+     * @param numVertices the number of vertices in the graph.
+     * @param index       the function that numbers each vertex from 0 to numVertices - 1.
+     * @param vertex      the function that returns the vertex with each number.
+     * @throws IllegalArgumentException if numVertices is negative.
+     */
+    public SearchWorkspace(int numVertices, ToIntFunction<V> index, IntFunction<V> vertex) {
+        if (numVertices < 0) {
+            throw new IllegalArgumentException("Negative number of vertices " + numVertices);
+        }
+        this.index = index;
+        this.vertex = vertex;
+        distTo = new double[numVertices];
+        edgeTo = new int[numVertices];
+        stamps = new int[numVertices];
+        perimeter = new IntIndexedMinPQ(numVertices);
+        marks = null;
+        scratch = new int[3][];
+        version = 0;
+    }
+
+    /**
+     * Returns a new workspace for a graph whose vertices are the integers from 0 to numVertices - 1.
+     *
+     * @param numVertices the number of vertices in the graph.
+     * @return a new workspace for integer vertices.
+     * @throws IllegalArgumentException if numVertices is negative.
+     */
+    public static SearchWorkspace<Integer> ofIntegers(int numVertices) {
+        return new SearchWorkspace<>(numVertices, Integer::intValue, Integer::valueOf);
+    }
+
+    /**
+     * Returns the calling thread's workspace for a graph whose vertices are the integers from 0 to numVertices - 1,
+     * replacing it with a larger one if it has too few vertices. Every call from the same thread may return the same
+     * workspace, so the solutions of the previous solver on this thread must be read before constructing the next one.
+     *
+     * @param numVertices the number of vertices in the graph.
+     * @return the calling thread's workspace for integer vertices.
+     * @throws IllegalArgumentException if numVertices is negative.
+     */
+    public static SearchWorkspace<Integer> forThread(int numVertices) {
+        SearchWorkspace<Integer> workspace = POOL.get();
+        if (workspace == null || workspace.numVertices() < numVertices) {
+            workspace = ofIntegers(numVertices);
+            POOL.set(workspace);
+        }
+        return workspace;
+    }
+
+    /**
+     * Returns the number of vertices that this workspace can hold.
+     *
+     * @return the number of vertices that this workspace can hold.
+     */
+    public int numVertices() {
+        return distTo.length;
+    }
+
+    /**
+     * Starts a new search, forgetting the results of the previous one in constant time.
+     *
+     * @return the version of the new search.
+     */
+    int reset() {
+        version += 1;
+        if (version == Integer.MAX_VALUE) {
+            // Stamps from 2^31 searches ago would otherwise look current once the version wraps around.
+            Arrays.fill(stamps, 0);
+            if (marks != null) {
+                Arrays.fill(marks, 0);
+            }
+            version = 1;
+        }
+        perimeter.clear();
+        return version;
+    }
+
+    /**
+     * Returns the version of the current search.
+     *
+     * @return the version of the current search.
+     */
+    int version() {
+        return version;
+    }
+
+    /**
+     * Returns the number of the given vertex.
+     *
+     * @param v the vertex.
+     * @return the number of the vertex.
+     * @throws IllegalArgumentException if the vertex number is out of range.
+     */
+    int index(V v) {
+        int i = index.applyAsInt(v);
+        if (i < 0 || i >= distTo.length) {
+            throw new IllegalArgumentException("Vertex " + v + " out of range [0, " + distTo.length + ")");
+        }
+        return i;
+    }
+
+    /**
+     * Returns the vertex with the given number.
+     *
+     * @param i the vertex number.
+     * @return the vertex with the number.
+     */
+    V vertex(int i) {
+        return vertex.apply(i);
+    }
+
+    /**
+     * Returns the distance to the given vertex found by the current search, or infinity if it has not been reached.
+     *
+     * @param i the vertex number.
+     * @return the distance to the vertex.
+     */
+    double distTo(int i) {
+        return stamps[i] == version ? distTo[i] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns the number of the previous vertex on the path to the given vertex found by the current search, or -1 if
+     * it is the start or has not been reached.
+     *
+     * @param i the vertex number.
+     * @return the number of the previous vertex on the path.
+     */
+    int edgeTo(int i) {
+        return stamps[i] == version ? edgeTo[i] : -1;
+    }
+
+    /**
+     * Returns true if the current search has recorded a path to the given vertex, even an infinitely long one.
+     *
+     * @param i the vertex number.
+     * @return true if the current search has recorded a path to the vertex.
+     */
+    boolean isReached(int i) {
+        return stamps[i] == version;
+    }
+
+    /**
+     * Records a path to the given vertex for the current search.
+     *
+     * @param i    the vertex number.
+     * @param dist the length of the path.
+     * @param from the number of the previous vertex on the path, or -1 for the start.
+     */
+    void put(int i, double dist, int from) {
+        distTo[i] = dist;
+        edgeTo[i] = from;
+        stamps[i] = version;
+    }
+
+    /**
+     * Returns the perimeter priority queue for the current search, which is empty when the search starts.
+     *
+     * @return the perimeter priority queue.
+     */
+    IntIndexedMinPQ perimeter() {
+        return perimeter;
+    }
+
+    /**
+     * Returns the path to the goal found by the search with the given version.
+     *
+     * @param version the version of the search.
+     * @param goal    the goal vertex.
+     * @return a list of vertices representing the path, or just the goal if it was not reached.
+     * @throws IllegalStateException if the workspace has been used by another search since.
+     */
+    List<V> solution(int version, V goal) {
+        if (version != this.version) {
+            throw new IllegalStateException("Workspace was reused by another search");
+        }
+        List<V> path = new ArrayList<>();
+        int curr = index(goal);
+        path.add(goal);
+        while (edgeTo(curr) != -1) {
+            curr = edgeTo(curr);
+            path.add(vertex(curr));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Returns true if the given vertex has been marked by the current search.
+     *
+     * @param i the vertex number.
+     * @return true if the vertex has been marked by the current search.
+     */
+    boolean isMarked(int i) {
+        return marks != null && marks[i] == version;
+    }
+
+    /**
+     * Marks the given vertex for the current search.
+     *
+     * @param i the vertex number.
+     */
+    void mark(int i) {
+        if (marks == null) {
+            marks = new int[distTo.length];
+        }
+        marks[i] = version;
+    }
+
+    /**
+     * Unmarks the given vertex.
+     *
+     * @param i the vertex number.
+     */
+    void unmark(int i) {
+        if (marks != null) {
+            marks[i] = 0;
+        }
+    }
+
+    /**
+     * Returns the scratch array with the given number, which has one entry per vertex and arbitrary contents.
+     *
+     * @param k the number of the scratch array, from 0 to 2.
+     * @return the scratch array.
+     */
+    int[] scratch(int k) {
+        if (scratch[k] == null) {
+            scratch[k] = new int[distTo.length];
+        }
+        return scratch[k];
+    }
+
+    /**
+     * Returns a cycle in the graph formed by the edge to each of the given vertices found by the current search, which
+     * must be a negative cycle since an edge is only recorded when it gives a strictly shorter path. Uses the last
+     * scratch array.
+     *
+     * @param reached    the numbers of the vertices reached by the current search.
+     * @param numReached the number of vertices reached by the current search.
+     * @return a list of the vertices around the cycle in order, beginning and ending with the same vertex, or null if
+     * there is no cycle.
+     */
+    List<V> parentCycle(int[] reached, int numReached) {
+        // Number of the walk that first visited each vertex, or 0 if none has.
+        int[] walkOf = scratch(2);
+        for (int i = 0; i < numReached; i += 1) {
+            walkOf[reached[i]] = 0;
+        }
+        for (int walk = 1; walk <= numReached; walk += 1) {
+            int curr = reached[walk - 1];
+            while (curr != -1 && walkOf[curr] == 0) {
+                walkOf[curr] = walk;
+                curr = edgeTo(curr);
+            }
+            if (curr != -1 && walkOf[curr] == walk) {
+                // This walk came back to one of its own vertices, so that vertex is on a cycle.
+                List<V> cycle = new ArrayList<>();
+                cycle.add(vertex(curr));
+                for (int prev = edgeTo(curr); prev != curr; prev = edgeTo(prev)) {
+                    cycle.add(vertex(prev));
+                }
+                cycle.add(vertex(curr));
+                Collections.reverse(cycle);
+                return cycle;
+            }
+        }
+        return null;
+    }
+}
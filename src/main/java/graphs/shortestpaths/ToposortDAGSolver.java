@@ -7,78 +7,294 @@ import java.util.*;
 
 /**
  * Topological sorting implementation of the {@link ShortestPathSolver} interface for <b>directed acyclic graphs</b>.
+ * The depth-first search uses an explicit stack rather than recursion, so the length of the longest path is not
+ * limited by the call stack. Each reachable vertex is numbered when it is first seen and its outgoing edges are copied
+ * into primitive arrays as it is explored, so the neighbors of each vertex are requested only once and the relaxation
+ * in topological order uses no hash table lookups.
  *
  * @param <V> the type of vertices.
  * @see ShortestPathSolver
  */
 public class ToposortDAGSolver<V> implements ShortestPathSolver<V> {
-    private final Map<V, Edge<V>> edgeTo;
-    private final Map<V, Double> distTo;
+    /**
+     * Number of each reachable vertex in the order it was first seen.
+     */
+    private final Map<V, Integer> index;
+    /**
+     * Vertex with each number.
+     */
+    private final List<V> vertices;
+    /**
+     * Number of the previous vertex on the shortest path to each vertex, or -1 for the start.
+     */
+    private final int[] edgeTo;
+    /**
+     * Index of the first outgoing edge of each vertex into {@link #targets} and {@link #weights}.
+     */
+    private int[] edgeStart;
+    /**
+     * Index one past the last outgoing edge of each vertex into {@link #targets} and {@link #weights}.
+     */
+    private int[] edgeEnd;
+    /**
+     * Number of the destination vertex of each explored edge.
+     */
+    private int[] targets;
+    private double[] weights;
+    private int numEdges;
+    /**
+     * Workspace holding the distances and edges instead of the arrays, or null if the arrays are used.
+     */
+    private final SearchWorkspace<V> workspace;
+    /**
+     * Version of the workspace search that this solver ran.
+     */
+    private final int version;
 
     /**
      * Constructs a new instance by executing the toposort-DAG-shortest-paths algorithm on the graph from the start.
      *
      * @param graph the input graph.
      * @param start the start vertex.
+     * @throws IllegalArgumentException if a cycle is reachable from the start.
      */
     public ToposortDAGSolver(Graph<V> graph, V start) {
-        edgeTo = new HashMap<>();
-        distTo = new HashMap<>();
+        index = new HashMap<>();
+        vertices = new ArrayList<>();
+        workspace = null;
+        version = 0;
+        edgeStart = new int[16];
+        edgeEnd = new int[16];
+        targets = new int[16];
+        weights = new double[16];
+        numEdges = 0;
 
-        distTo.put(start, 0.0);
+        int[] postorder = postorder(graph, start);
+        int numVertices = vertices.size();
+        double[] distTo = new double[numVertices];
+        edgeTo = new int[numVertices];
+        Arrays.fill(distTo, Double.POSITIVE_INFINITY);
+        Arrays.fill(edgeTo, -1);
+        distTo[0] = 0.0;
+        for (int i = numVertices - 1; i >= 0; i -= 1) {
+            int from = postorder[i];
+            for (int e = edgeStart[from]; e < edgeEnd[from]; e += 1) {
+                int to = targets[e];
+                double newDist = distTo[from] + weights[e];
+                if (newDist < distTo[to]) {
+                    distTo[to] = newDist;
+                    edgeTo[to] = from;
+                }
+            }
+        }
+        // The explored edges are no longer needed once the distances are known.
+        edgeStart = null;
+        edgeEnd = null;
+        targets = null;
+        weights = null;
+    }
 
-        List<V> postorder = new ArrayList<>();
-        Set<V> visited = new HashSet<>();
-        dfsPostOrder(graph, start, visited, postorder);
+    /**
+     * Constructs a new instance by executing the toposort-DAG-shortest-paths algorithm on the graph from the start,
+     * storing the distances, edges and depth-first search state in the given workspace instead of allocating them. The
+     * neighbors of each vertex are requested once for the search and again for the relaxation. The solutions must be
+     * read before the workspace is used by another search.
+     *
+     * @param graph     the input graph.
+     * @param start     the start vertex.
+     * @param workspace the workspace to reuse, such as {@link SearchWorkspace#forThread(int)}.
+     * @throws IllegalArgumentException if a cycle is reachable from the start.
+     */
+    public ToposortDAGSolver(Graph<V> graph, V start, SearchWorkspace<V> workspace) {
+        index = null;
+        vertices = null;
+        edgeTo = null;
+        this.workspace = workspace;
+        version = workspace.reset();
+        // The stack grows from the front of the array while the postorder fills it from the back, so the finished
+        // vertices end up in topological order. A vertex is marked while it is on the stack and reached once finished.
+        int[] order = workspace.scratch(0);
+        // Index of the next outgoing edge to follow for the vertex at each depth of the stack.
+        int[] next = workspace.scratch(1);
+        List<List<Edge<V>>> neighbors = new ArrayList<>();
+        int depth = 0;
+        int tail = order.length;
+        int s = workspace.index(start);
+        workspace.mark(s);
+        order[depth] = s;
+        next[depth] = 0;
+        neighbors.add(graph.neighbors(start));
+        depth += 1;
+        while (depth > 0) {
+            List<Edge<V>> edges = neighbors.get(depth - 1);
+            if (next[depth - 1] < edges.size()) {
+                V vertex = edges.get(next[depth - 1]).to;
+                int to = workspace.index(vertex);
+                next[depth - 1] += 1;
+                if (workspace.isMarked(to)) {
+                    throw new IllegalArgumentException("Cycle through " + vertex + " is reachable");
+                }
+                if (!workspace.isReached(to)) {
+                    workspace.mark(to);
+                    order[depth] = to;
+                    next[depth] = 0;
+                    if (depth == neighbors.size()) {
+                        neighbors.add(graph.neighbors(vertex));
+                    } else {
+                        neighbors.set(depth, graph.neighbors(vertex));
+                    }
+                    depth += 1;
+                }
+            } else {
+                depth -= 1;
+                int from = order[depth];
+                workspace.unmark(from);
+                workspace.put(from, Double.POSITIVE_INFINITY, -1);
+                tail -= 1;
+                order[tail] = from;
+            }
+        }
+        workspace.put(s, 0.0, -1);
+        for (int i = tail; i < order.length; i += 1) {
+            int from = order[i];
+            double fromDist = workspace.distTo(from);
+            for (Edge<V> e : graph.neighbors(workspace.vertex(from))) {
+                int to = workspace.index(e.to);
+                double newDist = fromDist + e.weight;
+                if (newDist < workspace.distTo(to)) {
+                    workspace.put(to, newDist, from);
+                }
+            }
+        }
+    }
 
-        Collections.reverse(postorder);
+    /**
+     * Returns the numbers of the vertices reachable from the start in DFS postorder, numbering and exploring each
+     * vertex with an explicit stack of vertices whose outgoing edges have not all been followed yet.
+     *
+     * @param graph the input graph.
+     * @param start the start vertex.
+     * @return the numbers of the reachable vertices in DFS postorder.
+     * @throws IllegalArgumentException if a cycle is reachable from the start.
+     */
+    private int[] postorder(Graph<V> graph, V start) {
+        int[] result = new int[16];
+        int size = 0;
+        // Next outgoing edge to follow for each vertex on the stack.
+        int[] next = new int[16];
+        boolean[] isExplored = new boolean[16];
+        boolean[] isOnStack = new boolean[16];
+        int[] stack = new int[16];
+        int depth = 0;
 
-        for(V vertex : postorder){
-            for(Edge<V> edge : graph.neighbors(vertex)){
-                V from = edge.from;
-                V to = edge.to;
-                double weight = edge.weight;
-                if (!distTo.containsKey(from)) {
-                    distTo.put(from, Double.POSITIVE_INFINITY);
+        number(start);
+        explore(graph, 0);
+        isExplored[0] = true;
+        isOnStack[0] = true;
+        next[0] = edgeStart[0];
+        stack[depth] = 0;
+        depth += 1;
+        while (depth > 0) {
+            int from = stack[depth - 1];
+            if (next[from] < edgeEnd[from]) {
+                int to = targets[next[from]];
+                next[from] += 1;
+                if (to >= isExplored.length) {
+                    int capacity = Math.max(2 * isExplored.length, vertices.size());
+                    next = Arrays.copyOf(next, capacity);
+                    isExplored = Arrays.copyOf(isExplored, capacity);
+                    isOnStack = Arrays.copyOf(isOnStack, capacity);
+                }
+                if (isOnStack[to]) {
+                    throw new IllegalArgumentException("Cycle through " + vertices.get(to) + " is reachable");
                 }
-                if (!distTo.containsKey(to)) {
-                    distTo.put(to, Double.POSITIVE_INFINITY);
+                if (!isExplored[to]) {
+                    explore(graph, to);
+                    isExplored[to] = true;
+                    isOnStack[to] = true;
+                    next[to] = edgeStart[to];
+                    if (depth == stack.length) {
+                        stack = Arrays.copyOf(stack, 2 * depth);
+                    }
+                    stack[depth] = to;
+                    depth += 1;
                 }
-                if (distTo.get(to) > distTo.get(from) + weight) {
-                    distTo.put(to, distTo.get(from) + weight);
-                    edgeTo.put(to, edge);
+            } else {
+                isOnStack[from] = false;
+                depth -= 1;
+                if (size == result.length) {
+                    result = Arrays.copyOf(result, 2 * size);
                 }
+                result[size] = from;
+                size += 1;
             }
         }
+        return result;
     }
 
     /**
-     * Recursively adds nodes from the graph to the result in DFS postorder from the start vertex.
+     * Returns the number of the given vertex, numbering it if it has not been seen before.
      *
-     * @param graph   the input graph.
-     * @param start   the start vertex.
-     * @param visited the set of visited vertices.
-     * @param result  the destination for adding nodes.
+     * @param vertex the vertex.
+     * @return the number of the vertex.
      */
-    private void dfsPostOrder(Graph<V> graph, V start, Set<V> visited, List<V> result){
-        visited.add(start);
-        for (Edge<V> edge : graph.neighbors(start) ){
-            V neighbor = edge.to;
-            if(!visited.contains(neighbor)){
-                dfsPostOrder(graph,neighbor,visited,result);
+    private int number(V vertex) {
+        Integer i = index.get(vertex);
+        if (i != null) {
+            return i;
+        }
+        int n = vertices.size();
+        index.put(vertex, n);
+        vertices.add(vertex);
+        if (n == edgeStart.length) {
+            edgeStart = Arrays.copyOf(edgeStart, 2 * n);
+            edgeEnd = Arrays.copyOf(edgeEnd, 2 * n);
+        }
+        return n;
+    }
+
+    /**
+     * Copies the outgoing edges of the vertex with the given number into the primitive arrays, numbering their
+     * destinations.
+     *
+     * @param graph the input graph.
+     * @param from  the number of the vertex.
+     */
+    private void explore(Graph<V> graph, int from) {
+        edgeStart[from] = numEdges;
+        for (Edge<V> e : graph.neighbors(vertices.get(from))) {
+            int to = number(e.to);
+            if (numEdges == targets.length) {
+                targets = Arrays.copyOf(targets, 2 * numEdges);
+                weights = Arrays.copyOf(weights, 2 * numEdges);
             }
+            targets[numEdges] = to;
+            weights[numEdges] = e.weight;
+            numEdges += 1;
         }
-        result.add(start);
+        edgeEnd[from] = numEdges;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if this solver's workspace has been used by another search since.
+     */
     @Override
     public List<V> solution(V goal) {
+        if (workspace != null) {
+            return workspace.solution(version, goal);
+        }
         List<V> path = new ArrayList<>();
-        V curr = goal;
-        path.add(curr);
-        while (edgeTo.get(curr) != null) {
-            curr = edgeTo.get(curr).from;
-            path.add(curr);
+        path.add(goal);
+        Integer i = index.get(goal);
+        if (i == null) {
+            return path;
+        }
+        int curr = edgeTo[i];
+        while (curr != -1) {
+            path.add(vertices.get(curr));
+            curr = edgeTo[curr];
         }
         Collections.reverse(path);
         return path;
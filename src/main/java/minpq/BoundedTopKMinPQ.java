@@ -0,0 +1,258 @@
+package minpq;
+
+import java.util.*;
+
+/**
+ * Fixed-capacity implementation of the {@link MinPQ} interface that only keeps the <i>k</i> elements with the smallest
+ * priority values. Elements are stored in a <b>max</b>-heap so that the largest kept priority value is always at the
+ * root: once full, {@link #add(Object, double)} either discards the new element or replaces the root in logarithmic
+ * time. Selecting the <i>k</i> smallest of <i>n</i> elements takes O(<i>n</i> log <i>k</i>) time and O(<i>k</i>)
+ * memory. Discarded elements are forgotten, so {@link #contains(Object)} returns false for them.
+ * <p>
+ * Since the minimum is among the leaves of a max-heap, {@link #peekMin()} and {@link #removeMin()} take O(<i>k</i>)
+ * time; {@link #removeMin(int)} sorts the kept elements once instead.
+ *
+ * @param <E> the type of elements in this priority queue.
+ * @see MinPQ
+ */
+public class BoundedTopKMinPQ<E> implements MinPQ<E> {
+    /**
+     * Maximum initial length of the heap arrays.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+    /**
+     * Maximum number of elements to keep.
+     */
+    private final int capacity;
+    /**
+     * {@link Map} of each element to its associated index in the heap arrays.
+     */
+    private final Map<E, Integer> elementsToIndex;
+    /**
+     * Max-heap of elements rooted at index 0.
+     */
+    private Object[] elements;
+    /**
+     * Priority value of the element at the same index in {@code elements}.
+     */
+    private double[] priorities;
+    /**
+     * Number of elements in this priority queue.
+     */
+    private int size;
+
+    /**
+     * Constructs an empty instance that keeps up to the given number of elements with the smallest priority values.
+     *
+     * @param capacity the maximum number of elements to keep.
+     * @throws IllegalArgumentException if capacity is negative.
+     */
+    public BoundedTopKMinPQ(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Negative capacity: " + capacity);
+        }
+        this.capacity = capacity;
+        int length = Math.min(capacity, DEFAULT_CAPACITY);
+        elements = new Object[length];
+        priorities = new double[length];
+        elementsToIndex = new HashMap<>();
+        size = 0;
+    }
+
+    /**
+     * Adds an element with the given priority value if fewer than capacity elements are kept or the priority value is
+     * smaller than the largest kept priority value, in which case the element with the largest priority value is
+     * discarded. Otherwise, discards the given element.
+     *
+     * @param element  the element to add.
+     * @param priority the priority value for the element.
+     * @throws IllegalArgumentException if element is null or already present.
+     */
+    @Override
+    public void add(E element, double priority) {
+        if (contains(element)) {
+            throw new IllegalArgumentException("Already contains " + element);
+        }
+        if (size < capacity) {
+            if (size == elements.length) {
+                int length = (int) Math.min(capacity, 2L * size);
+                elements = Arrays.copyOf(elements, length);
+                priorities = Arrays.copyOf(priorities, length);
+            }
+            size += 1;
+            place(element, priority, size - 1);
+            swim(size - 1);
+        } else if (size > 0 && priority < priorities[0]) {
+            elementsToIndex.remove(elementAt(0));
+            place(element, priority, 0);
+            sink(0);
+        }
+    }
+
+    @Override
+    public boolean contains(E element) {
+        return elementsToIndex.containsKey(element);
+    }
+
+    @Override
+    public E peekMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        return elementAt(minIndex());
+    }
+
+    @Override
+    public E removeMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        int index = minIndex();
+        E min = elementAt(index);
+        elementsToIndex.remove(min);
+        size -= 1;
+        if (index < size) {
+            E moved = elementAt(size);
+            place(moved, priorities[size], index);
+            swim(index);
+            sink(elementsToIndex.get(moved));
+        }
+        elements[size] = null;
+        return min;
+    }
+
+    @Override
+    public List<E> removeMin(int numElements) {
+        numElements = Math.min(numElements, size);
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i += 1) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> priorities[i]));
+        List<E> result = new ArrayList<>(numElements);
+        for (int i = 0; i < numElements; i += 1) {
+            result.add(elementAt(order[i]));
+        }
+        // Rebuild the heap from the remaining elements.
+        Object[] remainingElements = new Object[elements.length];
+        double[] remainingPriorities = new double[priorities.length];
+        for (int i = numElements; i < size; i += 1) {
+            remainingElements[i - numElements] = elements[order[i]];
+            remainingPriorities[i - numElements] = priorities[order[i]];
+        }
+        for (E element : result) {
+            elementsToIndex.remove(element);
+        }
+        elements = remainingElements;
+        priorities = remainingPriorities;
+        size -= numElements;
+        for (int i = 0; i < size; i += 1) {
+            elementsToIndex.put(elementAt(i), i);
+        }
+        for (int i = size / 2 - 1; i >= 0; i -= 1) {
+            sink(i);
+        }
+        return result;
+    }
+
+    @Override
+    public void changePriority(E element, double priority) {
+        if (!contains(element)) {
+            throw new NoSuchElementException("PQ does not contain " + element);
+        }
+        int index = elementsToIndex.get(element);
+        double oldPriority = priorities[index];
+        priorities[index] = priority;
+        if (priority > oldPriority) {
+            swim(index);
+        } else {
+            sink(index);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the index of the element with the minimum priority value, which must be a leaf of the max-heap.
+     *
+     * @return the index of the element with the minimum priority value.
+     */
+    private int minIndex() {
+        int min = size / 2;
+        for (int i = min + 1; i < size; i += 1) {
+            if (priorities[i] < priorities[min]) {
+                min = i;
+            }
+        }
+        return min;
+    }
+
+    /**
+     * Moves the element at the given index up until its parent has a larger or equal priority value.
+     *
+     * @param index the index of the element to move.
+     */
+    private void swim(int index) {
+        E element = elementAt(index);
+        double priority = priorities[index];
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (priority <= priorities[parent]) {
+                break;
+            }
+            place(elementAt(parent), priorities[parent], index);
+            index = parent;
+        }
+        place(element, priority, index);
+    }
+
+    /**
+     * Moves the element at the given index down until all its children have smaller or equal priority values.
+     *
+     * @param index the index of the element to move.
+     */
+    private void sink(int index) {
+        E element = elementAt(index);
+        double priority = priorities[index];
+        int child = 2 * index + 1;
+        while (child < size) {
+            if (child + 1 < size && priorities[child + 1] > priorities[child]) {
+                child += 1;
+            }
+            if (priority >= priorities[child]) {
+                break;
+            }
+            place(elementAt(child), priorities[child], index);
+            index = child;
+            child = 2 * index + 1;
+        }
+        place(element, priority, index);
+    }
+
+    /**
+     * Stores the element and priority value at the given index.
+     *
+     * @param element  the element to store.
+     * @param priority the priority value of the element.
+     * @param index    the destination index.
+     */
+    private void place(E element, double priority, int index) {
+        elements[index] = element;
+        priorities[index] = priority;
+        elementsToIndex.put(element, index);
+    }
+
+    /**
+     * Returns the element at the given index.
+     *
+     * @param index the index into the heap.
+     * @return the element at the given index.
+     */
+    @SuppressWarnings("unchecked")
+    private E elementAt(int index) {
+        return (E) elements[index];
+    }
+}
@@ -0,0 +1,151 @@
+package minpq;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe, lock-free implementation of the {@link MinPQ} interface backed by a {@link ConcurrentSkipListMap}.
+ * Each element is stored in the skip list under a key made of its priority value and a unique sequence number, and
+ * a {@link ConcurrentHashMap} records each element's current key. Unlike a heap guarded by a single lock, threads
+ * adding elements only contend where their keys land in the skip list.
+ * <p>
+ * {@link #add(Object, double)} and {@link #removeMin()} are linearizable: removeMin atomically claims the first entry
+ * in the skip list. {@link #changePriority(Object, double)} re-keys the element; while it runs, a concurrent removeMin
+ * may skip over the element. {@link #contains(Object)} and {@link #size()} are weakly consistent while other threads
+ * are adding or removing elements.
+ *
+ * @param <E> the type of elements in this priority queue.
+ * @see MinPQ
+ */
+public class ConcurrentMinPQ<E> implements MinPQ<E> {
+    /**
+     * {@link ConcurrentNavigableMap} of keys to elements ordered by priority value. May briefly contain stale keys
+     * left over from {@link #changePriority(Object, double)}.
+     */
+    private final ConcurrentNavigableMap<Key, E> queue;
+    /**
+     * {@link ConcurrentMap} of each element to its current key in the {@code queue}.
+     */
+    private final ConcurrentMap<E, Key> elementsToKey;
+    /**
+     * Source of sequence numbers to make every key unique.
+     */
+    private final AtomicLong sequence;
+
+    /**
+     * Constructs an empty instance.
+     */
+    public ConcurrentMinPQ() {
+        queue = new ConcurrentSkipListMap<>();
+        elementsToKey = new ConcurrentHashMap<>();
+        sequence = new AtomicLong();
+    }
+
+    /**
+     * Constructs an instance containing all the given elements and their priority values.
+     *
+     * @param elementsAndPriorities each element and its corresponding priority.
+     */
+    public ConcurrentMinPQ(Map<E, Double> elementsAndPriorities) {
+        this();
+        for (Map.Entry<E, Double> entry : elementsAndPriorities.entrySet()) {
+            add(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public void add(E element, double priority) {
+        if (element == null) {
+            throw new IllegalArgumentException("Null element");
+        }
+        Key key = new Key(priority, sequence.getAndIncrement());
+        if (elementsToKey.putIfAbsent(element, key) != null) {
+            throw new IllegalArgumentException("Already contains " + element);
+        }
+        queue.put(key, element);
+    }
+
+    @Override
+    public boolean contains(E element) {
+        return elementsToKey.containsKey(element);
+    }
+
+    @Override
+    public E peekMin() {
+        while (true) {
+            Map.Entry<Key, E> entry = queue.firstEntry();
+            if (entry == null) {
+                throw new NoSuchElementException("PQ is empty");
+            }
+            if (entry.getKey() == elementsToKey.get(entry.getValue())) {
+                return entry.getValue();
+            }
+            // Discard the stale key so that the next iteration makes progress.
+            queue.remove(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public E removeMin() {
+        while (true) {
+            Map.Entry<Key, E> entry = queue.pollFirstEntry();
+            if (entry == null) {
+                throw new NoSuchElementException("PQ is empty");
+            }
+            // Only the current key for an element claims it; stale keys are simply dropped.
+            if (elementsToKey.remove(entry.getValue(), entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+    }
+
+    @Override
+    public void changePriority(E element, double priority) {
+        Key key = new Key(priority, sequence.getAndIncrement());
+        while (true) {
+            Key oldKey = elementsToKey.get(element);
+            if (oldKey == null) {
+                throw new NoSuchElementException("PQ does not contain " + element);
+            }
+            // Replacing the key first makes the old entry stale, so no other thread can claim it.
+            if (elementsToKey.replace(element, oldKey, key)) {
+                queue.put(key, element);
+                queue.remove(oldKey, element);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return elementsToKey.size();
+    }
+
+    /**
+     * A skip list key ordered by priority value and then by sequence number. Keys are compared by identity when
+     * checking whether they are current, so equality is left as identity.
+     */
+    private static final class Key implements Comparable<Key> {
+        private final double priority;
+        private final long sequence;
+
+        Key(double priority, long sequence) {
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int result = Double.compare(priority, other.priority);
+            if (result == 0) {
+                result = Long.compare(sequence, other.sequence);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package minpq;
+
+import java.util.*;
+
+/**
+ * <i>d</i>-ary heap implementation of the {@link MinPQ} interface. Each node has up to <i>d</i> children, so the heap
+ * is only log<sub><i>d</i></sub>(<i>n</i>) levels deep: {@link #add(Object, double)} and decreasing a priority value
+ * with {@link #changePriority(Object, double)} swim up fewer levels than in a binary heap, at the cost of comparing
+ * up to <i>d</i> children per level in {@link #removeMin()}. Elements and priority values are stored in parallel
+ * arrays so that comparing siblings scans contiguous memory.
+ *
+ * @param <E> the type of elements in this priority queue.
+ * @see MinPQ
+ * @see OptimizedHeapMinPQ
+ */
+public class DaryHeapMinPQ<E> implements MinPQ<E> {
+    /**
+     * Default number of children per node.
+     */
+    private static final int DEFAULT_ARITY = 4;
+    /**
+     * Default initial capacity of the heap arrays.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+    /**
+     * Number of children per node.
+     */
+    private final int arity;
+    /**
+     * {@link Map} of each element to its associated index in the heap arrays.
+     */
+    private final Map<E, Integer> elementsToIndex;
+    /**
+     * Heap of elements rooted at index 0, where the children of index <i>i</i> are at indices <i>di</i> + 1 through
+     * <i>di</i> + <i>d</i>.
+     */
+    private Object[] elements;
+    /**
+     * Priority value of the element at the same index in {@code elements}.
+     */
+    private double[] priorities;
+    /**
+     * Number of elements in this priority queue.
+     */
+    private int size;
+
+    /**
+     * Constructs an empty instance with 4 children per node.
+     */
+    public DaryHeapMinPQ() {
+        this(DEFAULT_ARITY);
+    }
+
+    /**
+     * Constructs an empty instance with the given number of children per node.
+     *
+     * @param arity the number of children per node, typically 2, 4, 8, or 16.
+     * @throws IllegalArgumentException if arity is less than 2.
+     */
+    public DaryHeapMinPQ(int arity) {
+        this(arity, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an instance with 4 children per node containing all the given elements and their priority values.
+     *
+     * @param elementsAndPriorities each element and its corresponding priority.
+     */
+    public DaryHeapMinPQ(Map<E, Double> elementsAndPriorities) {
+        this(DEFAULT_ARITY, elementsAndPriorities);
+    }
+
+    /**
+     * Constructs an instance with the given number of children per node containing all the given elements and their
+     * priority values. The heap is built bottom-up in linear time.
+     *
+     * @param arity                 the number of children per node, typically 2, 4, 8, or 16.
+     * @param elementsAndPriorities each element and its corresponding priority.
+     * @throws IllegalArgumentException if arity is less than 2.
+     */
+    public DaryHeapMinPQ(int arity, Map<E, Double> elementsAndPriorities) {
+        this(arity, elementsAndPriorities.size());
+        for (Map.Entry<E, Double> entry : elementsAndPriorities.entrySet()) {
+            elements[size] = entry.getKey();
+            priorities[size] = entry.getValue();
+            elementsToIndex.put(entry.getKey(), size);
+            size += 1;
+        }
+        if (size > 1) {
+            for (int i = parent(size - 1); i >= 0; i -= 1) {
+                sink(i);
+            }
+        }
+    }
+
+    /**
+     * Constructs an empty instance with the given number of children per node and initial capacity.
+     *
+     * @param arity    the number of children per node.
+     * @param capacity the initial capacity of the heap arrays.
+     * @throws IllegalArgumentException if arity is less than 2.
+     */
+    private DaryHeapMinPQ(int arity, int capacity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Arity must be at least 2: " + arity);
+        }
+        this.arity = arity;
+        capacity = Math.max(capacity, DEFAULT_CAPACITY);
+        elements = new Object[capacity];
+        priorities = new double[capacity];
+        elementsToIndex = new HashMap<>((int) Math.ceil(capacity / 0.75));
+        size = 0;
+    }
+
+    @Override
+    public void add(E element, double priority) {
+        if (contains(element)) {
+            throw new IllegalArgumentException("Already contains " + element);
+        }
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, 2 * size);
+            priorities = Arrays.copyOf(priorities, 2 * size);
+        }
+        elements[size] = element;
+        priorities[size] = priority;
+        elementsToIndex.put(element, size);
+        size += 1;
+        swim(size - 1);
+    }
+
+    @Override
+    public boolean contains(E element) {
+        return elementsToIndex.containsKey(element);
+    }
+
+    @Override
+    public E peekMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        return elementAt(0);
+    }
+
+    @Override
+    public E removeMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        E min = elementAt(0);
+        elementsToIndex.remove(min);
+        size -= 1;
+        if (size > 0) {
+            move(size, 0);
+            sink(0);
+        }
+        elements[size] = null;
+        return min;
+    }
+
+    @Override
+    public void changePriority(E element, double priority) {
+        if (!contains(element)) {
+            throw new NoSuchElementException("PQ does not contain " + element);
+        }
+        int index = elementsToIndex.get(element);
+        double oldPriority = priorities[index];
+        priorities[index] = priority;
+        if (priority < oldPriority) {
+            swim(index);
+        } else {
+            sink(index);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of children per node.
+     *
+     * @return the number of children per node.
+     */
+    public int arity() {
+        return arity;
+    }
+
+    /**
+     * Moves the element at the given index up until its parent has a smaller or equal priority value.
+     *
+     * @param index the index of the element to move.
+     */
+    private void swim(int index) {
+        E element = elementAt(index);
+        double priority = priorities[index];
+        while (index > 0) {
+            int parent = parent(index);
+            if (priority >= priorities[parent]) {
+                break;
+            }
+            move(parent, index);
+            index = parent;
+        }
+        place(element, priority, index);
+    }
+
+    /**
+     * Moves the element at the given index down until all its children have larger or equal priority values.
+     *
+     * @param index the index of the element to move.
+     */
+    private void sink(int index) {
+        E element = elementAt(index);
+        double priority = priorities[index];
+        int first = arity * index + 1;
+        while (first < size) {
+            int last = Math.min(first + arity, size);
+            int min = first;
+            for (int child = first + 1; child < last; child += 1) {
+                if (priorities[child] < priorities[min]) {
+                    min = child;
+                }
+            }
+            if (priority <= priorities[min]) {
+                break;
+            }
+            move(min, index);
+            index = min;
+            first = arity * index + 1;
+        }
+        place(element, priority, index);
+    }
+
+    /**
+     * Returns the index of the parent of the given index.
+     *
+     * @param index a non-root index.
+     * @return the index of the parent of the given index.
+     */
+    private int parent(int index) {
+        return (index - 1) / arity;
+    }
+
+    /**
+     * Copies the element and priority value at one index to another, updating the index of the moved element.
+     *
+     * @param from the source index.
+     * @param to   the destination index.
+     */
+    private void move(int from, int to) {
+        place(elementAt(from), priorities[from], to);
+    }
+
+    /**
+     * Stores the element and priority value at the given index.
+     *
+     * @param element  the element to store.
+     * @param priority the priority value of the element.
+     * @param index    the destination index.
+     */
+    private void place(E element, double priority, int index) {
+        elements[index] = element;
+        priorities[index] = priority;
+        elementsToIndex.put(element, index);
+    }
+
+    /**
+     * Returns the element at the given index.
+     *
+     * @param index the index into the heap.
+     * @return the element at the given index.
+     */
+    @SuppressWarnings("unchecked")
+    private E elementAt(int index) {
+        return (E) elements[index];
+    }
+}
@@ -1,9 +1,6 @@
 package minpq;
 
-import java.util.Comparator;
-import java.util.Map;
-import java.util.NoSuchElementException;
-import java.util.PriorityQueue;
+import java.util.*;
 
 /**
  * {@link PriorityQueue} implementation of the {@link MinPQ} interface.
@@ -25,15 +22,18 @@ public class HeapMinPQ<E> implements MinPQ<E> {
     }
 
     /**
-     * Constructs an instance containing all the given elements and their priority values.
+     * Constructs an instance containing all the given elements and their priority values. Rather than adding each
+     * element, the heap is built bottom-up in linear time by {@link PriorityQueue#PriorityQueue(Collection)}.
      *
      * @param elementsAndPriorities each element and its corresponding priority.
      */
     public HeapMinPQ(Map<E, Double> elementsAndPriorities) {
-        pq = new PriorityQueue<>(elementsAndPriorities.size(), Comparator.comparingDouble(PriorityNode::getPriority));
+        List<PriorityNode<E>> nodes = new ArrayList<>(elementsAndPriorities.size());
         for (Map.Entry<E, Double> entry : elementsAndPriorities.entrySet()) {
-            add(entry.getKey(), entry.getValue());
+            nodes.add(new PriorityNode<>(entry.getKey(), entry.getValue()));
         }
+        // PriorityNode's natural ordering is by priority, matching the comparator used by the empty constructor.
+        pq = new PriorityQueue<>(nodes);
     }
 
     @Override
@@ -0,0 +1,236 @@
+package minpq;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed binary heap priority queue over dense {@code int} elements in the range [0, capacity). Unlike
+ * {@link OptimizedHeapMinPQ}, priority values and heap positions are stored in primitive arrays indexed by element, so
+ * no {@link PriorityNode} objects, boxed values, or hash table lookups are needed for any operation.
+ *
+ * @see MinPQ
+ * @see OptimizedHeapMinPQ
+ */
+public class IntIndexedMinPQ {
+    /**
+     * Heap of elements ordered by priority value, rooted at index 0.
+     */
+    private final int[] heap;
+    /**
+     * Index of each element in the {@code heap}, or -1 if the element is not present.
+     */
+    private final int[] positions;
+    /**
+     * Priority value of each element.
+     */
+    private final double[] priorities;
+    /**
+     * Number of elements in this priority queue.
+     */
+    private int size;
+
+    /**
+     * Constructs an empty instance that can hold the elements 0 (inclusive) to capacity (exclusive).
+     *
+     * @param capacity the number of distinct elements.
+     */
+    public IntIndexedMinPQ(int capacity) {
+        heap = new int[capacity];
+        positions = new int[capacity];
+        Arrays.fill(positions, -1);
+        priorities = new double[capacity];
+        size = 0;
+    }
+
+    /**
+     * Adds an element with the given priority value.
+     *
+     * @param element  the element to add.
+     * @param priority the priority value for the element.
+     * @throws IllegalArgumentException if element is out of range or already present.
+     */
+    public void add(int element, double priority) {
+        if (contains(element)) {
+            throw new IllegalArgumentException("Already contains " + element);
+        }
+        priorities[element] = priority;
+        swim(element, size);
+        size += 1;
+    }
+
+    /**
+     * Adds an element with the given priority value if it is not already present. Otherwise, updates the priority value
+     * of the existing element.
+     *
+     * @param element  the element to add or update.
+     * @param priority the priority value for the element.
+     */
+    public void addOrChangePriority(int element, double priority) {
+        if (!contains(element)) {
+            add(element, priority);
+        } else {
+            changePriority(element, priority);
+        }
+    }
+
+    /**
+     * Returns true if the given element is in this priority queue.
+     *
+     * @param element element to be checked for containment.
+     * @return true if the given element is in this priority queue.
+     * @throws IllegalArgumentException if element is out of range.
+     */
+    public boolean contains(int element) {
+        if (element < 0 || element >= positions.length) {
+            throw new IllegalArgumentException("Element " + element + " out of range [0, " + positions.length + ")");
+        }
+        return positions[element] != -1;
+    }
+
+    /**
+     * Returns the element with the minimum priority value.
+     *
+     * @return the element with the minimum priority value.
+     * @throws NoSuchElementException if this priority queue is empty.
+     */
+    public int peekMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        return heap[0];
+    }
+
+    /**
+     * Returns and removes the element with the minimum priority value.
+     *
+     * @return the element with the minimum priority value.
+     * @throws NoSuchElementException if this priority queue is empty.
+     */
+    public int removeMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        int min = heap[0];
+        positions[min] = -1;
+        size -= 1;
+        if (size > 0) {
+            sink(heap[size], 0);
+        }
+        return min;
+    }
+
+    /**
+     * Updates the given elements' associated priority value.
+     *
+     * @param element  the element whose associated priority value should be modified.
+     * @param priority the updated priority value.
+     * @throws NoSuchElementException if the element is not present.
+     */
+    public void changePriority(int element, double priority) {
+        if (!contains(element)) {
+            throw new NoSuchElementException("PQ does not contain " + element);
+        }
+        double oldPriority = priorities[element];
+        priorities[element] = priority;
+        if (priority < oldPriority) {
+            swim(element, positions[element]);
+        } else {
+            sink(element, positions[element]);
+        }
+    }
+
+    /**
+     * Returns the priority value associated with the given element.
+     *
+     * @param element the element in this priority queue.
+     * @return the priority value associated with the given element.
+     * @throws NoSuchElementException if the element is not present.
+     */
+    public double priority(int element) {
+        if (!contains(element)) {
+            throw new NoSuchElementException("PQ does not contain " + element);
+        }
+        return priorities[element];
+    }
+
+    /**
+     * Removes all elements from this priority queue in time proportional to its size.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i += 1) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    /**
+     * Returns the number of elements in this priority queue.
+     *
+     * @return the number of elements in this priority queue.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if this priority queue contains no elements.
+     *
+     * @return true if this priority queue contains no elements.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Moves the element up from the given heap index, shifting parents down rather than swapping.
+     *
+     * @param element the element to place.
+     * @param index   the starting heap index for the element.
+     */
+    private void swim(int element, int index) {
+        double priority = priorities[element];
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (priority >= priorities[heap[parent]]) {
+                break;
+            }
+            place(heap[parent], index);
+            index = parent;
+        }
+        place(element, index);
+    }
+
+    /**
+     * Moves the element down from the given heap index, shifting children up rather than swapping.
+     *
+     * @param element the element to place.
+     * @param index   the starting heap index for the element.
+     */
+    private void sink(int element, int index) {
+        double priority = priorities[element];
+        int child = 2 * index + 1;
+        while (child < size) {
+            if (child + 1 < size && priorities[heap[child + 1]] < priorities[heap[child]]) {
+                child += 1;
+            }
+            if (priority <= priorities[heap[child]]) {
+                break;
+            }
+            place(heap[child], index);
+            index = child;
+            child = 2 * index + 1;
+        }
+        place(element, index);
+    }
+
+    /**
+     * Stores the element at the given heap index.
+     *
+     * @param element the element to store.
+     * @param index   the heap index.
+     */
+    private void place(int element, int index) {
+        heap[index] = element;
+        positions[element] = index;
+    }
+}
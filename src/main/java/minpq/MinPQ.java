@@ -2,6 +2,7 @@ package minpq;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Priority queue where objects have <b>extrinsic priority</b>. Whereas {@link java.util.PriorityQueue} relies on
@@ -13,6 +14,11 @@ import java.util.List;
  * @see UnsortedArrayMinPQ
  * @see HeapMinPQ
  * @see OptimizedHeapMinPQ
+ * @see DaryHeapMinPQ
+ * @see PairingHeapMinPQ
+ * @see RadixHeapMinPQ
+ * @see ConcurrentMinPQ
+ * @see BoundedTopKMinPQ
  */
 public interface MinPQ<E> {
 
@@ -40,6 +46,19 @@ public interface MinPQ<E> {
         }
     }
 
+    /**
+     * Adds all the given elements with their priority values. Implementations may override this to bulk-load the
+     * elements faster than adding them one at a time.
+     *
+     * @param elementsAndPriorities each element and its corresponding priority.
+     * @throws IllegalArgumentException if any element is null or already present.
+     */
+    default void addAll(Map<E, Double> elementsAndPriorities) {
+        for (Map.Entry<E, Double> entry : elementsAndPriorities.entrySet()) {
+            add(entry.getKey(), entry.getValue());
+        }
+    }
+
     /**
      * Returns true if the given element is in this priority queue.
      *
@@ -28,19 +28,18 @@ public class OptimizedHeapMinPQ<E> implements MinPQ<E> {
     }
 
     /**
-     * Constructs an instance containing all the given elements and their priority values.
+     * Constructs an instance containing all the given elements and their priority values. The heap is built bottom-up
+     * in linear time with a single pre-sized allocation for the heap and the index.
      *
      * @param elementsAndPriorities each element and its corresponding priority.
      */
     public OptimizedHeapMinPQ(Map<E, Double> elementsAndPriorities) {
-        elements = new ArrayList<>(elementsAndPriorities.size());
-        elementsToIndex = new HashMap<>(elementsAndPriorities.size());
-        // TODO: Replace with your code 
-        //throw new UnsupportedOperationException("Not implemented yet")
-        for (Map.Entry<E, Double> entry : elementsAndPriorities.entrySet()) {
-            add(entry.getKey(), entry.getValue());
-        }
-
+        int size = elementsAndPriorities.size();
+        elements = new ArrayList<>(size + 1);
+        elements.add(null);
+        elementsToIndex = new HashMap<>((int) Math.ceil(size / 0.75));
+        append(elementsAndPriorities);
+        heapify();
     }
 
     @Override
@@ -55,6 +54,28 @@ public class OptimizedHeapMinPQ<E> implements MinPQ<E> {
         swim(elements.size()-1);
     }
 
+    /**
+     * {@inheritDoc} When the number of new elements exceeds the number already present, the whole heap is rebuilt
+     * bottom-up in linear time; otherwise, each new element swims up from the bottom of the heap.
+     */
+    @Override
+    public void addAll(Map<E, Double> elementsAndPriorities) {
+        for (E element : elementsAndPriorities.keySet()) {
+            if (contains(element)) {
+                throw new IllegalArgumentException("Already contains " + element);
+            }
+        }
+        int oldSize = size();
+        append(elementsAndPriorities);
+        if (elementsAndPriorities.size() > oldSize) {
+            heapify();
+        } else {
+            for (int i = oldSize + 1; i <= size(); i += 1) {
+                swim(i);
+            }
+        }
+    }
+
     @Override
     public boolean contains(E element) {
         // TODO: Replace with your code 
@@ -114,6 +135,27 @@ public class OptimizedHeapMinPQ<E> implements MinPQ<E> {
         return elements.size()-1;
     }
 
+    /**
+     * Appends all the given elements to the end of the heap without restoring the heap invariant.
+     *
+     * @param elementsAndPriorities each element and its corresponding priority.
+     */
+    private void append(Map<E, Double> elementsAndPriorities) {
+        for (Map.Entry<E, Double> entry : elementsAndPriorities.entrySet()) {
+            elements.add(new PriorityNode<>(entry.getKey(), entry.getValue()));
+            elementsToIndex.put(entry.getKey(), elements.size() - 1);
+        }
+    }
+
+    /**
+     * Restores the heap invariant for the entire heap by sinking every internal node from the bottom up.
+     */
+    private void heapify() {
+        for (int i = size() / 2; i >= 1; i -= 1) {
+            sink(i);
+        }
+    }
+
     private void swim(int index){
         while (index > 1) {
             int parent = index / 2;
@@ -0,0 +1,208 @@
+package minpq;
+
+import java.util.*;
+
+/**
+ * Pairing heap implementation of the {@link MinPQ} interface. The heap is a multi-way tree of nodes in which every
+ * child has a priority value no smaller than its parent. Adding an element and decreasing its priority value both
+ * take constant time by melding a single-node tree with the root; removing the minimum element pairs up the root's
+ * children in two passes, which takes amortized logarithmic time.
+ *
+ * @param <E> the type of elements in this priority queue.
+ * @see MinPQ
+ */
+public class PairingHeapMinPQ<E> implements MinPQ<E> {
+    /**
+     * {@link Map} of each element to its associated node in the heap.
+     */
+    private final Map<E, Node<E>> elementsToNode;
+    /**
+     * Reusable buffer of subtrees for the first pass of {@link #mergePairs(Node)}.
+     */
+    private final List<Node<E>> pairs;
+    /**
+     * The root of the heap containing the element with the minimum priority value, or null if empty.
+     */
+    private Node<E> root;
+
+    /**
+     * Constructs an empty instance.
+     */
+    public PairingHeapMinPQ() {
+        elementsToNode = new HashMap<>();
+        pairs = new ArrayList<>();
+        root = null;
+    }
+
+    /**
+     * Constructs an instance containing all the given elements and their priority values.
+     *
+     * @param elementsAndPriorities each element and its corresponding priority.
+     */
+    public PairingHeapMinPQ(Map<E, Double> elementsAndPriorities) {
+        elementsToNode = new HashMap<>((int) Math.ceil(elementsAndPriorities.size() / 0.75));
+        pairs = new ArrayList<>();
+        root = null;
+        for (Map.Entry<E, Double> entry : elementsAndPriorities.entrySet()) {
+            add(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public void add(E element, double priority) {
+        if (contains(element)) {
+            throw new IllegalArgumentException("Already contains " + element);
+        }
+        Node<E> node = new Node<>(element, priority);
+        elementsToNode.put(element, node);
+        root = meld(root, node);
+    }
+
+    @Override
+    public boolean contains(E element) {
+        return elementsToNode.containsKey(element);
+    }
+
+    @Override
+    public E peekMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        return root.element;
+    }
+
+    @Override
+    public E removeMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        Node<E> min = root;
+        elementsToNode.remove(min.element);
+        root = mergePairs(min.child);
+        return min.element;
+    }
+
+    @Override
+    public void changePriority(E element, double priority) {
+        if (!contains(element)) {
+            throw new NoSuchElementException("PQ does not contain " + element);
+        }
+        Node<E> node = elementsToNode.get(element);
+        if (priority < node.priority) {
+            node.priority = priority;
+            if (node != root) {
+                cut(node);
+                root = meld(root, node);
+            }
+        } else if (priority > node.priority) {
+            // The children of the node might now violate the heap invariant, so detach them and meld them separately.
+            if (node == root) {
+                root = mergePairs(node.child);
+            } else {
+                cut(node);
+                root = meld(root, mergePairs(node.child));
+            }
+            node.child = null;
+            node.priority = priority;
+            root = meld(root, node);
+        }
+    }
+
+    @Override
+    public int size() {
+        return elementsToNode.size();
+    }
+
+    /**
+     * Detaches the subtree rooted at the given non-root node from its parent and siblings.
+     *
+     * @param node the non-root node to detach.
+     */
+    private void cut(Node<E> node) {
+        if (node.previous.child == node) {
+            node.previous.child = node.sibling;
+        } else {
+            node.previous.sibling = node.sibling;
+        }
+        if (node.sibling != null) {
+            node.sibling.previous = node.previous;
+        }
+        node.previous = null;
+        node.sibling = null;
+    }
+
+    /**
+     * Returns the root of the tree formed by making the root with the larger priority value the leftmost child of the
+     * other. Either tree may be null, but neither may have siblings.
+     *
+     * @param a the root of a tree.
+     * @param b the root of a tree.
+     * @return the root of the melded tree.
+     */
+    private Node<E> meld(Node<E> a, Node<E> b) {
+        if (a == null) {
+            return b;
+        } else if (b == null) {
+            return a;
+        } else if (b.priority < a.priority) {
+            Node<E> temp = a;
+            a = b;
+            b = temp;
+        }
+        b.previous = a;
+        b.sibling = a.child;
+        if (a.child != null) {
+            a.child.previous = b;
+        }
+        a.child = b;
+        return a;
+    }
+
+    /**
+     * Returns the root of the tree formed by the standard two-pass pairing of the given list of siblings: meld adjacent
+     * pairs from left to right, and then meld the resulting trees from right to left.
+     *
+     * @param first the leftmost sibling, or null.
+     * @return the root of the combined tree, or null if there are no siblings.
+     */
+    private Node<E> mergePairs(Node<E> first) {
+        pairs.clear();
+        while (first != null) {
+            Node<E> a = first;
+            Node<E> b = a.sibling;
+            first = b == null ? null : b.sibling;
+            a.previous = null;
+            a.sibling = null;
+            if (b != null) {
+                b.previous = null;
+                b.sibling = null;
+            }
+            pairs.add(meld(a, b));
+        }
+        Node<E> result = null;
+        for (int i = pairs.size() - 1; i >= 0; i -= 1) {
+            result = meld(pairs.get(i), result);
+        }
+        pairs.clear();
+        return result;
+    }
+
+    /**
+     * A node in the pairing heap with a link to its leftmost child, its right sibling, and either its left sibling or
+     * (if it is the leftmost child) its parent.
+     *
+     * @param <E> the type of element represented by this node.
+     */
+    private static class Node<E> {
+        private final E element;
+        private double priority;
+        private Node<E> child;
+        private Node<E> sibling;
+        private Node<E> previous;
+
+        Node(E element, double priority) {
+            this.element = element;
+            this.priority = priority;
+        }
+    }
+}
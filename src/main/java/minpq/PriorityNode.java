@@ -3,12 +3,13 @@ package minpq;
 import java.util.Objects;
 
 /**
- * Represents the element-priority pair for use in {@link MinPQ} implementations.
+ * Represents the element-priority pair for use in {@link MinPQ} implementations. Nodes are naturally ordered by
+ * priority value, which is inconsistent with {@link #equals(Object)}.
  *
  * @param <E> the type of element represented by this node.
  * @see MinPQ
  */
-class PriorityNode<E> {
+class PriorityNode<E> implements Comparable<PriorityNode<E>> {
     private final E element;
     private double priority;
 
@@ -29,6 +30,11 @@ class PriorityNode<E> {
         this.priority = priority;
     }
 
+    @Override
+    public int compareTo(PriorityNode<E> other) {
+        return Double.compare(priority, other.priority);
+    }
+
     @Override
     public String toString() {
         return "PriorityNode{" +
@@ -0,0 +1,268 @@
+package minpq;
+
+import java.util.*;
+
+/**
+ * Radix heap implementation of the {@link MinPQ} interface for <b>monotone</b> priority queues, in which no element is
+ * ever given a priority value smaller than that of the last removed minimum. Dijkstra's algorithm on non-negative
+ * edge weights (and A* search with a consistent heuristic) only ever produce monotone priority values.
+ * <p>
+ * Each priority value is mapped to a 64-bit key whose unsigned order matches the order of the priority values. An
+ * element is kept in the bucket numbered by the position of the highest bit in which its key differs from the key of
+ * the last removed minimum, so bucket 0 holds elements tied with the last removed minimum. Removing the minimum only
+ * needs to redistribute the first non-empty bucket into lower buckets, and each element can only move down 65 times.
+ * Once the priority queue is empty, any priority value may be added again.
+ *
+ * @param <E> the type of elements in this priority queue.
+ * @see MinPQ
+ */
+public class RadixHeapMinPQ<E> implements MinPQ<E> {
+    /**
+     * Number of buckets: one for keys equal to the last removed minimum, and one for each bit position.
+     */
+    private static final int NUM_BUCKETS = Long.SIZE + 1;
+    /**
+     * {@link Map} of each element to its associated node.
+     */
+    private final Map<E, Node<E>> elementsToNode;
+    /**
+     * Buckets of nodes, where bucket <i>i</i> &gt; 0 holds nodes whose keys first differ from {@code last} in bit
+     * <i>i</i> - 1.
+     */
+    private final List<List<Node<E>>> buckets;
+    /**
+     * Key of the last removed minimum, which no key in this priority queue may be smaller than.
+     */
+    private long last;
+
+    /**
+     * Constructs an empty instance.
+     */
+    public RadixHeapMinPQ() {
+        this(0);
+    }
+
+    /**
+     * Constructs an instance containing all the given elements and their priority values.
+     *
+     * @param elementsAndPriorities each element and its corresponding priority.
+     */
+    public RadixHeapMinPQ(Map<E, Double> elementsAndPriorities) {
+        this(elementsAndPriorities.size());
+        for (Map.Entry<E, Double> entry : elementsAndPriorities.entrySet()) {
+            add(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Constructs an empty instance with room for the given number of elements.
+     *
+     * @param capacity the expected number of elements.
+     */
+    private RadixHeapMinPQ(int capacity) {
+        elementsToNode = new HashMap<>((int) Math.ceil(capacity / 0.75));
+        buckets = new ArrayList<>(NUM_BUCKETS);
+        for (int i = 0; i < NUM_BUCKETS; i += 1) {
+            buckets.add(new ArrayList<>());
+        }
+        last = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the priority value is smaller than that of the last removed minimum.
+     */
+    @Override
+    public void add(E element, double priority) {
+        if (contains(element)) {
+            throw new IllegalArgumentException("Already contains " + element);
+        }
+        if (isEmpty()) {
+            last = 0;
+        }
+        Node<E> node = new Node<>(element, priority, key(priority));
+        elementsToNode.put(element, node);
+        insert(node);
+    }
+
+    @Override
+    public boolean contains(E element) {
+        return elementsToNode.containsKey(element);
+    }
+
+    @Override
+    public E peekMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        List<Node<E>> first = buckets.get(0);
+        if (!first.isEmpty()) {
+            return first.get(first.size() - 1).element;
+        }
+        // Find the minimum without redistributing, since the last removed minimum must not change until it is removed.
+        List<Node<E>> bucket = buckets.get(firstNonEmpty());
+        Node<E> min = bucket.get(0);
+        for (Node<E> node : bucket) {
+            // Ties go to the last node, which is the one that redistributing would leave on top of bucket 0.
+            if (Long.compareUnsigned(node.key, min.key) <= 0) {
+                min = node;
+            }
+        }
+        return min.element;
+    }
+
+    @Override
+    public E removeMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        List<Node<E>> bucket = minBucket();
+        Node<E> min = bucket.remove(bucket.size() - 1);
+        elementsToNode.remove(min.element);
+        return min.element;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the priority value is smaller than that of the last removed minimum.
+     */
+    @Override
+    public void changePriority(E element, double priority) {
+        if (!contains(element)) {
+            throw new NoSuchElementException("PQ does not contain " + element);
+        }
+        Node<E> node = elementsToNode.get(element);
+        long key = key(priority);
+        if (Long.compareUnsigned(key, last) < 0) {
+            throw new IllegalArgumentException("Priority " + priority + " is smaller than the last removed minimum");
+        }
+        remove(node);
+        node.priority = priority;
+        node.key = key;
+        insert(node);
+    }
+
+    @Override
+    public int size() {
+        return elementsToNode.size();
+    }
+
+    /**
+     * Returns bucket 0 after redistributing the first non-empty bucket so that bucket 0 contains the minimum elements,
+     * which makes the minimum key the key of the last removed minimum. Only called when removing the minimum. Requires
+     * this priority queue to be non-empty.
+     *
+     * @return bucket 0 containing all elements with the minimum key.
+     */
+    private List<Node<E>> minBucket() {
+        List<Node<E>> first = buckets.get(0);
+        if (first.isEmpty()) {
+            List<Node<E>> bucket = buckets.get(firstNonEmpty());
+            long min = bucket.get(0).key;
+            for (Node<E> node : bucket) {
+                if (Long.compareUnsigned(node.key, min) < 0) {
+                    min = node.key;
+                }
+            }
+            last = min;
+            // Every key in the bucket shares its bits above bit i - 1 with the new minimum, so each moves lower.
+            for (Node<E> node : bucket) {
+                List<Node<E>> lower = buckets.get(bucketOf(node.key));
+                node.bucket = lower;
+                node.index = lower.size();
+                lower.add(node);
+            }
+            bucket.clear();
+        }
+        return first;
+    }
+
+    /**
+     * Returns the number of the first non-empty bucket. Requires this priority queue to be non-empty.
+     *
+     * @return the number of the first non-empty bucket.
+     */
+    private int firstNonEmpty() {
+        int i = 0;
+        while (buckets.get(i).isEmpty()) {
+            i += 1;
+        }
+        return i;
+    }
+
+    /**
+     * Adds the node to the bucket for its key.
+     *
+     * @param node the node to add.
+     * @throws IllegalArgumentException if the key is smaller than the key of the last removed minimum.
+     */
+    private void insert(Node<E> node) {
+        if (Long.compareUnsigned(node.key, last) < 0) {
+            elementsToNode.remove(node.element);
+            throw new IllegalArgumentException(
+                    "Priority " + node.priority + " is smaller than the last removed minimum"
+            );
+        }
+        List<Node<E>> bucket = buckets.get(bucketOf(node.key));
+        node.bucket = bucket;
+        node.index = bucket.size();
+        bucket.add(node);
+    }
+
+    /**
+     * Removes the node from its bucket in constant time by moving the last node in the bucket into its place.
+     *
+     * @param node the node to remove.
+     */
+    private void remove(Node<E> node) {
+        List<Node<E>> bucket = node.bucket;
+        Node<E> moved = bucket.remove(bucket.size() - 1);
+        if (moved != node) {
+            bucket.set(node.index, moved);
+            moved.index = node.index;
+        }
+    }
+
+    /**
+     * Returns the bucket number for the given key relative to the key of the last removed minimum.
+     *
+     * @param key the key.
+     * @return the bucket number for the given key.
+     */
+    private int bucketOf(long key) {
+        return Long.SIZE - Long.numberOfLeadingZeros(key ^ last);
+    }
+
+    /**
+     * Returns a key whose unsigned order matches the numeric order of the given priority value.
+     *
+     * @param priority the priority value.
+     * @return a key whose unsigned order matches the numeric order of the given priority value.
+     */
+    private static long key(double priority) {
+        long bits = Double.doubleToLongBits(priority + 0.0); // Adding 0.0 turns -0.0 into 0.0
+        // Flip all bits of negative values and only the sign bit of non-negative values.
+        return bits < 0 ? ~bits : bits ^ Long.MIN_VALUE;
+    }
+
+    /**
+     * An element-priority pair along with its key and its location in the buckets.
+     *
+     * @param <E> the type of element represented by this node.
+     */
+    private static class Node<E> {
+        private final E element;
+        private double priority;
+        private long key;
+        private List<Node<E>> bucket;
+        private int index;
+
+        Node(E element, double priority, long key) {
+            this.element = element;
+            this.priority = priority;
+            this.key = key;
+        }
+    }
+}
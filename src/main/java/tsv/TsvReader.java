@@ -0,0 +1,402 @@
+package tsv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+/**
+ * Reads tab-separated values (TSV) directly from bytes. A file is memory-mapped rather than copied onto the heap, and
+ * rows are found by scanning for tab and newline bytes instead of matching regular expressions as {@link
+ * java.util.Scanner} does. Large inputs are split at line boundaries into chunks that are parsed in parallel on the
+ * common {@link java.util.concurrent.ForkJoinPool}; the parsed rows are still returned in input order.
+ * <p>
+ * Fields are UTF-8 encoded. Lines end with {@code \n} or {@code \r\n}, and empty lines are skipped.
+ */
+public final class TsvReader {
+    /**
+     * Minimum number of bytes in a chunk before it is split for parallel parsing.
+     */
+    static final int CHUNK_SIZE = 1 << 18;
+
+    private TsvReader() {
+    }
+
+    /**
+     * Returns the result of the parser applied to each row of the file at the given path, in file order.
+     *
+     * @param path   the path to the TSV file.
+     * @param parser the function from each row to a result. Called concurrently from multiple threads.
+     * @param <T>    the type of result for each row.
+     * @return the result for each row in file order.
+     * @throws IOException if the file cannot be read.
+     */
+    public static <T> List<T> read(Path path, Function<Row, T> parser) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File too large to map: " + path);
+            }
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), parser, CHUNK_SIZE);
+        }
+    }
+
+    /**
+     * Returns the result of the parser applied to each of the first rows of the file at the given path, in file order.
+     * Lines after the last of those rows are not parsed.
+     *
+     * @param path    the path to the TSV file.
+     * @param parser  the function from each row to a result. Called concurrently from multiple threads.
+     * @param maxRows the maximum number of rows to parse.
+     * @param <T>     the type of result for each row.
+     * @return the result for each of the first rows in file order.
+     * @throws IOException              if the file cannot be read.
+     * @throws IllegalArgumentException if maxRows is negative.
+     */
+    public static <T> List<T> read(Path path, Function<Row, T> parser, int maxRows) throws IOException {
+        if (maxRows < 0) {
+            throw new IllegalArgumentException("Negative number of rows " + maxRows);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File too large to map: " + path);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.limit(endOfRows(buffer, maxRows));
+            return read(buffer, parser, CHUNK_SIZE);
+        }
+    }
+
+    /**
+     * Returns the result of the parser applied to each row of the given stream, such as a classpath resource that
+     * cannot be memory-mapped, in stream order. The stream is read fully but not closed.
+     *
+     * @param input  the stream of TSV data.
+     * @param parser the function from each row to a result. Called concurrently from multiple threads.
+     * @param <T>    the type of result for each row.
+     * @return the result for each row in stream order.
+     * @throws IOException if the stream cannot be read.
+     */
+    public static <T> List<T> read(InputStream input, Function<Row, T> parser) throws IOException {
+        return read(ByteBuffer.wrap(input.readAllBytes()), parser, CHUNK_SIZE);
+    }
+
+    /**
+     * Returns the result of the parser applied to each row of the given buffer, in buffer order.
+     *
+     * @param buffer    the TSV data between the buffer's position and limit.
+     * @param parser    the function from each row to a result.
+     * @param chunkSize the minimum number of bytes in a chunk before it is split for parallel parsing.
+     * @param <T>       the type of result for each row.
+     * @return the result for each row in buffer order.
+     */
+    static <T> List<T> read(ByteBuffer buffer, Function<Row, T> parser, int chunkSize) {
+        return new Chunk<>(buffer, parser, chunkSize, buffer.position(), buffer.limit()).invoke();
+    }
+
+    /**
+     * Returns the offset just past the line of the last of the first rows of the buffer, counting rows as the parser
+     * does by skipping empty lines.
+     *
+     * @param buffer  the TSV data between the buffer's position and limit.
+     * @param maxRows the number of rows.
+     * @return the offset just past the last of the rows, or the buffer's limit if it has no more rows.
+     */
+    static int endOfRows(ByteBuffer buffer, int maxRows) {
+        int numRows = 0;
+        int start = buffer.position();
+        while (start < buffer.limit() && numRows < maxRows) {
+            int newline = start;
+            while (newline < buffer.limit() && buffer.get(newline) != '\n') {
+                newline += 1;
+            }
+            int stop = newline;
+            if (stop > start && buffer.get(stop - 1) == '\r') {
+                stop -= 1;
+            }
+            if (stop > start) {
+                numRows += 1;
+            }
+            start = newline + 1;
+        }
+        return Math.min(start, buffer.limit());
+    }
+
+    /**
+     * A task that parses the lines between two offsets of the buffer, splitting itself in half at a line boundary if
+     * it is larger than the chunk size.
+     *
+     * @param <T> the type of result for each row.
+     */
+    private static class Chunk<T> extends RecursiveTask<List<T>> {
+        private final ByteBuffer buffer;
+        private final Function<Row, T> parser;
+        private final int chunkSize;
+        private final int begin;
+        private final int end;
+
+        /**
+         * Constructs a task for the lines between the given offsets, which must each be at the start of a line.
+         *
+         * @param buffer    the TSV data.
+         * @param parser    the function from each row to a result.
+         * @param chunkSize the minimum number of bytes in a chunk before it is split.
+         * @param begin     the offset of the first byte (inclusive).
+         * @param end       the offset of the last byte (exclusive).
+         */
+        Chunk(ByteBuffer buffer, Function<Row, T> parser, int chunkSize, int begin, int end) {
+            this.buffer = buffer;
+            this.parser = parser;
+            this.chunkSize = chunkSize;
+            this.begin = begin;
+            this.end = end;
+        }
+
+        @Override
+        protected List<T> compute() {
+            if (end - begin > chunkSize) {
+                int split = begin + (end - begin) / 2;
+                while (split < end && buffer.get(split - 1) != '\n') {
+                    split += 1;
+                }
+                if (split < end) {
+                    Chunk<T> left = new Chunk<>(buffer, parser, chunkSize, begin, split);
+                    Chunk<T> right = new Chunk<>(buffer, parser, chunkSize, split, end);
+                    left.fork();
+                    List<T> rightResult = right.compute();
+                    List<T> result = left.join();
+                    result.addAll(rightResult);
+                    return result;
+                }
+            }
+            List<T> result = new ArrayList<>();
+            Row row = new Row(buffer);
+            int start = begin;
+            while (start < end) {
+                int newline = start;
+                while (newline < end && buffer.get(newline) != '\n') {
+                    newline += 1;
+                }
+                int stop = newline;
+                if (stop > start && buffer.get(stop - 1) == '\r') {
+                    stop -= 1;
+                }
+                if (stop > start) {
+                    row.reset(start, stop);
+                    result.add(parser.apply(row));
+                }
+                start = newline + 1;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * A view of one line of TSV data. A row is reused for the following lines, so it is only valid during the call to
+     * the parser and must not be retained.
+     */
+    public static final class Row {
+        /**
+         * The TSV data.
+         */
+        private final ByteBuffer buffer;
+        /**
+         * Offset of the first byte of each field, followed by the offset one past the last byte of the line plus one.
+         */
+        private int[] starts;
+        /**
+         * Number of fields in the line.
+         */
+        private int size;
+        /**
+         * Reusable buffer for decoding fields that are not backed by an accessible array.
+         */
+        private byte[] scratch;
+
+        /**
+         * Constructs an empty row over the given data.
+         *
+         * @param buffer the TSV data.
+         */
+        private Row(ByteBuffer buffer) {
+            this.buffer = buffer;
+            this.starts = new int[8];
+            this.size = 0;
+            this.scratch = new byte[64];
+        }
+
+        /**
+         * Points this row at the line between the given offsets and finds the start of each field.
+         *
+         * @param begin the offset of the first byte of the line (inclusive).
+         * @param end   the offset of the last byte of the line (exclusive).
+         */
+        private void reset(int begin, int end) {
+            size = 0;
+            starts[0] = begin;
+            for (int i = begin; i < end; i += 1) {
+                if (buffer.get(i) == '\t') {
+                    add(i + 1);
+                }
+            }
+            add(end + 1);
+        }
+
+        /**
+         * Records the start of the next field.
+         *
+         * @param start the offset of the first byte of the next field.
+         */
+        private void add(int start) {
+            size += 1;
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, 2 * size);
+            }
+            starts[size] = start;
+        }
+
+        /**
+         * Returns the number of fields in this row.
+         *
+         * @return the number of fields in this row.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Returns the field at the given index decoded as a string.
+         *
+         * @param index the index of the field.
+         * @return the field at the given index.
+         * @throws IndexOutOfBoundsException if there is no field at the given index.
+         */
+        public String getString(int index) {
+            int start = start(index);
+            int length = end(index) - start;
+            if (buffer.hasArray()) {
+                return new String(buffer.array(), buffer.arrayOffset() + start, length, StandardCharsets.UTF_8);
+            }
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, 2 * scratch.length)];
+            }
+            buffer.get(start, scratch, 0, length);
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Returns the field at the given index parsed as a decimal integer without creating a string.
+         *
+         * @param index the index of the field.
+         * @return the field at the given index as an integer.
+         * @throws IndexOutOfBoundsException if there is no field at the given index.
+         * @throws NumberFormatException     if the field is not an integer in the range of an int.
+         */
+        public int getInt(int index) {
+            long value = getLong(index);
+            if (value != (int) value) {
+                throw new NumberFormatException("Out of range for an int: " + getString(index));
+            }
+            return (int) value;
+        }
+
+        /**
+         * Returns the field at the given index parsed as a decimal integer without creating a string.
+         *
+         * @param index the index of the field.
+         * @return the field at the given index as a long.
+         * @throws IndexOutOfBoundsException if there is no field at the given index.
+         * @throws NumberFormatException     if the field is not an integer in the range of a long.
+         */
+        public long getLong(int index) {
+            int start = start(index);
+            int end = end(index);
+            boolean negative = start < end && buffer.get(start) == '-';
+            int i = negative || start < end && buffer.get(start) == '+' ? start + 1 : start;
+            if (i == end || end - i > 18) {
+                // Empty, or too many digits to accumulate without checking for overflow.
+                return Long.parseLong(getString(index));
+            }
+            long value = 0;
+            for (; i < end; i += 1) {
+                int digit = buffer.get(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    throw new NumberFormatException("Not an integer: " + getString(index));
+                }
+                value = 10 * value + digit;
+            }
+            return negative ? -value : value;
+        }
+
+        /**
+         * Returns the field at the given index parsed as a decimal number. Integers are parsed without creating a
+         * string.
+         *
+         * @param index the index of the field.
+         * @return the field at the given index as a double.
+         * @throws IndexOutOfBoundsException if there is no field at the given index.
+         * @throws NumberFormatException     if the field is not a number.
+         */
+        public double getDouble(int index) {
+            int start = start(index);
+            int end = end(index);
+            int i = start < end && (buffer.get(start) == '-' || buffer.get(start) == '+') ? start + 1 : start;
+            boolean integer = i < end && end - i <= 15;
+            for (; integer && i < end; i += 1) {
+                byte b = buffer.get(i);
+                integer = b >= '0' && b <= '9';
+            }
+            // Integers with up to 15 digits are exactly representable, so converting the long cannot round.
+            if (integer) {
+                long value = getLong(index);
+                // A long has no negative zero, so keep the sign of "-0" like Double.parseDouble.
+                return value == 0 && buffer.get(start) == '-' ? -0.0 : value;
+            }
+            return Double.parseDouble(getString(index));
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder result = new StringBuilder();
+            for (int i = 0; i < size; i += 1) {
+                if (i > 0) {
+                    result.append('\t');
+                }
+                result.append(getString(i));
+            }
+            return result.toString();
+        }
+
+        /**
+         * Returns the offset of the first byte of the field at the given index.
+         *
+         * @param index the index of the field.
+         * @return the offset of the first byte of the field.
+         */
+        private int start(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+            }
+            return starts[index];
+        }
+
+        /**
+         * Returns the offset one past the last byte of the field at the given index.
+         *
+         * @param index the index of the field, which must be valid.
+         * @return the offset one past the last byte of the field.
+         */
+        private int end(int index) {
+            return starts[index + 1] - 1;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.Scanner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link DNASearch.PackedSequence} class, comparing each packed sequence against the plain string read
+ * by {@link Scanner#next()}.
+ *
+ * @see DNASearch.PackedSequence
+ */
+public class DNASearchTests {
+    @TempDir
+    Path directory;
+
+    @Test
+    void matchesStringForEveryLength() {
+        Random random = new Random(373);
+        for (int length = 1; length <= 33; length += 1) {
+            StringBuilder dna = new StringBuilder();
+            for (int i = 0; i < length; i += 1) {
+                dna.append("ACGT".charAt(random.nextInt(4)));
+            }
+            assertMatches(dna.toString());
+        }
+    }
+
+    @Test
+    void endsAtLineBreak() {
+        assertMatches("GATTACA\nCCCC\n");
+        assertMatches("GATTACA\r\nCCCC\r\n");
+        assertMatches("\n\r\n  \tGATTACA\n");
+        assertMatches("GATTACAG");
+    }
+
+    @Test
+    void handlesLowercase() {
+        assertMatches("gattaca\n");
+        assertMatches("acgtacgtac");
+    }
+
+    @Test
+    void rejectsMoreThanFourCharacters() {
+        assertThrows(IllegalArgumentException.class, () -> pack("ACGTa"));
+        assertThrows(IllegalArgumentException.class, () -> pack("ACGTN\n"));
+    }
+
+    @Test
+    void subSequenceAcrossByteBoundaries() {
+        String expected = "TTGACCATGATTACAGGCAT";
+        DNASearch.PackedSequence actual = pack(expected);
+        for (int begin = 0; begin <= expected.length(); begin += 1) {
+            for (int end = begin; end <= expected.length(); end += 1) {
+                assertEquals(expected.substring(begin, end), actual.subSequence(begin, end).toString());
+            }
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> actual.subSequence(3, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> actual.subSequence(0, expected.length() + 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> actual.charAt(expected.length()));
+    }
+
+    @Test
+    void mapMatchesString() throws IOException {
+        String text = "\nacgttgca\nGGGG\n";
+        Path path = directory.resolve("dna.txt");
+        Files.writeString(path, text);
+        DNASearch.PackedSequence mapped = DNASearch.PackedSequence.map(path);
+        assertEquals(new Scanner(text).next(), mapped.toString());
+        assertThrows(IOException.class, () -> DNASearch.PackedSequence.map(directory.resolve("missing.txt")));
+    }
+
+    /**
+     * Asserts that the packed sequence of the given text has the same characters as its first token.
+     *
+     * @param text the text to pack.
+     */
+    private static void assertMatches(String text) {
+        String expected = new Scanner(text).next();
+        DNASearch.PackedSequence actual = pack(text);
+        assertEquals(expected.length(), actual.length());
+        for (int i = 0; i < expected.length(); i += 1) {
+            assertEquals(expected.charAt(i), actual.charAt(i));
+        }
+        assertEquals(expected, actual.toString());
+    }
+
+    /**
+     * Returns the packed sequence of the given text.
+     *
+     * @param text the text to pack.
+     * @return the packed sequence of the first token of the text.
+     */
+    private static DNASearch.PackedSequence pack(String text) {
+        return DNASearch.PackedSequence.of(ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
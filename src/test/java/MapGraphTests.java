@@ -0,0 +1,274 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.locationtech.spatial4j.context.SpatialContext;
+import org.locationtech.spatial4j.shape.Point;
+
+import java.io.OutputStream;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the snapshot of the {@link MapGraph} class, using a small grid of streets written to a temporary directory
+ * that is put on the classpath while each map graph is constructed.
+ *
+ * @see MapGraph
+ */
+public class MapGraphTests {
+    /**
+     * Classpath path to the OSM file, which must not clash with the resources of the real map.
+     */
+    private static final String OSM_PATH = "test-map.osm.gz";
+    /**
+     * Classpath path to the places file, which must not clash with the resources of the real map.
+     */
+    private static final String PLACES_PATH = "test-places.tsv";
+    /**
+     * Number of streets in each direction of the grid.
+     */
+    private static final int SIDE = 4;
+
+    @TempDir
+    Path directory;
+    private Path snapshot;
+
+    @BeforeEach
+    void writeMap() throws Exception {
+        StringBuilder osm = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<osm>\n");
+        for (int r = 0; r < SIDE; r += 1) {
+            for (int c = 0; c < SIDE; c += 1) {
+                osm.append("<node id=\"").append(id(r, c))
+                        .append("\" lat=\"").append(47.65 + 0.001 * r)
+                        .append("\" lon=\"").append(-122.31 + 0.001 * c).append("\">");
+                if (r == 0 && c == 0) {
+                    osm.append("<tag k=\"name\" v=\"Husky Stadium\"/>");
+                } else if (r == SIDE - 1 && c == SIDE - 1) {
+                    osm.append("<tag k=\"name\" v=\"Husky Union Building\"/>");
+                }
+                osm.append("</node>\n");
+            }
+        }
+        for (int i = 0; i < SIDE; i += 1) {
+            osm.append("<way>");
+            for (int j = 0; j < SIDE; j += 1) {
+                osm.append("<nd ref=\"").append(id(i, j)).append("\"/>");
+            }
+            osm.append("<tag k=\"highway\" v=\"residential\"/></way>\n<way>");
+            for (int j = 0; j < SIDE; j += 1) {
+                osm.append("<nd ref=\"").append(id(j, i)).append("\"/>");
+            }
+            // Footways are not part of the road graph.
+            osm.append("<tag k=\"highway\" v=\"").append(i == 0 ? "footway" : "primary").append("\"/></way>\n");
+        }
+        osm.append("</osm>\n");
+        try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(directory.resolve(OSM_PATH)))) {
+            output.write(osm.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        try (Writer output = Files.newBufferedWriter(directory.resolve(PLACES_PATH))) {
+            output.write("Husky Stadium\t10\nHusky Union Building\t20\n");
+        }
+        snapshot = directory.resolve("map.snapshot");
+    }
+
+    @Test
+    void snapshotMatchesParsedMap() throws Exception {
+        writeSnapshot();
+        MapGraph parsed = load(null);
+        MapGraph loaded = load(snapshot);
+        assertNull(parsed.hierarchy());
+        assertNotNull(loaded.hierarchy());
+        assertEquals(parsed.graph().numVertices(), loaded.graph().numVertices());
+        assertEquals(parsed.graph().numEdges(), loaded.graph().numEdges());
+        for (int v = 0; v < parsed.graph().numVertices(); v += 1) {
+            assertEquals(parsed.graph().lat(v), loaded.graph().lat(v));
+            assertEquals(parsed.graph().lon(v), loaded.graph().lon(v));
+            assertEquals(parsed.graph().edgeEnd(v) - parsed.graph().edgeStart(v),
+                    loaded.graph().edgeEnd(v) - loaded.graph().edgeStart(v));
+        }
+        assertEquals(parsed.getLocationsByPrefix("Husky", 10), loaded.getLocationsByPrefix("Husky", 10));
+        Point start = loaded.getLocations("Husky Stadium").get(0);
+        Point goal = loaded.getLocations("Husky Union Building").get(0);
+        assertEquals(parsed.getLocations("Husky Stadium"), List.of(start));
+        assertEquals(parsed.getLocations("Husky Union Building"), List.of(goal));
+
+        // The grid has many shortest paths, so the contraction hierarchy and A* search may choose different ones.
+        List<Point> expected = parsed.shortestPath(start, goal);
+        List<Point> actual = loaded.shortestPath(start, goal);
+        assertEquals(start, actual.get(0));
+        assertEquals(goal, actual.get(actual.size() - 1));
+        assertEquals(length(parsed, expected), length(loaded, actual), 1e-6);
+    }
+
+    @Test
+    void rejectsSnapshotOfLongerPlacesFile() throws Exception {
+        writeSnapshot();
+        Path places = directory.resolve(PLACES_PATH);
+        FileTime modified = Files.getLastModifiedTime(places);
+        Files.writeString(places, "Suzzallo Library\t30\n", StandardOpenOption.APPEND);
+        Files.setLastModifiedTime(places, modified);
+        assertNull(load(snapshot).hierarchy());
+    }
+
+    @Test
+    void rejectsSnapshotOfModifiedOsmFile() throws Exception {
+        writeSnapshot();
+        Path osm = directory.resolve(OSM_PATH);
+        FileTime modified = Files.getLastModifiedTime(osm);
+        Files.setLastModifiedTime(osm, FileTime.fromMillis(modified.toMillis() + 1000));
+        assertNull(load(snapshot).hierarchy());
+    }
+
+    @Test
+    void rejectsSnapshotOfOtherVersion() throws Exception {
+        writeSnapshot();
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The format version follows the magic number.
+            ByteBuffer version = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(version, Integer.BYTES);
+            version.flip();
+            int next = version.getInt() + 1;
+            version.clear();
+            version.putInt(next).flip();
+            channel.write(version, Integer.BYTES);
+        }
+        assertNull(load(snapshot).hierarchy());
+    }
+
+    @Test
+    void rejectsTruncatedSnapshot() throws Exception {
+        writeSnapshot();
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+        MapGraph map = load(snapshot);
+        assertNull(map.hierarchy());
+        // The partially read snapshot must not leave duplicate locations behind once the files are parsed.
+        assertEquals(1, map.getLocations("Husky Stadium").size());
+        assertEquals(List.of("Husky Stadium", "Husky Union Building"), map.getLocationsByPrefix("Husky", 10));
+    }
+
+    @Test
+    void rejectsSnapshotWithInvalidCounts() throws Exception {
+        // The number of vertices follows the magic number, format version and four source lengths and times.
+        long vertexCount = 2 * Integer.BYTES + 4 * Long.BYTES;
+        for (int count : new int[]{-1, Integer.MAX_VALUE}) {
+            writeSnapshot();
+            writeInt(vertexCount, count);
+            assertNull(load(snapshot).hierarchy());
+        }
+        for (int count : new int[]{-1, Integer.MAX_VALUE}) {
+            writeSnapshot();
+            int numVertices = readInt(vertexCount);
+            long offsets = vertexCount + Integer.BYTES + 2L * Double.BYTES * numVertices;
+            int numEdges = readInt(offsets + (long) Integer.BYTES * numVertices);
+            long locationCount = offsets + (long) Integer.BYTES * (numVertices + 1)
+                    + (long) (Integer.BYTES + Float.BYTES) * numEdges;
+            // The length of the first location name follows the number of locations.
+            writeInt(locationCount + Integer.BYTES, count);
+            MapGraph map = load(snapshot);
+            assertNull(map.hierarchy());
+            assertEquals(1, map.getLocations("Husky Stadium").size());
+        }
+    }
+
+    /**
+     * Reads the int at the given position of the snapshot.
+     *
+     * @param position the byte offset of the int in the snapshot.
+     * @return the int at the position.
+     * @throws Exception if the snapshot cannot be read.
+     */
+    private int readInt(long position) throws Exception {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(buffer, position);
+            return buffer.flip().getInt();
+        }
+    }
+
+    /**
+     * Overwrites the int at the given position of the snapshot.
+     *
+     * @param position the byte offset of the int in the snapshot.
+     * @param value    the new value.
+     * @throws Exception if the snapshot cannot be written.
+     */
+    private void writeInt(long position, int value) throws Exception {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(value).flip(), position);
+        }
+    }
+
+    /**
+     * Writes the snapshot of the map with {@link MapGraph#main(String[])}.
+     *
+     * @throws Exception if the map cannot be parsed or the snapshot cannot be written.
+     */
+    private void writeSnapshot() throws Exception {
+        Thread thread = Thread.currentThread();
+        ClassLoader loader = thread.getContextClassLoader();
+        try (URLClassLoader classpath = new URLClassLoader(new URL[]{directory.toUri().toURL()}, loader)) {
+            thread.setContextClassLoader(classpath);
+            MapGraph.main(new String[]{OSM_PATH, PLACES_PATH, snapshot.toString()});
+        } finally {
+            thread.setContextClassLoader(loader);
+        }
+        assertTrue(Files.exists(snapshot));
+    }
+
+    /**
+     * Returns the map graph of the map, loaded from the given snapshot if it is current.
+     *
+     * @param snapshotPath the path to the snapshot file, or null to parse the map.
+     * @return the map graph of the map.
+     * @throws Exception if the map cannot be parsed.
+     */
+    private MapGraph load(Path snapshotPath) throws Exception {
+        Thread thread = Thread.currentThread();
+        ClassLoader loader = thread.getContextClassLoader();
+        try (URLClassLoader classpath = new URLClassLoader(new URL[]{directory.toUri().toURL()}, loader)) {
+            thread.setContextClassLoader(classpath);
+            return new MapGraph(OSM_PATH, PLACES_PATH, SpatialContext.GEO, snapshotPath);
+        } finally {
+            thread.setContextClassLoader(loader);
+        }
+    }
+
+    /**
+     * Returns the OSM id of the node in the given row and column of the grid.
+     *
+     * @param r the row.
+     * @param c the column.
+     * @return the OSM id of the node.
+     */
+    private static int id(int r, int c) {
+        return 1 + r * SIDE + c;
+    }
+
+    /**
+     * Returns the total distance along the path.
+     *
+     * @param map  the map graph.
+     * @param path the points on the path.
+     * @return the total distance along the path.
+     */
+    private static double length(MapGraph map, List<Point> path) {
+        double result = 0;
+        for (int i = 1; i < path.size(); i += 1) {
+            result += map.estimatedDistance(path.get(i - 1), path.get(i));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,14 @@
+package autocomplete;
+
+/**
+ * Tests for the {@link CompactTernarySearchTreeAutocomplete} class, including the weighted tests for
+ * {@link TernarySearchTreeAutocomplete}.
+ *
+ * @see CompactTernarySearchTreeAutocomplete
+ */
+public class CompactTernarySearchTreeAutocompleteTests extends TernarySearchTreeAutocompleteTests {
+    @Override
+    public Autocomplete createAutocomplete() {
+        return new CompactTernarySearchTreeAutocomplete();
+    }
+}
@@ -0,0 +1,118 @@
+package autocomplete;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link FMIndexAutocomplete} class, comparing against {@link SuffixArrayAutocomplete}.
+ *
+ * @see FMIndexAutocomplete
+ */
+public class FMIndexAutocompleteTests {
+    /**
+     * Asserts that the FM-index and the suffix array agree on the given prefix.
+     *
+     * @param expected the suffix array autocomplete.
+     * @param actual   the FM-index autocomplete.
+     * @param prefix   the prefix.
+     */
+    private static void assertMatches(Autocomplete expected, Autocomplete actual, String prefix) {
+        List<String> expectedMatches = new ArrayList<>();
+        for (CharSequence match : expected.allMatches(prefix)) {
+            expectedMatches.add(match.toString());
+        }
+        List<String> actualMatches = new ArrayList<>();
+        for (CharSequence match : actual.allMatches(prefix)) {
+            actualMatches.add(match.toString());
+        }
+        assertEquals(expectedMatches, actualMatches, "allMatches(\"" + prefix + "\")");
+        for (int limit : new int[]{0, 1, 3}) {
+            List<String> first = expectedMatches.subList(0, Math.min(limit, expectedMatches.size()));
+            assertEquals(first, strings(expected.allMatches(prefix, limit)), "Suffix array limit " + limit);
+            assertEquals(first, strings(actual.allMatches(prefix, limit)), "FM-index limit " + limit);
+        }
+        assertEquals(expected.countMatches(prefix), actual.countMatches(prefix), "countMatches(\"" + prefix + "\")");
+    }
+
+    /**
+     * Returns the strings of the given matches.
+     *
+     * @param matches the matches.
+     * @return the string of each match.
+     */
+    private static List<String> strings(List<CharSequence> matches) {
+        List<String> result = new ArrayList<>();
+        for (CharSequence match : matches) {
+            result.add(match.toString());
+        }
+        return result;
+    }
+
+    @Test
+    void randomDNA() {
+        SplittableRandom random = new SplittableRandom(373);
+        for (String alphabet : List.of("A", "AT", "ACGT", "acgt")) {
+            for (int length : new int[]{1, 31, 32, 33, 63, 64, 127, 128, 191, 1000, 5000}) {
+                StringBuilder builder = new StringBuilder();
+                for (int i = 0; i < length; i += 1) {
+                    builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+                String text = builder.toString();
+                Autocomplete expected = new SuffixArrayAutocomplete(text);
+                Autocomplete actual = new FMIndexAutocomplete(text);
+                for (int i = 0; i < 100; i += 1) {
+                    int begin = random.nextInt(text.length());
+                    int end = Math.min(text.length(), begin + 1 + random.nextInt(12));
+                    assertMatches(expected, actual, text.substring(begin, end));
+                }
+                assertMatches(expected, actual, "N");
+                assertMatches(expected, actual, "");
+            }
+        }
+    }
+
+    @Test
+    void suffixesDecodeCharacters() {
+        String text = "GATTACAGATTACACATTAG";
+        Autocomplete autocomplete = new FMIndexAutocomplete(text);
+        for (CharSequence match : autocomplete.allMatches("A")) {
+            String suffix = text.substring(text.length() - match.length());
+            for (int i = 0; i < match.length(); i += 1) {
+                assertEquals(suffix.charAt(i), match.charAt(i));
+            }
+            assertEquals(suffix.substring(1, match.length()), match.subSequence(1, match.length()).toString());
+        }
+        assertEquals(8, autocomplete.countMatches("A"));
+        assertEquals(2, autocomplete.countMatches("GATTACA"));
+    }
+
+    @Test
+    void rejectsMoreThanFourCharacters() {
+        assertThrows(IllegalArgumentException.class, () -> new FMIndexAutocomplete("ACGTN"));
+    }
+
+    @Test
+    void rejectsTooLongText() {
+        // The length is checked before any character is read, so the text does not need to exist.
+        CharSequence text = new CharSequence() {
+            @Override
+            public int length() {
+                return FMIndexAutocomplete.MAX_LENGTH + 1;
+            }
+
+            @Override
+            public char charAt(int index) {
+                throw new AssertionError("Read character " + index);
+            }
+
+            @Override
+            public CharSequence subSequence(int start, int end) {
+                throw new AssertionError("Read subsequence " + start + ", " + end);
+            }
+        };
+        assertThrows(IllegalArgumentException.class, () -> new FMIndexAutocomplete(text));
+    }
+}
@@ -0,0 +1,100 @@
+package autocomplete;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link SuffixArrayAutocomplete} class, comparing against a sorted list of every suffix.
+ *
+ * @see SuffixArrayAutocomplete
+ */
+public class SuffixArrayAutocompleteTests {
+    /**
+     * Returns every suffix of the given text in sorted order.
+     *
+     * @param text the text.
+     * @return every suffix of the given text in sorted order.
+     */
+    private static List<String> sortedSuffixes(String text) {
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i < text.length(); i += 1) {
+            result.add(text.substring(i));
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    /**
+     * Asserts that the suffix array autocomplete and a sorted list of suffixes agree on the given prefix.
+     *
+     * @param autocomplete the suffix array autocomplete.
+     * @param suffixes     every suffix in sorted order.
+     * @param prefix       the prefix.
+     */
+    private static void assertMatches(SuffixArrayAutocomplete autocomplete, List<String> suffixes, String prefix) {
+        List<String> expected = new ArrayList<>();
+        for (String suffix : suffixes) {
+            if (suffix.startsWith(prefix)) {
+                expected.add(suffix);
+            }
+        }
+        List<String> actual = new ArrayList<>();
+        for (CharSequence match : autocomplete.allMatches(prefix)) {
+            actual.add(match.toString());
+        }
+        assertEquals(expected, actual, "allMatches(\"" + prefix + "\")");
+        assertEquals(expected.size(), autocomplete.countMatches(prefix), "countMatches(\"" + prefix + "\")");
+    }
+
+    @Test
+    void mississippi() {
+        String text = "mississippi";
+        SuffixArrayAutocomplete autocomplete = new SuffixArrayAutocomplete(text);
+        List<String> suffixes = sortedSuffixes(text);
+        for (String prefix : List.of("i", "is", "issi", "m", "p", "pi", "s", "si", "ss", "x", "mississippi", "ippix")) {
+            assertMatches(autocomplete, suffixes, prefix);
+        }
+        assertArrayEquals(new int[]{1, 1, 4, 0, 0, 1, 0, 2, 1, 3}, autocomplete.lcpArray());
+    }
+
+    @Test
+    void randomDNA() {
+        SplittableRandom random = new SplittableRandom(373);
+        for (String alphabet : List.of("A", "AT", "ACGT")) {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < 2000; i += 1) {
+                builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String text = builder.toString();
+            SuffixArrayAutocomplete autocomplete = new SuffixArrayAutocomplete(text);
+            List<String> suffixes = sortedSuffixes(text);
+            for (int i = 0; i < 200; i += 1) {
+                int begin = random.nextInt(text.length());
+                int end = Math.min(text.length(), begin + 1 + random.nextInt(8));
+                assertMatches(autocomplete, suffixes, text.substring(begin, end));
+            }
+            assertMatches(autocomplete, suffixes, "N");
+
+            int[] lcp = autocomplete.lcpArray();
+            for (int i = 0; i < lcp.length; i += 1) {
+                String a = suffixes.get(i);
+                String b = suffixes.get(i + 1);
+                int expected = 0;
+                while (expected < a.length() && expected < b.length() && a.charAt(expected) == b.charAt(expected)) {
+                    expected += 1;
+                }
+                assertEquals(expected, lcp[i]);
+            }
+        }
+    }
+
+    @Test
+    void emptyPrefixHasNoMatches() {
+        SuffixArrayAutocomplete autocomplete = new SuffixArrayAutocomplete("GATTACA");
+        assertTrue(autocomplete.allMatches("").isEmpty());
+        assertEquals(0, autocomplete.countMatches(""));
+    }
+}
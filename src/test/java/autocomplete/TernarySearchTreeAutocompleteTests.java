@@ -1,5 +1,13 @@
 package autocomplete;
 
+import org.junit.jupiter.api.Test;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 /**
  * Tests for the {@link TernarySearchTreeAutocomplete} class.
  *
@@ -10,4 +18,40 @@ public class TernarySearchTreeAutocompleteTests extends AutocompleteTests {
     public Autocomplete createAutocomplete() {
         return new TernarySearchTreeAutocomplete();
     }
+
+    @Test
+    void topMatchesHaveLargestWeights() throws IOException {
+        Map<String, Double> cities = new HashMap<>();
+        Scanner input = new Scanner(new FileInputStream("data/cities.tsv"));
+        while (input.hasNextLine()) {
+            Scanner line = new Scanner(input.nextLine()).useDelimiter("\t");
+            cities.put(line.next(), line.nextDouble());
+        }
+        Autocomplete autocomplete = createAutocomplete();
+        autocomplete.addAll(cities);
+        for (String prefix : List.of("S", "Sea", "San ", "Los", "Z", "Qwerty")) {
+            List<Double> expected = new ArrayList<>();
+            for (CharSequence match : autocomplete.allMatches(prefix)) {
+                expected.add(cities.get(match.toString()));
+            }
+            expected.sort(Comparator.reverseOrder());
+            expected = expected.subList(0, Math.min(10, expected.size()));
+
+            List<Double> actual = new ArrayList<>();
+            for (CharSequence match : autocomplete.topMatches(prefix, 10)) {
+                assertTrue(match.toString().startsWith(prefix));
+                actual.add(cities.get(match.toString()));
+            }
+            assertEquals(expected, actual, "Weights of topMatches(\"" + prefix + "\", 10)");
+        }
+    }
+
+    @Test
+    void topMatchesOfNonPositiveCountIsEmpty() {
+        Autocomplete autocomplete = createAutocomplete();
+        autocomplete.addAll(Map.of("Seattle", 2.0, "Spokane", 1.0));
+        assertEquals(List.of(), autocomplete.topMatches("S", 0));
+        assertEquals(List.of(), autocomplete.topMatches("S", -1));
+        assertEquals(List.of("Seattle"), autocomplete.topMatches("S", 1));
+    }
 }
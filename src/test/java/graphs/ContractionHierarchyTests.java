@@ -0,0 +1,145 @@
+package graphs;
+
+import graphs.shortestpaths.DijkstraSolver;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+import static graphs.CsrGraphTests.cost;
+import static graphs.CsrGraphTests.grid;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link ContractionHierarchy} class.
+ *
+ * @see ContractionHierarchy
+ */
+public class ContractionHierarchyTests {
+    /**
+     * Error tolerance for shortest path costs.
+     */
+    private static final double EPSILON = 1e-6;
+    /**
+     * Number of vertices along each side of the grid.
+     */
+    private static final int SIDE = 40;
+
+    @Test
+    void startIsGoal() {
+        ContractionHierarchy.Query query = ContractionHierarchy.contract(grid(SIDE, new Random(373))).query();
+        assertEquals(0.0, query.distance(42, 42));
+        assertEquals(List.of(42), query.shortestPath(42, 42));
+    }
+
+    @Test
+    void unreachableGoal() {
+        CsrGraph graph = new CsrGraph(
+                new double[]{47.60, 47.61, 47.62},
+                new double[]{-122.30, -122.31, -122.32},
+                new int[]{0, 1, 2, 2},
+                new int[]{1, 0},
+                new float[]{1.5f, 2.5f}
+        );
+        ContractionHierarchy.Query query = ContractionHierarchy.contract(graph).query();
+        assertEquals(Double.POSITIVE_INFINITY, query.distance(0, 2));
+        assertEquals(List.of(2), query.shortestPath(0, 2));
+        assertEquals(List.of(0, 1), query.shortestPath(0, 1));
+    }
+
+    @Test
+    void matchesDijkstraSolver() {
+        Random random = new Random(373);
+        CsrGraph graph = grid(SIDE, random);
+        ContractionHierarchy hierarchy = ContractionHierarchy.contract(graph);
+        assertEquals(graph.numVertices(), hierarchy.numVertices());
+        ContractionHierarchy.Query query = hierarchy.query();
+        for (int trial = 0; trial < 50; trial += 1) {
+            int start = random.nextInt(graph.numVertices());
+            int goal = random.nextInt(graph.numVertices());
+            double expected = cost(graph, new DijkstraSolver<>(graph, start).solution(goal));
+            List<Integer> actual = query.shortestPath(start, goal);
+            assertEquals(start, actual.get(0));
+            assertEquals(goal, actual.get(actual.size() - 1));
+            assertEquals(expected, cost(graph, actual), EPSILON);
+            assertEquals(expected, query.distance(start, goal), EPSILON);
+            assertTrue(query.expanded() < graph.numVertices() / 4, "Expanded " + query.expanded() + " vertices");
+        }
+    }
+
+    @Test
+    void oneWayStreetsMatchDijkstraSolver() {
+        Random random = new Random(373);
+        int numVertices = 300;
+        double[] lat = new double[numVertices];
+        double[] lon = new double[numVertices];
+        for (int v = 0; v < numVertices; v += 1) {
+            lat[v] = 47.5 + random.nextDouble() * 0.2;
+            lon[v] = -122.4 + random.nextDouble() * 0.2;
+        }
+        int[] offsets = new int[numVertices + 1];
+        int[] targets = new int[4 * numVertices];
+        float[] weights = new float[4 * numVertices];
+        for (int v = 0; v < numVertices; v += 1) {
+            offsets[v + 1] = offsets[v] + random.nextInt(5);
+            for (int e = offsets[v]; e < offsets[v + 1]; e += 1) {
+                targets[e] = random.nextInt(numVertices);
+                double distance = CsrGraph.distance(lat[v], lon[v], lat[targets[e]], lon[targets[e]]);
+                weights[e] = (float) (distance * (1 + random.nextDouble()));
+            }
+        }
+        int numEdges = offsets[numVertices];
+        CsrGraph graph = new CsrGraph(lat, lon, offsets, Arrays.copyOf(targets, numEdges),
+                Arrays.copyOf(weights, numEdges));
+        ContractionHierarchy.Query query = ContractionHierarchy.contract(graph).query();
+        for (int start = 0; start < numVertices; start += 7) {
+            DijkstraSolver<Integer> solver = new DijkstraSolver<>(graph, start);
+            for (int goal = 0; goal < numVertices; goal += 1) {
+                List<Integer> expected = solver.solution(goal);
+                List<Integer> actual = query.shortestPath(start, goal);
+                if (expected.get(0) != start) {
+                    assertEquals(List.of(goal), actual);
+                    assertEquals(Double.POSITIVE_INFINITY, query.distance(start, goal));
+                } else {
+                    assertEquals(start, actual.get(0));
+                    assertEquals(cost(graph, expected), cost(graph, actual), EPSILON);
+                }
+            }
+        }
+    }
+
+    @Test
+    void writeThenReadMatches() throws IOException {
+        Random random = new Random(373);
+        CsrGraph graph = grid(SIDE, random);
+        ContractionHierarchy hierarchy = ContractionHierarchy.contract(graph);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        hierarchy.write(new DataOutputStream(bytes));
+        ByteBuffer input = ByteBuffer.wrap(bytes.toByteArray());
+        ContractionHierarchy copy = ContractionHierarchy.read(input);
+        assertFalse(input.hasRemaining());
+        assertEquals(hierarchy.numVertices(), copy.numVertices());
+        assertEquals(hierarchy.numEdges(), copy.numEdges());
+        ContractionHierarchy.Query expected = hierarchy.query();
+        ContractionHierarchy.Query actual = copy.query();
+        for (int trial = 0; trial < 20; trial += 1) {
+            int start = random.nextInt(graph.numVertices());
+            int goal = random.nextInt(graph.numVertices());
+            assertEquals(expected.shortestPath(start, goal), actual.shortestPath(start, goal));
+        }
+    }
+
+    @Test
+    void invalidInputThrowsException() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ContractionHierarchy.contract(grid(SIDE, new Random(373))).write(new DataOutputStream(bytes));
+        byte[] truncated = Arrays.copyOf(bytes.toByteArray(), 12);
+        assertThrows(IllegalArgumentException.class, () -> ContractionHierarchy.read(ByteBuffer.wrap(truncated)));
+        byte[] wrongMagic = bytes.toByteArray();
+        wrongMagic[0] += 1;
+        assertThrows(IllegalArgumentException.class, () -> ContractionHierarchy.read(ByteBuffer.wrap(wrongMagic)));
+    }
+}
@@ -0,0 +1,173 @@
+package graphs;
+
+import graphs.shortestpaths.AStarSolver;
+import graphs.shortestpaths.DijkstraSolver;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link CsrGraph} class.
+ *
+ * @see CsrGraph
+ */
+public class CsrGraphTests {
+    /**
+     * Error tolerance for shortest path costs.
+     */
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    void neighborsMatchArrays() {
+        CsrGraph graph = new CsrGraph(
+                new double[]{47.60, 47.61, 47.62},
+                new double[]{-122.30, -122.31, -122.32},
+                new int[]{0, 2, 2, 3},
+                new int[]{1, 2, 0},
+                new float[]{1.5f, 2.5f, 3.5f}
+        );
+        assertEquals(3, graph.numVertices());
+        assertEquals(3, graph.numEdges());
+        assertEquals(List.of(new Edge<>(0, 1, 1.5), new Edge<>(0, 2, 2.5)), graph.neighbors(0));
+        assertEquals(List.of(), graph.neighbors(1));
+        assertEquals(List.of(new Edge<>(2, 0, 3.5)), graph.neighbors(2));
+        assertEquals(0.0, graph.estimatedDistance(1, 1));
+    }
+
+    @Test
+    void reverseSwapsEdgeDirections() {
+        CsrGraph graph = new CsrGraph(
+                new double[]{47.60, 47.61, 47.62},
+                new double[]{-122.30, -122.31, -122.32},
+                new int[]{0, 2, 2, 3},
+                new int[]{1, 2, 0},
+                new float[]{1.5f, 2.5f, 3.5f}
+        ).reverse();
+        assertEquals(List.of(new Edge<>(0, 2, 3.5)), graph.neighbors(0));
+        assertEquals(List.of(new Edge<>(1, 0, 1.5)), graph.neighbors(1));
+        assertEquals(List.of(new Edge<>(2, 0, 2.5)), graph.neighbors(2));
+        assertEquals(47.61, graph.lat(1));
+    }
+
+    @Test
+    void invalidArraysThrowException() {
+        double[] coordinates = {0.0, 0.0};
+        assertThrows(IllegalArgumentException.class, () ->
+                new CsrGraph(coordinates, coordinates, new int[]{0, 1}, new int[]{1}, new float[]{1}));
+        assertThrows(IllegalArgumentException.class, () ->
+                new CsrGraph(coordinates, coordinates, new int[]{0, 1, 1}, new int[]{2}, new float[]{1}));
+        assertThrows(IllegalArgumentException.class, () ->
+                new CsrGraph(coordinates, coordinates, new int[]{0, 1, 1}, new int[]{1}, new float[]{-1}));
+    }
+
+    @Test
+    void shortestPathsMatchAdjacencyList() {
+        Random random = new Random(373);
+        int numVertices = 500;
+        double[] lat = new double[numVertices];
+        double[] lon = new double[numVertices];
+        for (int v = 0; v < numVertices; v += 1) {
+            lat[v] = 47.5 + random.nextDouble() * 0.2;
+            lon[v] = -122.4 + random.nextDouble() * 0.2;
+        }
+        // Connect each vertex to a few random others, weighted by at least the distance between them.
+        Map<Integer, List<Edge<Integer>>> adjacency = new HashMap<>();
+        int[] offsets = new int[numVertices + 1];
+        List<Integer> targets = new ArrayList<>();
+        List<Float> weights = new ArrayList<>();
+        for (int v = 0; v < numVertices; v += 1) {
+            List<Edge<Integer>> edges = new ArrayList<>();
+            int degree = random.nextInt(5);
+            for (int i = 0; i < degree; i += 1) {
+                int to = random.nextInt(numVertices);
+                double distance = CsrGraph.distance(lat[v], lon[v], lat[to], lon[to]);
+                float weight = (float) (distance * (1 + random.nextDouble()));
+                edges.add(new Edge<>(v, to, weight));
+                targets.add(to);
+                weights.add(weight);
+            }
+            adjacency.put(v, edges);
+            offsets[v + 1] = targets.size();
+        }
+        int[] targetArray = new int[targets.size()];
+        float[] weightArray = new float[weights.size()];
+        for (int e = 0; e < targetArray.length; e += 1) {
+            targetArray[e] = targets.get(e);
+            weightArray[e] = weights.get(e);
+        }
+        CsrGraph graph = new CsrGraph(lat, lon, offsets, targetArray, weightArray);
+        Graph<Integer> expectedGraph = v -> adjacency.getOrDefault(v, List.of());
+
+        for (int trial = 0; trial < 20; trial += 1) {
+            int start = random.nextInt(numVertices);
+            int goal = random.nextInt(numVertices);
+            List<Integer> expected = new DijkstraSolver<>(expectedGraph, start).solution(goal);
+            List<Integer> dijkstra = new DijkstraSolver<>(graph, start).solution(goal);
+            List<Integer> aStar = new AStarSolver<>(graph, start, goal).solution();
+            assertEquals(cost(expectedGraph, expected), cost(graph, dijkstra), EPSILON);
+            assertEquals(cost(expectedGraph, expected), cost(graph, aStar), EPSILON);
+        }
+    }
+
+    /**
+     * Returns a square grid graph over Seattle where each vertex has edges to its 4 neighbors weighted by at least the
+     * distance between them. Vertex (<i>x</i>, <i>y</i>) is numbered <i>y</i> * side + <i>x</i>. Shared by the tests of
+     * every graph and shortest path solver that needs a road-like graph.
+     *
+     * @param side   the number of vertices along each side of the grid.
+     * @param random the source of randomness for edge weights.
+     * @return a square grid graph.
+     */
+    public static CsrGraph grid(int side, Random random) {
+        int numVertices = side * side;
+        double[] lat = new double[numVertices];
+        double[] lon = new double[numVertices];
+        int[] offsets = new int[numVertices + 1];
+        int[] targets = new int[4 * numVertices];
+        float[] weights = new float[4 * numVertices];
+        int numEdges = 0;
+        for (int v = 0; v < numVertices; v += 1) {
+            lat[v] = 47.5 + 0.001 * (v / side);
+            lon[v] = -122.4 + 0.001 * (v % side);
+        }
+        for (int v = 0; v < numVertices; v += 1) {
+            int x = v % side;
+            int y = v / side;
+            int[] neighbors = {x > 0 ? v - 1 : -1, x < side - 1 ? v + 1 : -1, y > 0 ? v - side : -1,
+                    y < side - 1 ? v + side : -1};
+            for (int to : neighbors) {
+                if (to >= 0) {
+                    double distance = CsrGraph.distance(lat[v], lon[v], lat[to], lon[to]);
+                    targets[numEdges] = to;
+                    weights[numEdges] = (float) (distance * (1 + random.nextDouble()));
+                    numEdges += 1;
+                }
+            }
+            offsets[v + 1] = numEdges;
+        }
+        return new CsrGraph(lat, lon, offsets, Arrays.copyOf(targets, numEdges), Arrays.copyOf(weights, numEdges));
+    }
+
+    /**
+     * Returns the total weight of the given path, or infinity if consecutive vertices are not connected by an edge.
+     *
+     * @param graph the graph containing the path.
+     * @param path  the list of vertices in the path.
+     * @return the total weight of the path.
+     */
+    public static double cost(Graph<Integer> graph, List<Integer> path) {
+        double result = 0.0;
+        for (int i = 0; i + 1 < path.size(); i += 1) {
+            double min = Double.POSITIVE_INFINITY;
+            for (Edge<Integer> edge : graph.neighbors(path.get(i))) {
+                if (edge.to.equals(path.get(i + 1))) {
+                    min = Math.min(min, edge.weight);
+                }
+            }
+            result += min;
+        }
+        return result;
+    }
+}
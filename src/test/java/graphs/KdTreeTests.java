@@ -0,0 +1,74 @@
+package graphs;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link KdTree} class.
+ *
+ * @see KdTree
+ */
+public class KdTreeTests {
+    /**
+     * Error tolerance for great-circle distances in degrees.
+     */
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    void emptyTreeHasNoNearest() {
+        CsrGraph graph = graph(new double[]{47.6}, new double[]{-122.3});
+        KdTree tree = new KdTree(graph, v -> false);
+        assertEquals(0, tree.size());
+        assertEquals(-1, tree.nearest(47.6, -122.3));
+    }
+
+    @Test
+    void nearestMatchesLinearScan() {
+        Random random = new Random(373);
+        int numVertices = 2000;
+        double[] lat = new double[numVertices];
+        double[] lon = new double[numVertices];
+        for (int v = 0; v < numVertices; v += 1) {
+            lat[v] = 47.5 + random.nextDouble() * 0.2;
+            lon[v] = -122.4 + random.nextDouble() * 0.2;
+        }
+        CsrGraph graph = graph(lat, lon);
+        KdTree tree = new KdTree(graph, v -> v % 3 != 0);
+        assertEquals(numVertices - (numVertices + 2) / 3, tree.size());
+        for (int trial = 0; trial < 500; trial += 1) {
+            double queryLat = 47.45 + random.nextDouble() * 0.3;
+            double queryLon = -122.45 + random.nextDouble() * 0.3;
+            double expected = Double.POSITIVE_INFINITY;
+            for (int v = 0; v < numVertices; v += 1) {
+                if (v % 3 != 0) {
+                    expected = Math.min(expected, CsrGraph.distance(queryLat, queryLon, lat[v], lon[v]));
+                }
+            }
+            int nearest = tree.nearest(queryLat, queryLon);
+            assertNotEquals(0, nearest % 3);
+            assertEquals(expected, CsrGraph.distance(queryLat, queryLon, lat[nearest], lon[nearest]), EPSILON);
+        }
+    }
+
+    @Test
+    void nearestAcrossAntimeridian() {
+        CsrGraph graph = graph(new double[]{0.0, 0.0, 10.0}, new double[]{179.9, 170.0, -179.9});
+        KdTree tree = new KdTree(graph, v -> true);
+        assertEquals(0, tree.nearest(0.0, -179.95));
+        assertEquals(2, tree.nearest(9.0, -179.0));
+    }
+
+    /**
+     * Returns a graph with vertices at the given coordinates and no edges.
+     *
+     * @param lat the latitude of each vertex in degrees.
+     * @param lon the longitude of each vertex in degrees.
+     * @return a graph with vertices at the given coordinates and no edges.
+     */
+    private static CsrGraph graph(double[] lat, double[] lon) {
+        return new CsrGraph(lat, lon, new int[lat.length + 1], new int[0], new float[0]);
+    }
+}
@@ -0,0 +1,103 @@
+package graphs;
+
+import graphs.shortestpaths.AStarSolver;
+import graphs.shortestpaths.DijkstraSolver;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static graphs.CsrGraphTests.cost;
+import static graphs.CsrGraphTests.grid;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link LandmarkGraph} class.
+ *
+ * @see LandmarkGraph
+ */
+public class LandmarkGraphTests {
+    /**
+     * Error tolerance for shortest path costs and heuristic comparisons.
+     */
+    private static final double EPSILON = 1e-9;
+    /**
+     * Number of vertices along each side of the grid.
+     */
+    private static final int SIDE = 40;
+
+    @Test
+    void estimatesAreAdmissibleAndConsistent() {
+        Random random = new Random(373);
+        CsrGraph graph = grid(SIDE, random);
+        CsrGraph reverse = graph.reverse();
+        for (LandmarkGraph.Strategy strategy : LandmarkGraph.Strategy.values()) {
+            LandmarkGraph landmarks = new LandmarkGraph(graph, 8, strategy);
+            assertEquals(8, landmarks.landmarks().length);
+            for (int trial = 0; trial < 20; trial += 1) {
+                int goal = random.nextInt(graph.numVertices());
+                DijkstraSolver<Integer> solver = new DijkstraSolver<>(reverse, goal);
+                for (int v = 0; v < graph.numVertices(); v += 1) {
+                    // The shortest path from the goal to v in the reverse graph has the length of the one from v.
+                    double distance = cost(reverse, solver.solution(v));
+                    assertTrue(landmarks.estimatedDistance(v, goal) <= distance + EPSILON);
+                    for (Edge<Integer> edge : landmarks.neighbors(v)) {
+                        double estimate = edge.weight + landmarks.estimatedDistance(edge.to, goal);
+                        assertTrue(landmarks.estimatedDistance(v, goal) <= estimate + EPSILON);
+                    }
+                }
+                assertEquals(0.0, landmarks.estimatedDistance(goal, goal));
+            }
+        }
+    }
+
+    @Test
+    void aStarMatchesDijkstraAndExpandsFewerVertices() {
+        Random random = new Random(373);
+        CsrGraph graph = grid(SIDE, random);
+        for (LandmarkGraph.Strategy strategy : LandmarkGraph.Strategy.values()) {
+            LandmarkGraph landmarks = new LandmarkGraph(graph, 8, strategy);
+            int expanded = 0;
+            int expandedWithLandmarks = 0;
+            for (int trial = 0; trial < 20; trial += 1) {
+                int start = random.nextInt(graph.numVertices());
+                int goal = random.nextInt(graph.numVertices());
+                List<Integer> expected = new DijkstraSolver<>(graph, start).solution(goal);
+                AStarSolver<Integer> plain = new AStarSolver<>(graph, start, goal);
+                AStarSolver<Integer> solver = new AStarSolver<>(landmarks, start, goal);
+                assertEquals(cost(graph, expected), cost(graph, solver.solution()), EPSILON);
+                expanded += plain.expanded();
+                expandedWithLandmarks += solver.expanded();
+            }
+            assertTrue(2 * expandedWithLandmarks < expanded,
+                    strategy + " expanded " + expandedWithLandmarks + " vertices instead of " + expanded);
+        }
+    }
+
+    @Test
+    void unreachableVerticesStillGetEstimates() {
+        CsrGraph graph = new CsrGraph(
+                new double[]{47.60, 47.61, 47.62, 47.63},
+                new double[]{-122.30, -122.31, -122.32, -122.33},
+                new int[]{0, 1, 2, 2, 2},
+                new int[]{1, 2},
+                new float[]{1.5f, 2.5f}
+        );
+        for (LandmarkGraph.Strategy strategy : LandmarkGraph.Strategy.values()) {
+            LandmarkGraph landmarks = new LandmarkGraph(graph, 4, strategy);
+            assertEquals(4, landmarks.landmarks().length);
+            assertEquals(List.of(0, 1, 2), new AStarSolver<>(landmarks, 0, 2).solution());
+            assertEquals(4.0, landmarks.estimatedDistance(0, 2), EPSILON);
+            assertFalse(Double.isNaN(landmarks.estimatedDistance(3, 0)));
+            assertFalse(Double.isInfinite(landmarks.estimatedDistance(2, 0)));
+        }
+    }
+
+    @Test
+    void invalidNumberOfLandmarksThrowsException() {
+        CsrGraph graph = grid(SIDE, new Random(373));
+        assertThrows(IllegalArgumentException.class, () -> new LandmarkGraph(graph, 0, LandmarkGraph.Strategy.AVOID));
+        assertThrows(IllegalArgumentException.class, () ->
+                new LandmarkGraph(graph, graph.numVertices() + 1, LandmarkGraph.Strategy.FARTHEST));
+    }
+}
@@ -0,0 +1,69 @@
+package graphs.shortestpaths;
+
+import graphs.CsrGraph;
+import graphs.CsrGraphTests;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static graphs.CsrGraphTests.cost;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link AStarSolver} class.
+ *
+ * @see AStarSolver
+ */
+public class AStarSolverTests {
+    /**
+     * Error tolerance for shortest path costs.
+     */
+    private static final double EPSILON = 1e-9;
+    /**
+     * Number of vertices along each side of the grid.
+     */
+    static final int SIDE = 100;
+
+    @Test
+    void startIsGoal() {
+        CsrGraph graph = grid(new Random(373));
+        AStarSolver<Integer> solver = new AStarSolver<>(graph, 42, 42);
+        assertEquals(List.of(42), solver.solution());
+        assertEquals(0, solver.expanded());
+    }
+
+    @Test
+    void matchesDijkstraSolver() {
+        Random random = new Random(373);
+        CsrGraph graph = grid(random);
+        for (int trial = 0; trial < 20; trial += 1) {
+            int start = random.nextInt(SIDE * SIDE);
+            int goal = random.nextInt(SIDE * SIDE);
+            List<Integer> expected = new DijkstraSolver<>(graph, start).solution(goal);
+            List<Integer> actual = new AStarSolver<>(graph, start, goal).solution();
+            assertEquals(start, actual.get(0));
+            assertEquals(goal, actual.get(actual.size() - 1));
+            assertEquals(cost(graph, expected), cost(graph, actual), EPSILON);
+        }
+    }
+
+    @Test
+    void nearbyGoalStopsEarly() {
+        CsrGraph graph = grid(new Random(373));
+        int start = SIDE / 2 * SIDE + SIDE / 2;
+        AStarSolver<Integer> solver = new AStarSolver<>(graph, start, start + 2);
+        assertEquals(start + 2, solver.solution().get(solver.solution().size() - 1));
+        assertTrue(solver.expanded() < SIDE * SIDE / 10, "Expanded " + solver.expanded() + " vertices");
+    }
+
+    /**
+     * Returns a {@link #SIDE} by {@link #SIDE} grid graph from {@link CsrGraphTests#grid(int, Random)}.
+     *
+     * @param random the source of randomness for edge weights.
+     * @return a square grid graph.
+     */
+    static CsrGraph grid(Random random) {
+        return CsrGraphTests.grid(SIDE, random);
+    }
+}
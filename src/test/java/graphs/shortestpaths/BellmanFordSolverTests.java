@@ -0,0 +1,140 @@
+package graphs.shortestpaths;
+
+import graphs.Edge;
+import graphs.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static graphs.CsrGraphTests.cost;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link BellmanFordSolver} class.
+ *
+ * @see BellmanFordSolver
+ */
+public class BellmanFordSolverTests {
+    /**
+     * Error tolerance for shortest path costs.
+     */
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    void negativeEdgesMatchDijkstraSolver() {
+        Random random = new Random(373);
+        double[] potential = new double[200];
+        for (int v = 0; v < potential.length; v += 1) {
+            potential[v] = 10 * random.nextDouble();
+        }
+        Graph<Integer> graph = randomGraph(random, potential.length);
+        Graph<Integer> reweighted = reweight(graph, potential);
+        for (int trial = 0; trial < 5; trial += 1) {
+            int start = random.nextInt(potential.length);
+            DijkstraSolver<Integer> expected = new DijkstraSolver<>(graph, start);
+            BellmanFordSolver<Integer> solver = new BellmanFordSolver<>(reweighted, start);
+            assertFalse(solver.hasNegativeCycle());
+            assertThrows(IllegalStateException.class, solver::negativeCycle);
+            for (int v = 0; v < potential.length; v += 1) {
+                // Reweighting changes the length of every path from the start to v by the same amount.
+                assertEquals(cost(graph, expected.solution(v)), cost(graph, solver.solution(v)), EPSILON);
+            }
+        }
+    }
+
+    @Test
+    void reachableNegativeCycle() {
+        BellmanFordSolver<String> solver = new BellmanFordSolver<>(cycleGraph(), "s");
+        assertTrue(solver.hasNegativeCycle());
+        assertNegativeCycle(cycleGraph(), solver.negativeCycle());
+        assertThrows(IllegalStateException.class, () -> solver.solution("a"));
+    }
+
+    @Test
+    void unreachableNegativeCycle() {
+        BellmanFordSolver<String> solver = new BellmanFordSolver<>(cycleGraph(), "t");
+        assertFalse(solver.hasNegativeCycle());
+        assertEquals(List.of("t", "d"), solver.solution("d"));
+        assertEquals(List.of("a"), solver.solution("a"));
+    }
+
+    /**
+     * Returns a graph where s leads to the negative cycle a -> b -> c -> a, but t only leads to d.
+     *
+     * @return a graph with a negative cycle.
+     */
+    static Graph<String> cycleGraph() {
+        Map<String, List<Edge<String>>> edges = Map.of(
+                "t", List.of(new Edge<>("t", "d", 4.0)),
+                "s", List.of(new Edge<>("s", "a", 2.0), new Edge<>("s", "d", -1.0)),
+                "a", List.of(new Edge<>("a", "b", 1.0)),
+                "b", List.of(new Edge<>("b", "c", -3.0), new Edge<>("b", "d", 5.0)),
+                "c", List.of(new Edge<>("c", "a", 1.0)),
+                "d", List.of()
+        );
+        return edges::get;
+    }
+
+    /**
+     * Asserts that the cycle begins and ends with the same vertex, follows edges of the graph, and has negative weight.
+     *
+     * @param graph the graph containing the cycle.
+     * @param cycle the list of vertices around the cycle.
+     * @param <V>   the type of vertices.
+     */
+    static <V> void assertNegativeCycle(Graph<V> graph, List<V> cycle) {
+        assertTrue(cycle.size() > 1);
+        assertEquals(cycle.get(0), cycle.get(cycle.size() - 1));
+        double weight = 0.0;
+        for (int i = 0; i + 1 < cycle.size(); i += 1) {
+            double min = Double.POSITIVE_INFINITY;
+            for (Edge<V> edge : graph.neighbors(cycle.get(i))) {
+                if (edge.to.equals(cycle.get(i + 1))) {
+                    min = Math.min(min, edge.weight);
+                }
+            }
+            weight += min;
+        }
+        assertTrue(weight < 0, "Cycle " + cycle + " has weight " + weight);
+    }
+
+    /**
+     * Returns a graph where each vertex has up to 4 edges to random vertices with random non-negative weights.
+     *
+     * @param random      the source of randomness.
+     * @param numVertices the number of vertices.
+     * @return a random graph.
+     */
+    static Graph<Integer> randomGraph(Random random, int numVertices) {
+        List<List<Edge<Integer>>> neighbors = new ArrayList<>(numVertices);
+        for (int v = 0; v < numVertices; v += 1) {
+            List<Edge<Integer>> edges = new ArrayList<>();
+            for (int i = random.nextInt(5); i > 0; i -= 1) {
+                edges.add(new Edge<>(v, random.nextInt(numVertices), random.nextDouble()));
+            }
+            neighbors.add(edges);
+        }
+        return neighbors::get;
+    }
+
+    /**
+     * Returns the graph with the weight of each edge from u to v changed by potential[u] - potential[v], which makes
+     * some weights negative without creating negative cycles or changing which paths are shortest.
+     *
+     * @param graph     the graph with non-negative weights.
+     * @param potential the potential of each vertex.
+     * @return the reweighted graph.
+     */
+    static Graph<Integer> reweight(Graph<Integer> graph, double[] potential) {
+        return v -> {
+            List<Edge<Integer>> edges = new ArrayList<>();
+            for (Edge<Integer> e : graph.neighbors(v)) {
+                edges.add(new Edge<>(e.from, e.to, e.weight + potential[e.from] - potential[e.to]));
+            }
+            return edges;
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package graphs.shortestpaths;
+
+import graphs.CsrGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static graphs.shortestpaths.AStarSolverTests.SIDE;
+import static graphs.shortestpaths.AStarSolverTests.grid;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link BidirectionalAStarSolver} class.
+ *
+ * @see BidirectionalAStarSolver
+ */
+public class BidirectionalAStarSolverTests extends BidirectionalDijkstraSolverTests {
+    @Override
+    BidirectionalDijkstraSolver<Integer> createSolver(CsrGraph graph, CsrGraph reverse, int start, int goal) {
+        return new BidirectionalAStarSolver<>(graph, reverse, start, goal);
+    }
+
+    @Test
+    void expandsFewerThanBidirectionalDijkstra() {
+        CsrGraph graph = grid(new Random(373));
+        CsrGraph reverse = graph.reverse();
+        int start = 0;
+        int goal = SIDE * SIDE - 1;
+        int dijkstra = new BidirectionalDijkstraSolver<>(graph, reverse, start, goal).expanded();
+        int aStar = createSolver(graph, reverse, start, goal).expanded();
+        assertTrue(aStar < dijkstra, "Expanded " + aStar + " vertices, not fewer than " + dijkstra);
+    }
+}
@@ -0,0 +1,70 @@
+package graphs.shortestpaths;
+
+import graphs.CsrGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static graphs.CsrGraphTests.cost;
+import static graphs.shortestpaths.AStarSolverTests.SIDE;
+import static graphs.shortestpaths.AStarSolverTests.grid;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link BidirectionalDijkstraSolver} class.
+ *
+ * @see BidirectionalDijkstraSolver
+ */
+public class BidirectionalDijkstraSolverTests {
+    /**
+     * Error tolerance for shortest path costs.
+     */
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * Returns a new solver for the shortest path between the given vertices.
+     *
+     * @param graph   the input graph.
+     * @param reverse the reverse of the input graph.
+     * @param start   the start vertex.
+     * @param goal    the goal vertex.
+     * @return a new solver for the shortest path between the given vertices.
+     */
+    BidirectionalDijkstraSolver<Integer> createSolver(CsrGraph graph, CsrGraph reverse, int start, int goal) {
+        return new BidirectionalDijkstraSolver<>(graph, reverse, start, goal);
+    }
+
+    @Test
+    void startIsGoal() {
+        CsrGraph graph = grid(new Random(373));
+        BidirectionalDijkstraSolver<Integer> solver = createSolver(graph, graph.reverse(), 42, 42);
+        assertEquals(List.of(42), solver.solution());
+        assertEquals(0, solver.expanded());
+    }
+
+    @Test
+    void unreachableGoal() {
+        double[] coordinates = {0.0, 0.0, 0.0};
+        CsrGraph graph = new CsrGraph(coordinates, coordinates, new int[]{0, 1, 1, 1}, new int[]{1}, new float[]{1});
+        assertEquals(List.of(2), createSolver(graph, graph.reverse(), 0, 2).solution());
+        assertEquals(List.of(0), createSolver(graph, graph.reverse(), 1, 0).solution());
+        assertEquals(List.of(0, 1), createSolver(graph, graph.reverse(), 0, 1).solution());
+    }
+
+    @Test
+    void matchesDijkstraSolver() {
+        Random random = new Random(373);
+        CsrGraph graph = grid(random);
+        CsrGraph reverse = graph.reverse();
+        for (int trial = 0; trial < 50; trial += 1) {
+            int start = random.nextInt(SIDE * SIDE);
+            int goal = random.nextInt(SIDE * SIDE);
+            List<Integer> expected = new DijkstraSolver<>(graph, start).solution(goal);
+            List<Integer> actual = createSolver(graph, reverse, start, goal).solution();
+            assertEquals(start, actual.get(0));
+            assertEquals(goal, actual.get(actual.size() - 1));
+            assertEquals(cost(graph, expected), cost(graph, actual), EPSILON);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package graphs.shortestpaths;
+
+import graphs.CsrGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static graphs.CsrGraphTests.cost;
+import static graphs.shortestpaths.AStarSolverTests.grid;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link DeltaSteppingSolver} class.
+ *
+ * @see DeltaSteppingSolver
+ */
+public class DeltaSteppingSolverTests {
+    /**
+     * Error tolerance for shortest path costs.
+     */
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    void matchesDijkstraSolver() {
+        Random random = new Random(373);
+        CsrGraph graph = grid(random);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int trial = 0; trial < 5; trial += 1) {
+                int start = random.nextInt(graph.numVertices());
+                DijkstraSolver<Integer> expected = new DijkstraSolver<>(graph, start);
+                // From Dijkstra-like tiny buckets to Bellman-Ford-like huge ones.
+                DeltaSteppingSolver defaultDelta = new DeltaSteppingSolver(graph, start);
+                for (double delta : new double[]{defaultDelta.delta() / 10, defaultDelta.delta(), 1.0}) {
+                    DeltaSteppingSolver solver = new DeltaSteppingSolver(graph, start, delta, pool);
+                    for (int v = 0; v < graph.numVertices(); v += 1) {
+                        double distance = cost(graph, expected.solution(v));
+                        List<Integer> path = solver.solution(v);
+                        assertEquals(start, path.get(0));
+                        assertEquals(v, path.get(path.size() - 1));
+                        assertEquals(distance, cost(graph, path), EPSILON);
+                        assertEquals(distance, solver.distTo(v), EPSILON);
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void zeroWeightCyclesAndUnreachableVertices() {
+        // 0 -> 1 -> 2 <-> 3 with 2 and 3 joined by edges of weight 0, and 4 unreachable.
+        CsrGraph graph = new CsrGraph(
+                new double[]{47.60, 47.61, 47.62, 47.63, 47.64},
+                new double[]{-122.30, -122.31, -122.32, -122.33, -122.34},
+                new int[]{0, 1, 2, 3, 4, 5},
+                new int[]{1, 2, 3, 2, 0},
+                new float[]{1.5f, 0.0f, 0.0f, 0.0f, 2.0f}
+        );
+        DeltaSteppingSolver solver = new DeltaSteppingSolver(graph, 0, 1.0, ForkJoinPool.commonPool());
+        assertEquals(List.of(0, 1, 2, 3), solver.solution(3));
+        assertEquals(1.5, solver.distTo(3));
+        assertEquals(List.of(0), solver.solution(0));
+        assertEquals(List.of(4), solver.solution(4));
+        assertEquals(Double.POSITIVE_INFINITY, solver.distTo(4));
+    }
+
+    @Test
+    void invalidArgumentsThrowException() {
+        CsrGraph graph = grid(new Random(373));
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        assertThrows(IllegalArgumentException.class, () -> new DeltaSteppingSolver(graph, -1));
+        assertThrows(IllegalArgumentException.class, () -> new DeltaSteppingSolver(graph, graph.numVertices()));
+        assertThrows(IllegalArgumentException.class, () -> new DeltaSteppingSolver(graph, 0, 0.0, pool));
+        assertThrows(IllegalArgumentException.class, () -> new DeltaSteppingSolver(graph, 0, Double.NaN, pool));
+        assertThrows(IllegalArgumentException.class, () -> new DeltaSteppingSolver(graph, 0, 1e-12, pool));
+    }
+}
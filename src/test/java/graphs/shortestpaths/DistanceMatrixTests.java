@@ -0,0 +1,112 @@
+package graphs.shortestpaths;
+
+import graphs.ContractionHierarchy;
+import graphs.CsrGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static graphs.CsrGraphTests.cost;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link DistanceMatrix} class.
+ *
+ * @see DistanceMatrix
+ */
+public class DistanceMatrixTests {
+    /**
+     * Error tolerance for shortest path costs.
+     */
+    private static final double EPSILON = 1e-6;
+
+    @Test
+    void matchesDijkstraSolver() {
+        Random random = new Random(373);
+        CsrGraph graph = randomGraph(random, 400);
+        ContractionHierarchy hierarchy = ContractionHierarchy.contract(graph);
+        int[] origins = new int[30];
+        int[] destinations = new int[40];
+        for (int i = 0; i < origins.length; i += 1) {
+            origins[i] = random.nextInt(graph.numVertices());
+        }
+        for (int j = 0; j < destinations.length; j += 1) {
+            destinations[j] = random.nextInt(graph.numVertices());
+        }
+        // Repeated vertices and an origin that is also a destination.
+        origins[1] = origins[0];
+        destinations[1] = destinations[0];
+        destinations[2] = origins[0];
+        double[][] dijkstra = new DistanceMatrix(graph).distances(origins, destinations);
+        double[][] buckets = new DistanceMatrix(graph, hierarchy).distances(origins, destinations);
+        assertEquals(origins.length, dijkstra.length);
+        assertEquals(origins.length, buckets.length);
+        int unreachable = 0;
+        for (int i = 0; i < origins.length; i += 1) {
+            DijkstraSolver<Integer> solver = new DijkstraSolver<>(graph, origins[i]);
+            assertEquals(destinations.length, dijkstra[i].length);
+            assertEquals(destinations.length, buckets[i].length);
+            for (int j = 0; j < destinations.length; j += 1) {
+                List<Integer> path = solver.solution(destinations[j]);
+                double expected = path.get(0) == origins[i] ? cost(graph, path) : Double.POSITIVE_INFINITY;
+                if (expected == Double.POSITIVE_INFINITY) {
+                    unreachable += 1;
+                }
+                assertEquals(expected, dijkstra[i][j], EPSILON);
+                assertEquals(expected, buckets[i][j], EPSILON);
+            }
+        }
+        assertEquals(0.0, dijkstra[0][2]);
+        assertEquals(0.0, buckets[0][2]);
+        assertTrue(unreachable > 0);
+    }
+
+    @Test
+    void emptyListsGiveEmptyMatrix() {
+        CsrGraph graph = randomGraph(new Random(373), 10);
+        DistanceMatrix matrix = new DistanceMatrix(graph, ContractionHierarchy.contract(graph));
+        assertEquals(0, matrix.distances(new int[0], new int[]{1, 2}).length);
+        assertEquals(0, matrix.distances(new int[]{1, 2}, new int[0])[1].length);
+        assertEquals(0, new DistanceMatrix(graph).distances(new int[]{1, 2}, new int[0])[0].length);
+    }
+
+    @Test
+    void invalidVerticesThrowException() {
+        CsrGraph graph = randomGraph(new Random(373), 10);
+        DistanceMatrix matrix = new DistanceMatrix(graph);
+        assertThrows(IllegalArgumentException.class, () -> matrix.distances(new int[]{10}, new int[]{0}));
+        assertThrows(IllegalArgumentException.class, () -> matrix.distances(new int[]{0}, new int[]{-1}));
+    }
+
+    /**
+     * Returns a graph with random coordinates over Seattle where each vertex has up to 4 edges to random vertices
+     * weighted by at least the distance between them, so some vertices cannot reach others.
+     *
+     * @param random      the source of randomness.
+     * @param numVertices the number of vertices.
+     * @return a random graph.
+     */
+    private static CsrGraph randomGraph(Random random, int numVertices) {
+        double[] lat = new double[numVertices];
+        double[] lon = new double[numVertices];
+        for (int v = 0; v < numVertices; v += 1) {
+            lat[v] = 47.5 + random.nextDouble() * 0.2;
+            lon[v] = -122.4 + random.nextDouble() * 0.2;
+        }
+        int[] offsets = new int[numVertices + 1];
+        int[] targets = new int[4 * numVertices];
+        float[] weights = new float[4 * numVertices];
+        for (int v = 0; v < numVertices; v += 1) {
+            offsets[v + 1] = offsets[v] + random.nextInt(5);
+            for (int e = offsets[v]; e < offsets[v + 1]; e += 1) {
+                targets[e] = random.nextInt(numVertices);
+                double distance = CsrGraph.distance(lat[v], lon[v], lat[targets[e]], lon[targets[e]]);
+                weights[e] = (float) (distance * (1 + random.nextDouble()));
+            }
+        }
+        int numEdges = offsets[numVertices];
+        return new CsrGraph(lat, lon, offsets, Arrays.copyOf(targets, numEdges), Arrays.copyOf(weights, numEdges));
+    }
+}
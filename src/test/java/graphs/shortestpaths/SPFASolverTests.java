@@ -0,0 +1,72 @@
+package graphs.shortestpaths;
+
+import graphs.Edge;
+import graphs.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static graphs.CsrGraphTests.cost;
+import static graphs.shortestpaths.BellmanFordSolverTests.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link SPFASolver} class.
+ *
+ * @see SPFASolver
+ */
+public class SPFASolverTests {
+    /**
+     * Error tolerance for shortest path costs.
+     */
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    void negativeEdgesMatchDijkstraSolver() {
+        Random random = new Random(373);
+        double[] potential = new double[200];
+        for (int v = 0; v < potential.length; v += 1) {
+            potential[v] = 10 * random.nextDouble();
+        }
+        Graph<Integer> graph = randomGraph(random, potential.length);
+        Graph<Integer> reweighted = reweight(graph, potential);
+        for (SPFASolver.Strategy strategy : SPFASolver.Strategy.values()) {
+            for (int trial = 0; trial < 5; trial += 1) {
+                int start = random.nextInt(potential.length);
+                DijkstraSolver<Integer> expected = new DijkstraSolver<>(graph, start);
+                SPFASolver<Integer> solver = new SPFASolver<>(reweighted, start, strategy);
+                assertFalse(solver.hasNegativeCycle());
+                for (int v = 0; v < potential.length; v += 1) {
+                    assertEquals(cost(graph, expected.solution(v)), cost(graph, solver.solution(v)), EPSILON);
+                }
+            }
+        }
+    }
+
+    @Test
+    void reachableNegativeCycle() {
+        for (SPFASolver.Strategy strategy : SPFASolver.Strategy.values()) {
+            SPFASolver<String> solver = new SPFASolver<>(cycleGraph(), "s", strategy);
+            assertTrue(solver.hasNegativeCycle());
+            assertNegativeCycle(cycleGraph(), solver.negativeCycle());
+            assertThrows(IllegalStateException.class, () -> solver.solution("a"));
+        }
+    }
+
+    @Test
+    void unreachableNegativeCycle() {
+        SPFASolver<String> solver = new SPFASolver<>(cycleGraph(), "t");
+        assertFalse(solver.hasNegativeCycle());
+        assertThrows(IllegalStateException.class, solver::negativeCycle);
+        assertEquals(List.of("t", "d"), solver.solution("d"));
+    }
+
+    @Test
+    void negativeSelfLoopAtStart() {
+        Graph<Integer> graph = v -> List.of(new Edge<>(v, v, -1.0), new Edge<>(v, v + 1 - 2 * (v % 2), 1.0));
+        SPFASolver<Integer> solver = new SPFASolver<>(graph, 0, SPFASolver.Strategy.SLF_LLL);
+        assertEquals(List.of(0, 0), solver.negativeCycle());
+        assertTrue(new BellmanFordSolver<>(graph, 0).hasNegativeCycle());
+    }
+}
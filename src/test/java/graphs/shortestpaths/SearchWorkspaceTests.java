@@ -0,0 +1,175 @@
+package graphs.shortestpaths;
+
+import graphs.CsrGraph;
+import graphs.Edge;
+import graphs.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static graphs.CsrGraphTests.cost;
+import static graphs.shortestpaths.AStarSolverTests.grid;
+import static graphs.shortestpaths.BellmanFordSolverTests.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link SearchWorkspace} class.
+ *
+ * @see SearchWorkspace
+ */
+public class SearchWorkspaceTests {
+    /**
+     * Error tolerance for shortest path costs.
+     */
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    void reusedWorkspaceMatchesMaps() {
+        Random random = new Random(373);
+        CsrGraph graph = grid(random);
+        SearchWorkspace<Integer> workspace = SearchWorkspace.ofIntegers(graph.numVertices());
+        for (int trial = 0; trial < 20; trial += 1) {
+            int start = random.nextInt(graph.numVertices());
+            int goal = random.nextInt(graph.numVertices());
+            List<Integer> expected = new DijkstraSolver<>(graph, start).solution(goal);
+            assertEquals(expected, new DijkstraSolver<>(graph, start, workspace).solution(goal));
+            AStarSolver<Integer> plain = new AStarSolver<>(graph, start, goal);
+            AStarSolver<Integer> solver = new AStarSolver<>(graph, start, goal, workspace);
+            assertEquals(cost(graph, expected), cost(graph, solver.solution()), EPSILON);
+            assertEquals(plain.expanded(), solver.expanded());
+        }
+    }
+
+    @Test
+    void negativeEdgesMatchMaps() {
+        Random random = new Random(373);
+        double[] potential = new double[200];
+        for (int v = 0; v < potential.length; v += 1) {
+            potential[v] = 10 * random.nextDouble();
+        }
+        Graph<Integer> graph = reweight(randomGraph(random, potential.length), potential);
+        SearchWorkspace<Integer> workspace = SearchWorkspace.ofIntegers(potential.length);
+        for (int trial = 0; trial < 5; trial += 1) {
+            int start = random.nextInt(potential.length);
+            BellmanFordSolver<Integer> expected = new BellmanFordSolver<>(graph, start);
+            BellmanFordSolver<Integer> solver = new BellmanFordSolver<>(graph, start, workspace);
+            assertFalse(solver.hasNegativeCycle());
+            for (int v = 0; v < potential.length; v += 1) {
+                assertEquals(cost(graph, expected.solution(v)), cost(graph, solver.solution(v)), EPSILON);
+            }
+            for (SPFASolver.Strategy strategy : SPFASolver.Strategy.values()) {
+                SPFASolver<Integer> spfa = new SPFASolver<>(graph, start, strategy, workspace);
+                assertFalse(spfa.hasNegativeCycle());
+                for (int v = 0; v < potential.length; v += 1) {
+                    assertEquals(cost(graph, expected.solution(v)), cost(graph, spfa.solution(v)), EPSILON);
+                }
+            }
+        }
+    }
+
+    @Test
+    void negativeCycleWithWorkspace() {
+        String names = "stabcd";
+        SearchWorkspace<String> workspace = new SearchWorkspace<>(names.length(), names::indexOf,
+                i -> String.valueOf(names.charAt(i)));
+        BellmanFordSolver<String> solver = new BellmanFordSolver<>(cycleGraph(), "s", workspace);
+        assertNegativeCycle(cycleGraph(), solver.negativeCycle());
+        assertThrows(IllegalStateException.class, () -> solver.solution("a"));
+        for (SPFASolver.Strategy strategy : SPFASolver.Strategy.values()) {
+            SPFASolver<String> spfa = new SPFASolver<>(cycleGraph(), "s", strategy, workspace);
+            assertNegativeCycle(cycleGraph(), spfa.negativeCycle());
+        }
+        // The cycle reached by the previous searches must not be found from t.
+        BellmanFordSolver<String> unreachable = new BellmanFordSolver<>(cycleGraph(), "t", workspace);
+        assertFalse(unreachable.hasNegativeCycle());
+        assertEquals(List.of("t", "d"), unreachable.solution("d"));
+        assertEquals(List.of("a"), unreachable.solution("a"));
+    }
+
+    @Test
+    void acyclicGraphMatchesArrays() {
+        Random random = new Random(373);
+        int numVertices = 300;
+        List<List<Edge<Integer>>> neighbors = new ArrayList<>(numVertices);
+        for (int v = 0; v < numVertices; v += 1) {
+            List<Edge<Integer>> edges = new ArrayList<>();
+            for (int i = random.nextInt(5); i > 0 && v + 1 < numVertices; i -= 1) {
+                int to = v + 1 + random.nextInt(Math.min(20, numVertices - v - 1));
+                edges.add(new Edge<>(v, to, random.nextDouble() - 0.5));
+            }
+            neighbors.add(edges);
+        }
+        Graph<Integer> graph = neighbors::get;
+        SearchWorkspace<Integer> workspace = SearchWorkspace.ofIntegers(numVertices);
+        for (int trial = 0; trial < 5; trial += 1) {
+            int start = random.nextInt(numVertices);
+            ToposortDAGSolver<Integer> expected = new ToposortDAGSolver<>(graph, start);
+            ToposortDAGSolver<Integer> solver = new ToposortDAGSolver<>(graph, start, workspace);
+            for (int v = 0; v < numVertices; v += 1) {
+                assertEquals(expected.solution(v), solver.solution(v));
+            }
+        }
+        Graph<Integer> cyclic = v -> List.of(new Edge<>(v, (v + 1) % 3, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new ToposortDAGSolver<>(cyclic, 0, workspace));
+        ToposortDAGSolver<Integer> solver = new ToposortDAGSolver<>(graph, 0, workspace);
+        assertEquals(List.of(0), solver.solution(0));
+    }
+
+    @Test
+    void unreachableGoalAfterReuse() {
+        CsrGraph graph = new CsrGraph(
+                new double[]{47.60, 47.61, 47.62, 47.63},
+                new double[]{-122.30, -122.31, -122.32, -122.33},
+                new int[]{0, 1, 2, 2, 3},
+                new int[]{1, 2, 2},
+                new float[]{1.5f, 2.5f, 1.0f}
+        );
+        SearchWorkspace<Integer> workspace = SearchWorkspace.ofIntegers(graph.numVertices());
+        assertEquals(List.of(3, 2), new DijkstraSolver<>(graph, 3, workspace).solution(2));
+        // Vertex 3 was reached by the previous search but must not be reached by this one.
+        DijkstraSolver<Integer> solver = new DijkstraSolver<>(graph, 0, workspace);
+        assertEquals(List.of(3), solver.solution(3));
+        assertEquals(List.of(0, 1, 2), solver.solution(2));
+        assertEquals(List.of(3), new AStarSolver<>(graph, 0, 3, workspace).solution());
+    }
+
+    @Test
+    void staleSolverThrowsException() {
+        CsrGraph graph = grid(new Random(373));
+        SearchWorkspace<Integer> workspace = SearchWorkspace.ofIntegers(graph.numVertices());
+        DijkstraSolver<Integer> stale = new DijkstraSolver<>(graph, 0, workspace);
+        AStarSolver<Integer> solver = new AStarSolver<>(graph, 0, 42, workspace);
+        assertThrows(IllegalStateException.class, () -> stale.solution(42));
+        assertEquals(42, solver.solution().get(solver.solution().size() - 1));
+        ToposortDAGSolver<Integer> toposort = new ToposortDAGSolver<>(v -> List.of(), 0, workspace);
+        assertThrows(IllegalStateException.class, solver::solution);
+        assertEquals(List.of(0), toposort.solution(0));
+    }
+
+    @Test
+    void customNumbering() {
+        Map<String, List<Edge<String>>> edges = Map.of(
+                "a", List.of(new Edge<>("a", "b", 1.0), new Edge<>("a", "c", 4.0)),
+                "b", List.of(new Edge<>("b", "c", 2.0)),
+                "c", List.of()
+        );
+        Graph<String> graph = edges::get;
+        SearchWorkspace<String> workspace = new SearchWorkspace<>(3, v -> v.charAt(0) - 'a',
+                i -> String.valueOf((char) ('a' + i)));
+        assertEquals(List.of("a", "b", "c"), new DijkstraSolver<>(graph, "a", workspace).solution("c"));
+        assertThrows(IllegalArgumentException.class, () -> new DijkstraSolver<>(graph, "d", workspace));
+    }
+
+    @Test
+    void forThreadReusesAndGrows() {
+        SearchWorkspace<Integer> small = SearchWorkspace.forThread(10);
+        assertTrue(small == SearchWorkspace.forThread(5));
+        SearchWorkspace<Integer> large = SearchWorkspace.forThread(small.numVertices() + 1);
+        assertTrue(large.numVertices() > small.numVertices());
+        assertTrue(large == SearchWorkspace.forThread(10));
+        assertThrows(IllegalArgumentException.class, () -> SearchWorkspace.ofIntegers(-1));
+    }
+}
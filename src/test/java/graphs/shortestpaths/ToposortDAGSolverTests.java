@@ -0,0 +1,88 @@
+package graphs.shortestpaths;
+
+import graphs.Edge;
+import graphs.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static graphs.CsrGraphTests.cost;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link ToposortDAGSolver} class.
+ *
+ * @see ToposortDAGSolver
+ */
+public class ToposortDAGSolverTests {
+    /**
+     * Error tolerance for shortest path costs.
+     */
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    void negativeEdgesMatchBellmanFordSolver() {
+        Random random = new Random(373);
+        int numVertices = 300;
+        // Edges only go to larger vertices, so the graph is acyclic.
+        List<List<Edge<Integer>>> neighbors = new ArrayList<>(numVertices);
+        for (int v = 0; v < numVertices; v += 1) {
+            List<Edge<Integer>> edges = new ArrayList<>();
+            for (int i = random.nextInt(5); i > 0 && v + 1 < numVertices; i -= 1) {
+                int to = v + 1 + random.nextInt(Math.min(20, numVertices - v - 1));
+                edges.add(new Edge<>(v, to, random.nextDouble() - 0.5));
+            }
+            neighbors.add(edges);
+        }
+        Graph<Integer> graph = neighbors::get;
+        for (int trial = 0; trial < 5; trial += 1) {
+            int start = random.nextInt(numVertices / 2);
+            BellmanFordSolver<Integer> expected = new BellmanFordSolver<>(graph, start);
+            ToposortDAGSolver<Integer> solver = new ToposortDAGSolver<>(graph, start);
+            for (int v = 0; v < numVertices; v += 1) {
+                List<Integer> path = expected.solution(v);
+                assertEquals(path.get(0), solver.solution(v).get(0));
+                assertEquals(cost(graph, path), cost(graph, solver.solution(v)), EPSILON);
+            }
+        }
+    }
+
+    @Test
+    void millionVertexChain() {
+        int numVertices = 1_000_000;
+        // Vertex v has an edge of weight 2 to v + 1 and a shortcut of weight 3 to v + 2.
+        Graph<Integer> graph = v -> {
+            List<Edge<Integer>> edges = new ArrayList<>(2);
+            if (v + 1 < numVertices) {
+                edges.add(new Edge<>(v, v + 1, 2.0));
+            }
+            if (v + 2 < numVertices) {
+                edges.add(new Edge<>(v, v + 2, 3.0));
+            }
+            return edges;
+        };
+        List<Integer> path = new ToposortDAGSolver<>(graph, 0).solution(numVertices - 1);
+        assertEquals(0, path.get(0));
+        assertEquals(numVertices - 1, path.get(path.size() - 1));
+        // The shortest path takes every shortcut and one edge of weight 2 since numVertices - 1 is odd.
+        assertEquals(3.0 * (numVertices / 2 - 1) + 2.0, cost(graph, path), EPSILON);
+    }
+
+    @Test
+    void unreachableGoal() {
+        Graph<Integer> graph = v -> v < 3 ? List.of(new Edge<>(v, v + 1, 1.0)) : List.of();
+        ToposortDAGSolver<Integer> solver = new ToposortDAGSolver<>(graph, 1);
+        assertEquals(List.of(1, 2, 3), solver.solution(3));
+        assertEquals(List.of(1), solver.solution(1));
+        assertEquals(List.of(0), solver.solution(0));
+        assertEquals(List.of(42), solver.solution(42));
+    }
+
+    @Test
+    void reachableCycleThrowsException() {
+        Graph<Integer> graph = v -> List.of(new Edge<>(v, (v + 1) % 3, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new ToposortDAGSolver<>(graph, 0));
+    }
+}
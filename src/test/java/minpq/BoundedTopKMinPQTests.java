@@ -0,0 +1,44 @@
+package minpq;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link BoundedTopKMinPQ} class. With unbounded capacity, it must behave like any other {@link MinPQ}.
+ *
+ * @see BoundedTopKMinPQ
+ */
+public class BoundedTopKMinPQTests extends MinPQTests {
+    @Override
+    public MinPQ<String> createMinPQ() {
+        return new BoundedTopKMinPQ<>(Integer.MAX_VALUE);
+    }
+
+    @Test
+    void keepsSmallestPriorities() {
+        Random random = new Random(373);
+        for (int capacity : new int[]{0, 1, 10, 100}) {
+            MinPQ<String> reference = new DoubleMapMinPQ<>();
+            MinPQ<String> testing = new BoundedTopKMinPQ<>(capacity);
+            for (int i = 0; i < 10000; i += 1) {
+                double priority = random.nextDouble();
+                reference.add(Integer.toString(i), priority);
+                testing.add(Integer.toString(i), priority);
+                assertTrue(testing.size() <= capacity);
+            }
+            assertEquals(Math.min(capacity, reference.size()), testing.size());
+            if (capacity > 0) {
+                assertEquals(reference.peekMin(), testing.peekMin());
+            }
+            List<String> expected = reference.removeMin(capacity);
+            assertEquals(expected.subList(0, capacity / 2), testing.removeMin(capacity / 2));
+            for (String element : expected.subList(capacity / 2, capacity)) {
+                assertEquals(element, testing.removeMin());
+            }
+            assertTrue(testing.isEmpty());
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package minpq;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link ConcurrentMinPQ} class.
+ *
+ * @see ConcurrentMinPQ
+ */
+public class ConcurrentMinPQTests extends MinPQTests {
+    /**
+     * Number of threads in the concurrent tests.
+     */
+    private static final int NUM_THREADS = 8;
+    /**
+     * Number of elements added by each thread in the concurrent tests.
+     */
+    private static final int ELEMENTS_PER_THREAD = 10000;
+
+    @Override
+    public MinPQ<String> createMinPQ() {
+        return new ConcurrentMinPQ<>();
+    }
+
+    @Override
+    public MinPQ<String> createMinPQ(Map<String, Double> elementsAndPriorities) {
+        return new ConcurrentMinPQ<>(elementsAndPriorities);
+    }
+
+    @Test
+    void concurrentAddThenRemoveMin() throws Exception {
+        MinPQ<String> testing = createMinPQ();
+        ExecutorService pool = Executors.newFixedThreadPool(NUM_THREADS);
+        try {
+            // Many producers add disjoint elements with random priority values.
+            List<Callable<Void>> producers = new ArrayList<>();
+            for (int t = 0; t < NUM_THREADS; t += 1) {
+                int thread = t;
+                producers.add(() -> {
+                    Random random = new Random(thread);
+                    for (int i = 0; i < ELEMENTS_PER_THREAD; i += 1) {
+                        testing.add(thread + ":" + i, random.nextDouble());
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> future : pool.invokeAll(producers)) {
+                future.get();
+            }
+            assertEquals(NUM_THREADS * ELEMENTS_PER_THREAD, testing.size());
+
+            // Many consumers drain the priority queue: each consumer must see non-decreasing priority values.
+            Map<String, Double> priorities = new HashMap<>();
+            for (int t = 0; t < NUM_THREADS; t += 1) {
+                Random random = new Random(t);
+                for (int i = 0; i < ELEMENTS_PER_THREAD; i += 1) {
+                    priorities.put(t + ":" + i, random.nextDouble());
+                }
+            }
+            List<Callable<List<String>>> consumers = new ArrayList<>();
+            for (int t = 0; t < NUM_THREADS; t += 1) {
+                consumers.add(() -> {
+                    List<String> removed = new ArrayList<>();
+                    try {
+                        while (true) {
+                            removed.add(testing.removeMin());
+                        }
+                    } catch (NoSuchElementException e) {
+                        return removed;
+                    }
+                });
+            }
+            Set<String> seen = new HashSet<>();
+            for (Future<List<String>> future : pool.invokeAll(consumers)) {
+                List<String> removed = future.get();
+                for (int i = 1; i < removed.size(); i += 1) {
+                    assertTrue(priorities.get(removed.get(i - 1)) <= priorities.get(removed.get(i)));
+                }
+                for (String element : removed) {
+                    assertTrue(seen.add(element), "Removed twice: " + element);
+                }
+            }
+            assertEquals(priorities.keySet(), seen);
+            assertTrue(testing.isEmpty());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void concurrentChangePriority() throws Exception {
+        MinPQ<String> testing = createMinPQ();
+        for (int i = 0; i < ELEMENTS_PER_THREAD; i += 1) {
+            testing.add(Integer.toString(i), i);
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(NUM_THREADS);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int t = 0; t < NUM_THREADS; t += 1) {
+                int thread = t;
+                tasks.add(() -> {
+                    Random random = new Random(thread);
+                    for (int i = 0; i < ELEMENTS_PER_THREAD; i += 1) {
+                        testing.changePriority(Integer.toString(random.nextInt(ELEMENTS_PER_THREAD)), random.nextDouble());
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> future : pool.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        // Every element must still be present exactly once.
+        assertEquals(ELEMENTS_PER_THREAD, testing.size());
+        Set<String> seen = new HashSet<>();
+        while (!testing.isEmpty()) {
+            assertTrue(seen.add(testing.removeMin()));
+        }
+        assertEquals(ELEMENTS_PER_THREAD, seen.size());
+    }
+}
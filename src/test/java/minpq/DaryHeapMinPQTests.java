@@ -0,0 +1,77 @@
+package minpq;
+
+import org.junit.jupiter.api.Nested;
+
+import java.util.Map;
+
+/**
+ * Tests for the {@link DaryHeapMinPQ} class.
+ *
+ * @see DaryHeapMinPQ
+ */
+public class DaryHeapMinPQTests {
+
+    /**
+     * Tests using 2 children per node.
+     */
+    @Nested
+    public class WithArity2 extends MinPQTests {
+        @Override
+        public MinPQ<String> createMinPQ() {
+            return new DaryHeapMinPQ<>(2);
+        }
+
+        @Override
+        public MinPQ<String> createMinPQ(Map<String, Double> elementsAndPriorities) {
+            return new DaryHeapMinPQ<>(2, elementsAndPriorities);
+        }
+    }
+
+    /**
+     * Tests using 4 children per node.
+     */
+    @Nested
+    public class WithArity4 extends MinPQTests {
+        @Override
+        public MinPQ<String> createMinPQ() {
+            return new DaryHeapMinPQ<>(4);
+        }
+
+        @Override
+        public MinPQ<String> createMinPQ(Map<String, Double> elementsAndPriorities) {
+            return new DaryHeapMinPQ<>(4, elementsAndPriorities);
+        }
+    }
+
+    /**
+     * Tests using 8 children per node.
+     */
+    @Nested
+    public class WithArity8 extends MinPQTests {
+        @Override
+        public MinPQ<String> createMinPQ() {
+            return new DaryHeapMinPQ<>(8);
+        }
+
+        @Override
+        public MinPQ<String> createMinPQ(Map<String, Double> elementsAndPriorities) {
+            return new DaryHeapMinPQ<>(8, elementsAndPriorities);
+        }
+    }
+
+    /**
+     * Tests using 16 children per node.
+     */
+    @Nested
+    public class WithArity16 extends MinPQTests {
+        @Override
+        public MinPQ<String> createMinPQ() {
+            return new DaryHeapMinPQ<>(16);
+        }
+
+        @Override
+        public MinPQ<String> createMinPQ(Map<String, Double> elementsAndPriorities) {
+            return new DaryHeapMinPQ<>(16, elementsAndPriorities);
+        }
+    }
+}
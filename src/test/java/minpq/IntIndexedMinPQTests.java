@@ -0,0 +1,93 @@
+package minpq;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link IntIndexedMinPQ} class.
+ *
+ * @see IntIndexedMinPQ
+ */
+public class IntIndexedMinPQTests {
+    /**
+     * Number of elements in the randomized tests.
+     */
+    private static final int SIZE = 10000;
+
+    @Test
+    void compareRandomOperations() {
+        Random random = new Random(373);
+        MinPQ<Integer> reference = new DoubleMapMinPQ<>();
+        IntIndexedMinPQ testing = new IntIndexedMinPQ(SIZE);
+        for (int i = 0; i < SIZE; i += 1) {
+            double priority = random.nextDouble();
+            reference.add(i, priority);
+            testing.add(i, priority);
+        }
+        // Make sure contains, size, and peekMin are working.
+        for (int i = 0; i < SIZE; i += 1) {
+            assertTrue(testing.contains(i));
+        }
+        assertEquals(reference.size(), testing.size());
+        assertEquals((int) reference.peekMin(), testing.peekMin());
+
+        // Interleave changePriority, removeMin, and re-adding removed elements.
+        for (int i = 0; i < SIZE; i += 1) {
+            int element = random.nextInt(SIZE);
+            double priority = random.nextDouble();
+            if (testing.contains(element)) {
+                reference.changePriority(element, priority);
+                testing.changePriority(element, priority);
+                assertEquals(priority, testing.priority(element));
+            } else {
+                reference.add(element, priority);
+                testing.add(element, priority);
+            }
+            if (random.nextBoolean()) {
+                assertEquals((int) reference.removeMin(), testing.removeMin());
+            }
+        }
+        assertEquals(reference.size(), testing.size());
+
+        // Make sure the remaining removal order matches.
+        while (!reference.isEmpty()) {
+            assertEquals((int) reference.removeMin(), testing.removeMin());
+        }
+        assertTrue(testing.isEmpty());
+        for (int i = 0; i < SIZE; i += 1) {
+            assertFalse(testing.contains(i));
+        }
+    }
+
+    @Test
+    void clearRemovesAllElements() {
+        IntIndexedMinPQ testing = new IntIndexedMinPQ(10);
+        for (int i = 0; i < 10; i += 1) {
+            testing.add(i, 10 - i);
+        }
+        testing.clear();
+        assertTrue(testing.isEmpty());
+        for (int i = 0; i < 10; i += 1) {
+            assertFalse(testing.contains(i));
+        }
+        testing.addOrChangePriority(3, 3.0);
+        testing.addOrChangePriority(3, 1.0);
+        testing.addOrChangePriority(5, 2.0);
+        assertEquals(3, testing.removeMin());
+        assertEquals(5, testing.removeMin());
+    }
+
+    @Test
+    void invalidOperations() {
+        IntIndexedMinPQ testing = new IntIndexedMinPQ(2);
+        assertThrows(NoSuchElementException.class, testing::peekMin);
+        assertThrows(NoSuchElementException.class, testing::removeMin);
+        assertThrows(NoSuchElementException.class, () -> testing.changePriority(0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> testing.add(2, 1.0));
+        testing.add(0, 1.0);
+        assertThrows(IllegalArgumentException.class, () -> testing.add(0, 1.0));
+    }
+}
@@ -33,6 +33,19 @@ public abstract class MinPQTests {
      */
     public abstract MinPQ<String> createMinPQ();
 
+    /**
+     * Returns a {@link MinPQ} containing all the given elements and their priority values. Implementations with a
+     * {@code MinPQ(Map)} constructor should override this method to test it.
+     *
+     * @param elementsAndPriorities each element and its corresponding priority.
+     * @return a {@link MinPQ} containing all the given elements and their priority values.
+     */
+    public MinPQ<String> createMinPQ(Map<String, Double> elementsAndPriorities) {
+        MinPQ<String> result = createMinPQ();
+        result.addAll(elementsAndPriorities);
+        return result;
+    }
+
     @BeforeAll
     void setup() throws IOException {
         Scanner scanner = new Scanner(new FileInputStream(PATH));
@@ -92,6 +105,42 @@ public abstract class MinPQTests {
         assertTrue(sameRemoveOrder(reference, testing));
     }
 
+    @Test
+    void bulkLoad() {
+        Map<String, Double> comments = new HashMap<>();
+        for (double toxicity : toxic.keySet()) {
+            comments.putIfAbsent(toxic.get(toxicity), -toxicity);
+        }
+        MinPQ<String> reference = new DoubleMapMinPQ<>(comments);
+
+        // Test 1: Bulk constructor.
+        MinPQ<String> testing = createMinPQ(comments);
+        assertEquals(reference.size(), testing.size());
+        assertEquals(reference.peekMin(), testing.peekMin());
+        assertTrue(sameRemoveOrder(reference, testing));
+
+        // Test 2: Bulk load a few elements into a larger priority queue and vice versa.
+        Map<String, Double> few = new HashMap<>();
+        Map<String, Double> many = new HashMap<>();
+        for (Map.Entry<String, Double> entry : comments.entrySet()) {
+            if (few.size() < 10) {
+                few.put(entry.getKey(), entry.getValue());
+            } else {
+                many.put(entry.getKey(), entry.getValue());
+            }
+        }
+        for (List<Map<String, Double>> order : List.of(List.of(many, few), List.of(few, many))) {
+            reference = new DoubleMapMinPQ<>();
+            testing = createMinPQ();
+            for (Map<String, Double> batch : order) {
+                reference.addAll(batch);
+                testing.addAll(batch);
+            }
+            assertEquals(reference.size(), testing.size());
+            assertTrue(sameRemoveOrder(reference, testing));
+        }
+    }
+
     @Test
     void compareSimple() {
         MinPQ<String> reference = new DoubleMapMinPQ<>();
@@ -1,5 +1,7 @@
 package minpq;
 
+import java.util.Map;
+
 /**
  * Tests for the {@link OptimizedHeapMinPQ} class.
  *
@@ -10,4 +12,9 @@ public class OptimizedHeapMinPQTests extends MinPQTests {
     public MinPQ<String> createMinPQ() {
         return new OptimizedHeapMinPQ<>();
     }
+
+    @Override
+    public MinPQ<String> createMinPQ(Map<String, Double> elementsAndPriorities) {
+        return new OptimizedHeapMinPQ<>(elementsAndPriorities);
+    }
 }
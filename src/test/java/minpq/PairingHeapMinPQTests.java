@@ -0,0 +1,20 @@
+package minpq;
+
+import java.util.Map;
+
+/**
+ * Tests for the {@link PairingHeapMinPQ} class.
+ *
+ * @see PairingHeapMinPQ
+ */
+public class PairingHeapMinPQTests extends MinPQTests {
+    @Override
+    public MinPQ<String> createMinPQ() {
+        return new PairingHeapMinPQ<>();
+    }
+
+    @Override
+    public MinPQ<String> createMinPQ(Map<String, Double> elementsAndPriorities) {
+        return new PairingHeapMinPQ<>(elementsAndPriorities);
+    }
+}
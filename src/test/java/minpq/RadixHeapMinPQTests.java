@@ -0,0 +1,82 @@
+package minpq;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link RadixHeapMinPQ} class.
+ *
+ * @see RadixHeapMinPQ
+ */
+public class RadixHeapMinPQTests extends MinPQTests {
+    @Override
+    public MinPQ<String> createMinPQ() {
+        return new RadixHeapMinPQ<>();
+    }
+
+    @Override
+    public MinPQ<String> createMinPQ(Map<String, Double> elementsAndPriorities) {
+        return new RadixHeapMinPQ<>(elementsAndPriorities);
+    }
+
+    @Test
+    void rejectsNonMonotonePriorities() {
+        MinPQ<String> testing = createMinPQ();
+        testing.add("a", -1.0);
+        testing.add("b", 2.0);
+        testing.add("c", 3.0);
+        assertEquals("a", testing.removeMin());
+        assertThrows(IllegalArgumentException.class, () -> testing.add("d", -2.0));
+        assertThrows(IllegalArgumentException.class, () -> testing.changePriority("c", -2.0));
+        assertFalse(testing.contains("d"));
+        testing.changePriority("c", -1.0);
+        assertEquals("c", testing.removeMin());
+        assertEquals("b", testing.removeMin());
+        // Any priority value can be added once the priority queue is empty.
+        testing.add("d", -2.0);
+        assertEquals("d", testing.peekMin());
+    }
+
+    @Test
+    void peekDoesNotRaiseFloor() {
+        MinPQ<String> testing = createMinPQ();
+        testing.add("a", 5.0);
+        assertEquals("a", testing.peekMin());
+        // Nothing was removed, so a smaller priority value is still allowed.
+        testing.add("b", 3.0);
+        assertEquals("b", testing.peekMin());
+        assertEquals("b", testing.removeMin());
+        assertEquals("a", testing.removeMin());
+    }
+
+    @Test
+    void peekThenDecreasePriority() {
+        MinPQ<String> testing = createMinPQ();
+        testing.add("a", 5.0);
+        testing.add("c", 7.0);
+        assertEquals("a", testing.peekMin());
+        testing.changePriority("c", 4.0);
+        assertEquals("c", testing.peekMin());
+        assertEquals("c", testing.removeMin());
+        assertThrows(IllegalArgumentException.class, () -> testing.add("d", 3.0));
+        assertEquals("a", testing.removeMin());
+    }
+
+    @Test
+    void peekMatchesRemoveAmongTies() {
+        MinPQ<String> testing = createMinPQ();
+        testing.add("x", 0.0);
+        for (String element : new String[]{"a", "b", "c", "d"}) {
+            testing.add(element, 8.0);
+        }
+        testing.add("e", 9.0);
+        assertEquals("x", testing.removeMin());
+        while (!testing.isEmpty()) {
+            String peeked = testing.peekMin();
+            assertEquals(peeked, testing.removeMin());
+        }
+    }
+}
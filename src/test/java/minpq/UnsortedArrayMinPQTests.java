@@ -1,5 +1,7 @@
 package minpq;
 
+import java.util.Map;
+
 /**
  * Tests for the {@link UnsortedArrayMinPQ} class.
  *
@@ -10,4 +12,9 @@ public class UnsortedArrayMinPQTests extends MinPQTests {
     public MinPQ<String> createMinPQ() {
         return new UnsortedArrayMinPQ<>();
     }
+
+    @Override
+    public MinPQ<String> createMinPQ(Map<String, Double> elementsAndPriorities) {
+        return new UnsortedArrayMinPQ<>(elementsAndPriorities);
+    }
 }
@@ -2,6 +2,8 @@ package seamfinding;
 
 import graphs.shortestpaths.DijkstraSolver;
 import graphs.shortestpaths.ToposortDAGSolver;
+import minpq.PairingHeapMinPQ;
+import minpq.RadixHeapMinPQ;
 import org.junit.jupiter.api.Nested;
 
 /**
@@ -32,4 +34,28 @@ public class AdjacencyListSeamFinderTests {
             return new AdjacencyListSeamFinder(ToposortDAGSolver::new);
         }
     }
+
+    /**
+     * Tests using the {@link DijkstraSolver} implementation with a {@link PairingHeapMinPQ} perimeter.
+     */
+    @Nested
+    public class UsingDijkstraSolverWithPairingHeapMinPQ extends SeamFinderTests {
+        @Override
+        public SeamFinder createSeamFinder() {
+            return new AdjacencyListSeamFinder((graph, start) ->
+                    new DijkstraSolver<>(graph, start, new PairingHeapMinPQ<>()));
+        }
+    }
+
+    /**
+     * Tests using the {@link DijkstraSolver} implementation with a {@link RadixHeapMinPQ} perimeter.
+     */
+    @Nested
+    public class UsingDijkstraSolverWithRadixHeapMinPQ extends SeamFinderTests {
+        @Override
+        public SeamFinder createSeamFinder() {
+            return new AdjacencyListSeamFinder((graph, start) ->
+                    new DijkstraSolver<>(graph, start, new RadixHeapMinPQ<>()));
+        }
+    }
 }
@@ -0,0 +1,127 @@
+package tsv;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link TsvReader} class.
+ *
+ * @see TsvReader
+ */
+public class TsvReaderTests {
+    /**
+     * Path to the cities dataset.
+     */
+    private static final String PATH = "data/cities.tsv";
+
+    @Test
+    void matchesScannerOnCities() throws IOException {
+        List<String> expected = new ArrayList<>();
+        try (Scanner input = new Scanner(new FileInputStream(PATH), StandardCharsets.UTF_8)) {
+            while (input.hasNextLine()) {
+                Scanner line = new Scanner(input.nextLine()).useDelimiter("\t");
+                expected.add(line.next() + "=" + line.nextInt());
+            }
+        }
+        List<String> actual = TsvReader.read(Path.of(PATH), row -> row.getString(0) + "=" + row.getInt(1));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void smallChunksPreserveOrder() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 1000; i += 1) {
+            builder.append(i).append('\t').append(-i).append('\t').append(i / 8.0).append('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(builder.toString().getBytes(StandardCharsets.UTF_8));
+        List<Integer> rows = TsvReader.read(buffer, row -> {
+            int i = row.getInt(0);
+            assertEquals(3, row.size());
+            assertEquals(-i, row.getLong(1));
+            assertEquals(i / 8.0, row.getDouble(2));
+            return i;
+        }, 16);
+        assertEquals(1000, rows.size());
+        for (int i = 0; i < rows.size(); i += 1) {
+            assertEquals(i, rows.get(i));
+        }
+    }
+
+    @Test
+    void stopsAfterMaxRows() throws IOException {
+        List<String> all = TsvReader.read(Path.of(PATH), row -> row.getString(0));
+        for (int maxRows : new int[]{0, 1, 100, all.size(), all.size() + 1}) {
+            AtomicInteger calls = new AtomicInteger();
+            List<String> first = TsvReader.read(Path.of(PATH), row -> {
+                calls.incrementAndGet();
+                return row.getString(0);
+            }, maxRows);
+            assertEquals(all.subList(0, Math.min(maxRows, all.size())), first);
+            assertEquals(first.size(), calls.get());
+        }
+        assertThrows(IllegalArgumentException.class, () -> TsvReader.read(Path.of(PATH), row -> row, -1));
+
+        // Empty lines are not rows.
+        ByteBuffer buffer = ByteBuffer.wrap("a\r\n\r\nb\nc".getBytes(StandardCharsets.UTF_8));
+        assertEquals(0, TsvReader.endOfRows(buffer, 0));
+        assertEquals(3, TsvReader.endOfRows(buffer, 1));
+        assertEquals(7, TsvReader.endOfRows(buffer, 2));
+        assertEquals(8, TsvReader.endOfRows(buffer, 3));
+        assertEquals(8, TsvReader.endOfRows(buffer, 4));
+    }
+
+    @Test
+    void handlesLineEndingsAndEmptyFields() throws IOException {
+        String data = "Zürich\t1\r\n\r\nSão Paulo\t\t2.5\nlast\t-3";
+        List<String> rows = TsvReader.read(
+                new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)),
+                row -> row.size() + ":" + row
+        );
+        assertEquals(List.of("2:Zürich\t1", "3:São Paulo\t\t2.5", "2:last\t-3"), rows);
+    }
+
+    @Test
+    void parsesNumbers() throws IOException {
+        String data = "2147483647\t-9223372036854775808\t1e3\t+7\t-0.25\n";
+        List<List<Object>> rows = TsvReader.read(
+                new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)),
+                row -> List.of(row.getInt(0), row.getLong(1), row.getDouble(2), row.getInt(3), row.getDouble(4))
+        );
+        assertEquals(List.of(List.of(Integer.MAX_VALUE, Long.MIN_VALUE, 1000.0, 7, -0.25)), rows);
+    }
+
+    @Test
+    void keepsSignOfNegativeZero() throws IOException {
+        String data = "-0\t-000\t0\t+0\t-0.0\n";
+        List<List<Double>> rows = TsvReader.read(
+                new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)),
+                row -> List.of(row.getDouble(0), row.getDouble(1), row.getDouble(2), row.getDouble(3), row.getDouble(4))
+        );
+        // Double.equals tells -0.0 and 0.0 apart.
+        assertEquals(List.of(List.of(-0.0, -0.0, 0.0, 0.0, -0.0)), rows);
+    }
+
+    @Test
+    void rejectsMalformedNumbers() {
+        String data = "12x\t2147483648\n";
+        assertThrows(NumberFormatException.class, () -> TsvReader.read(
+                new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)), row -> row.getInt(0)
+        ));
+        assertThrows(NumberFormatException.class, () -> TsvReader.read(
+                new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)), row -> row.getInt(1)
+        ));
+        assertThrows(IndexOutOfBoundsException.class, () -> TsvReader.read(
+                new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)), row -> row.getString(2)
+        ));
+    }
+}